@@ -0,0 +1,68 @@
+package com.example.demo.config;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.domain.Limit;
+
+import com.example.demo.dto.ServicePlanRatingDto;
+import com.example.demo.persistence.LikePatterns;
+import com.example.demo.repository.RegionRepository;
+import com.example.demo.repository.ServicePlanRatingRepository;
+import com.example.demo.repository.ServicePlanRepository;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+
+/**
+ * Cache advice is ordered just outside the transaction advice, so {@code @CacheEvict} on a
+ * transactional write runs after the commit and a concurrent read cannot re-cache the old value.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+@EnableConfigurationProperties(CacheSpecProperties.class)
+public class CacheConfiguration {
+
+    /**
+     * Registers every known cache up front so each one is bound to Micrometer at startup.
+     * Caches with {@code refreshAfterWrite} keep serving the current value while it is reloaded in
+     * the background, which needs a loader that recomputes the value from the cache key alone;
+     * those loaders mirror the cached service methods.
+     */
+    @Bean
+    public CacheManager cacheManager(CacheSpecProperties properties,
+                                     ServicePlanRepository servicePlanRepository,
+                                     ServicePlanRatingRepository servicePlanRatingRepository,
+                                     RegionRepository regionRepository,
+                                     @Value("${app.search.result-limit:50}") int searchResultLimit) {
+        Limit searchLimit = Limit.of(searchResultLimit);
+        Map<String, CacheLoader<Object, Object>> loaders = Map.of(
+                CacheNames.SERVICE_PLANS, key -> servicePlanRepository.findAllDtos(),
+                CacheNames.SERVICE_PLAN_USER_COUNTS, key -> servicePlanRepository.countUsersInServicePlan((Long) key),
+                CacheNames.SERVICE_PLAN_ORDER_COUNTS, key -> servicePlanRepository.countOrdersInServicePlan((Long) key),
+                CacheNames.SERVICE_PLAN_RATINGS, key -> servicePlanRatingRepository.findAllOrderByServicePlanId().stream()
+                        .map(ServicePlanRatingDto::from)
+                        .toList(),
+                CacheNames.REGION_NAME_SEARCH, key -> regionRepository.searchDtosByName((String) key, LikePatterns.escape((String) key), searchLimit));
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeineSpec(CaffeineSpec.parse(properties.defaultSpec()));
+        Set<String> names = new TreeSet<>(loaders.keySet());
+        names.addAll(properties.specs().keySet());
+        for (String name : names) {
+            Caffeine<Object, Object> builder = Caffeine.from(properties.specs().getOrDefault(name, properties.defaultSpec()));
+            CacheLoader<Object, Object> loader = loaders.get(name);
+            cacheManager.registerCustomCache(name, loader != null ? builder.build(loader) : builder.build());
+        }
+        return cacheManager;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.demo.config;
+
+/**
+ * Names of the service-layer caches. Each one can be tuned through {@code app.cache.specs.<name>}.
+ */
+public final class CacheNames {
+
+    public static final String SERVICE_PLANS = "servicePlans";
+    public static final String SERVICE_PLAN_USER_COUNTS = "servicePlanUserCounts";
+    public static final String SERVICE_PLAN_ORDER_COUNTS = "servicePlanOrderCounts";
+    public static final String SERVICE_PLAN_RATINGS = "servicePlanRatings";
+    public static final String REGION_NAME_SEARCH = "regionNameSearch";
+
+    private CacheNames() {
+    }
+}
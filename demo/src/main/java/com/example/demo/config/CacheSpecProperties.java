@@ -0,0 +1,17 @@
+package com.example.demo.config;
+
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Caffeine specs for the service-layer caches, e.g.
+ * {@code app.cache.specs.servicePlans=maximumSize=1,expireAfterWrite=30m,refreshAfterWrite=5m,recordStats}.
+ * Caches without an entry of their own use {@code defaultSpec}.
+ */
+@ConfigurationProperties("app.cache")
+public record CacheSpecProperties(
+        @DefaultValue("maximumSize=1000,expireAfterWrite=10m,recordStats") String defaultSpec,
+        @DefaultValue Map<String, String> specs) {
+}
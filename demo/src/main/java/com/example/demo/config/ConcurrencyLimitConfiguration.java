@@ -0,0 +1,30 @@
+package com.example.demo.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Only needed where nothing else bounds request concurrency, i.e. with virtual threads, so it is
+ * switched on explicitly; the {@code virtual-threads} profile does.
+ */
+@Configuration
+@ConditionalOnProperty("app.concurrency-limit.enabled")
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+public class ConcurrencyLimitConfiguration {
+
+    /**
+     * Runs ahead of every other filter, Spring Security's included, since authenticating a
+     * request may already query the database for its token version.
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(ConcurrencyLimitProperties properties) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(properties.maxConcurrentRequests(), properties.acquireTimeout()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.demo.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Upper bound on requests handled at once, and how long a request beyond it waits for one of them
+ * to finish before it is turned away with 503.
+ */
+@ConfigurationProperties("app.concurrency-limit")
+public record ConcurrencyLimitProperties(
+        boolean enabled,
+        @DefaultValue("64") int maxConcurrentRequests,
+        @DefaultValue("2s") Duration acquireTimeout) {
+}
@@ -0,0 +1,108 @@
+package com.example.demo.config;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.example.demo.persistence.ReadWriteRoutingDataSource;
+import com.example.demo.persistence.ReplicaDataSource;
+import com.example.demo.persistence.ReplicaLatencyProbe;
+import com.example.demo.persistence.ReplicaSelector;
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Splits reads and writes once at least one replica is configured; without replicas the
+ * auto-configured single datasource is used unchanged.
+ */
+@Configuration
+@ConditionalOnProperty("app.datasource.replicas[0].url")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class DataSourceRoutingConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(HikariDataSource primaryDataSource,
+                                                                 ReplicaDataSourceProperties properties) {
+        List<ReplicaDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.replicas().size(); i++) {
+            replicas.add(new ReplicaDataSource("replica-" + i, replicaPool(i, properties.replicas().get(i))));
+        }
+        ReplicaSelector selector = switch (properties.replicaSelection()) {
+            case ROUND_ROBIN -> ReplicaSelector.roundRobin();
+            case LEAST_LATENCY -> ReplicaSelector.leastLatency();
+        };
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicas, selector);
+    }
+
+    /**
+     * Only the least-latency selection reads the probe results.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.datasource.replica-selection", havingValue = "least-latency")
+    public ReplicaLatencyProbe replicaLatencyProbe(ReadWriteRoutingDataSource readWriteRoutingDataSource,
+                                                   @Value("${app.datasource.latency-probe-interval:PT5S}") Duration interval) {
+        return new ReplicaLatencyProbe(readWriteRoutingDataSource.getReplicas(), interval);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+
+    /**
+     * Scopes the read-your-writes pin to the request: it holds across the request's transactions
+     * and is released at the end, so the next request handled by the same thread starts out
+     * reading from the replicas again.
+     */
+    @Bean
+    public OncePerRequestFilter primaryPinResetFilter() {
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain filterChain) throws ServletException, IOException {
+                ReadWriteRoutingDataSource.beginRequest();
+                try {
+                    filterChain.doFilter(request, response);
+                } finally {
+                    ReadWriteRoutingDataSource.clearPrimaryPin();
+                }
+            }
+        };
+    }
+
+    private static HikariDataSource replicaPool(int index, ReplicaDataSourceProperties.Replica replica) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName("replica-" + index);
+        pool.setJdbcUrl(replica.url());
+        pool.setUsername(replica.username());
+        pool.setPassword(replica.password());
+        pool.setMaximumPoolSize(replica.maximumPoolSize());
+        pool.setReadOnly(true);
+        return pool;
+    }
+}
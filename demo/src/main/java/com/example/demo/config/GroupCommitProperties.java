@@ -0,0 +1,23 @@
+package com.example.demo.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Group commit of single network status creates: how many pending creates may queue up, how long
+ * the first one in a batch waits for company, the bounds within which the batch size adapts to
+ * keep each batch's transaction within the target latency, and how long a create waits for its
+ * batch to commit before it is turned away.
+ */
+@ConfigurationProperties("app.network-status.group-commit")
+public record GroupCommitProperties(
+        boolean enabled,
+        @DefaultValue("10000") int queueCapacity,
+        @DefaultValue("5ms") Duration maxWait,
+        @DefaultValue("16") int minBatchSize,
+        @DefaultValue("500") int maxBatchSize,
+        @DefaultValue("20ms") Duration targetLatency,
+        @DefaultValue("5s") Duration writeTimeout) {
+}
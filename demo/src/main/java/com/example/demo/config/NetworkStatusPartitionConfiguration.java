@@ -0,0 +1,29 @@
+package com.example.demo.config;
+
+import java.time.Clock;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.demo.persistence.NetworkStatusPartitionManager;
+
+/**
+ * The partitioned {@code network_statuses} table only exists on PostgreSQL once the Flyway
+ * migrations have run, so partition maintenance is switched on explicitly.
+ */
+@Configuration
+@ConditionalOnProperty("app.network-status.partitions.enabled")
+@EnableConfigurationProperties(NetworkStatusPartitionProperties.class)
+public class NetworkStatusPartitionConfiguration {
+
+    @Bean
+    public NetworkStatusPartitionManager networkStatusPartitionManager(JdbcTemplate jdbcTemplate,
+                                                                       PlatformTransactionManager transactionManager,
+                                                                       NetworkStatusPartitionProperties properties) {
+        return new NetworkStatusPartitionManager(jdbcTemplate, transactionManager, properties, Clock.systemDefaultZone());
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Monthly partitions of {@code network_statuses}: how many months are created ahead of the current
+ * one, how many complete months before it are kept, and what happens to a partition once it
+ * falls outside retention.
+ */
+@ConfigurationProperties("app.network-status.partitions")
+public record NetworkStatusPartitionProperties(
+        boolean enabled,
+        @DefaultValue("3") int premakeMonths,
+        @DefaultValue("12") int retentionMonths,
+        @DefaultValue("drop") RetentionAction retentionAction) {
+
+    public enum RetentionAction {
+        /** Drops the expired partition and its rows. */
+        DROP,
+        /** Detaches the expired partition into a standalone table, e.g. for archiving, and keeps it. */
+        DETACH
+    }
+}
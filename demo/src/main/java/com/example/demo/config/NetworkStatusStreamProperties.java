@@ -0,0 +1,18 @@
+package com.example.demo.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Live network status streams: how many committed changes may wait for the dispatcher, how many a
+ * single subscriber may fall behind before it is evicted, and how often an idle stream gets a
+ * heartbeat so dead connections are noticed.
+ */
+@ConfigurationProperties("app.network-status.stream")
+public record NetworkStatusStreamProperties(
+        @DefaultValue("10000") int queueCapacity,
+        @DefaultValue("256") int bufferSize,
+        @DefaultValue("15s") Duration heartbeatInterval) {
+}
@@ -0,0 +1,22 @@
+package com.example.demo.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Sizing of the executor that runs password hashing for logins and registrations, and the BCrypt
+ * cost it is calibrated to at startup. {@code threads} of 0 means half the available processors,
+ * at least one. The strength is the highest one between {@code minStrength} and
+ * {@code maxStrength} whose hash stays within {@code targetLatency} on this machine.
+ */
+@ConfigurationProperties("app.password-hashing")
+public record PasswordHashingProperties(
+        @DefaultValue("0") int threads,
+        @DefaultValue("32") int queueCapacity,
+        @DefaultValue("1s") Duration retryAfter,
+        @DefaultValue("100ms") Duration targetLatency,
+        @DefaultValue("10") int minStrength,
+        @DefaultValue("16") int maxStrength) {
+}
@@ -0,0 +1,73 @@
+package com.example.demo.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+
+import com.example.demo.reactive.NetworkStatusBroadcaster;
+import com.example.demo.reactive.NetworkStatusHandler;
+import com.example.demo.reactive.ReactiveConnectionPool;
+import com.example.demo.reactive.ReactiveHttpServer;
+import com.example.demo.reactive.ReactiveNetworkStatusRepository;
+import com.example.demo.security.JwtVerifier;
+import com.example.demo.security.TokenVersions;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Non-blocking network status reads over R2DBC, served by a Netty server of their own next to the
+ * servlet API, which stays as it is. Needs {@code spring.r2dbc.*} to point at the same database,
+ * so it is switched on explicitly.
+ */
+@Configuration
+@ConditionalOnProperty("app.reactive.enabled")
+@EnableConfigurationProperties({ReactiveProperties.class, R2dbcProperties.class, NetworkStatusStreamProperties.class})
+@EnableR2dbcRepositories(basePackageClasses = ReactiveNetworkStatusRepository.class,
+        entityOperationsRef = "reactiveEntityTemplate")
+public class ReactiveConfiguration {
+
+    @Bean
+    public ReactiveConnectionPool reactiveConnectionPool(R2dbcProperties properties) {
+        return new ReactiveConnectionPool(properties);
+    }
+
+    @Bean
+    public R2dbcEntityTemplate reactiveEntityTemplate(ReactiveConnectionPool reactiveConnectionPool) {
+        return new R2dbcEntityTemplate(DatabaseClient.create(reactiveConnectionPool.connectionFactory()), PostgresDialect.INSTANCE);
+    }
+
+    @Bean
+    public NetworkStatusBroadcaster networkStatusBroadcaster(NetworkStatusStreamProperties properties) {
+        return new NetworkStatusBroadcaster(properties);
+    }
+
+    /**
+     * JSON is written with the application's object mapper, so the reactive responses look exactly
+     * like the servlet ones.
+     */
+    @Bean
+    public ReactiveHttpServer reactiveHttpServer(ReactiveNetworkStatusRepository repository,
+                                                 NetworkStatusBroadcaster broadcaster, JwtVerifier jwtVerifier,
+                                                 TokenVersions tokenVersions, ObjectMapper objectMapper,
+                                                 ReactiveProperties properties, NetworkStatusStreamProperties streamProperties) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        NetworkStatusHandler handler = new NetworkStatusHandler(repository, broadcaster, jwtVerifier, tokenVersions,
+                streamProperties.heartbeatInterval());
+        return new ReactiveHttpServer(RouterFunctions.toHttpHandler(handler.routes(), strategies),
+                properties.port(), properties.eventLoopThreads());
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * The reactive read path: the port its Netty server listens on, separate from the servlet
+ * container's, and how many event loop threads serve it.
+ */
+@ConfigurationProperties("app.reactive")
+public record ReactiveProperties(
+        boolean enabled,
+        @DefaultValue("8081") int port,
+        @DefaultValue("4") int eventLoopThreads) {
+}
@@ -0,0 +1,25 @@
+package com.example.demo.config;
+
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Read replicas behind the primary configured under {@code spring.datasource}, e.g.
+ * {@code app.datasource.replicas[0].url=jdbc:postgresql://replica-1:5432/postgres}.
+ */
+@ConfigurationProperties("app.datasource")
+public record ReplicaDataSourceProperties(
+        @DefaultValue List<Replica> replicas,
+        @DefaultValue("round-robin") Selection replicaSelection) {
+
+    public record Replica(String url, String username, String password,
+                          @DefaultValue("10") int maximumPoolSize) {
+    }
+
+    public enum Selection {
+        ROUND_ROBIN,
+        LEAST_LATENCY
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.demo.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} maintenance jobs. They share Spring Boot's single scheduler thread,
+ * so a job must not run long enough to delay the others.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+}
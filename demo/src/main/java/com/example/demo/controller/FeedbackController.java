@@ -1,8 +1,9 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.FeedbackDto;
 import com.example.demo.model.Feedback;
-import com.example.demo.model.ServicePlan;
-import com.example.demo.model.User;
+import com.example.demo.pagination.CursorPage;
+import com.example.demo.pagination.CursorRequest;
 import com.example.demo.service.FeedbackService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -40,14 +41,14 @@ public class FeedbackController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Feedback>> getAllFeedbacks() {
-        List<Feedback> feedbacks = feedbackService.getAllFeedbacks();
+    public ResponseEntity<List<FeedbackDto>> getAllFeedbacks() {
+        List<FeedbackDto> feedbacks = feedbackService.getAllFeedbacks();
         return new ResponseEntity<>(feedbacks, HttpStatus.OK);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Feedback> getFeedbackById(@PathVariable Long id) {
-        Optional<Feedback> feedback = feedbackService.getFeedbackById(id);
+    public ResponseEntity<FeedbackDto> getFeedbackById(@PathVariable Long id) {
+        Optional<FeedbackDto> feedback = feedbackService.getFeedbackById(id);
         return feedback.map(f -> new ResponseEntity<>(f, HttpStatus.OK))
                        .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
@@ -59,35 +60,31 @@ public class FeedbackController {
     }
 
     @GetMapping("/rating/{rating}")
-    public ResponseEntity<List<Feedback>> getFeedbacksByRating(@PathVariable int rating) {
-        List<Feedback> feedbacks = feedbackService.getFeedbacksByRating(rating);
+    public ResponseEntity<List<FeedbackDto>> getFeedbacksByRating(@PathVariable int rating) {
+        List<FeedbackDto> feedbacks = feedbackService.getFeedbacksByRating(rating);
         return new ResponseEntity<>(feedbacks, HttpStatus.OK);
     }
 
     @GetMapping("/rating-range")
-    public ResponseEntity<List<Feedback>> getFeedbacksByRatingRange(@RequestParam int min, @RequestParam int max) {
-        List<Feedback> feedbacks = feedbackService.getFeedbacksByRatingRange(min, max);
+    public ResponseEntity<List<FeedbackDto>> getFeedbacksByRatingRange(@RequestParam int min, @RequestParam int max) {
+        List<FeedbackDto> feedbacks = feedbackService.getFeedbacksByRatingRange(min, max);
         return new ResponseEntity<>(feedbacks, HttpStatus.OK);
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Feedback>> getFeedbacksByUser(@PathVariable Long userId) {
-        User user = new User();  
-        user.setId(userId);
-        List<Feedback> feedbacks = feedbackService.getFeedbacksByUser(user);
+    public ResponseEntity<List<FeedbackDto>> getFeedbacksByUser(@PathVariable Long userId) {
+        List<FeedbackDto> feedbacks = feedbackService.getFeedbacksByUser(userId);
         return new ResponseEntity<>(feedbacks, HttpStatus.OK);
     }
 
     @GetMapping("/service-plan/{servicePlanId}")
-    public ResponseEntity<List<Feedback>> getFeedbacksByServicePlan(@PathVariable Long servicePlanId) {
-        ServicePlan servicePlan = new ServicePlan();  
-        servicePlan.setId(servicePlanId);
-        List<Feedback> feedbacks = feedbackService.getFeedbacksByServicePlan(servicePlan);
+    public ResponseEntity<List<FeedbackDto>> getFeedbacksByServicePlan(@PathVariable Long servicePlanId) {
+        List<FeedbackDto> feedbacks = feedbackService.getFeedbacksByServicePlan(servicePlanId);
         return new ResponseEntity<>(feedbacks, HttpStatus.OK);
     }
 
     @GetMapping("/paged")
-    public ResponseEntity<Page<Feedback>> getPagedFeedbacks(
+    public ResponseEntity<Page<FeedbackDto>> getPagedFeedbacks(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
@@ -95,8 +92,24 @@ public class FeedbackController {
 
         Pageable pageable = PageRequest.of(page, size, 
                 sortDir.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending());
-        Page<Feedback> feedbacks = feedbackService.getFeedbacks(pageable);
+        Page<FeedbackDto> feedbacks = feedbackService.getFeedbacks(pageable);
         return new ResponseEntity<>(feedbacks, HttpStatus.OK);
     }
-}
 
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<FeedbackDto>> scrollFeedbacks(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<FeedbackDto> page = feedbackService.getFeedbacksPage(CursorRequest.of(cursor, size));
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    @GetMapping("/user/{userId}/scroll")
+    public ResponseEntity<CursorPage<FeedbackDto>> scrollFeedbacksByUser(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<FeedbackDto> page = feedbackService.getFeedbacksPageByUser(userId, CursorRequest.of(cursor, size));
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+}
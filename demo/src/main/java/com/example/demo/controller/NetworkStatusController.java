@@ -1,16 +1,24 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.NetworkStatusDto;
 import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.model.NetworkStatus;
+import com.example.demo.pagination.CursorPage;
+import com.example.demo.pagination.CursorRequest;
 import com.example.demo.service.NetworkStatusService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -30,15 +38,27 @@ public class NetworkStatusController {
         return new ResponseEntity<>(savedNetworkStatus, HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<NetworkStatusDto>> createNetworkStatuses(@RequestBody List<NetworkStatus> networkStatuses) {
+        List<NetworkStatusDto> created = networkStatusService.createNetworkStatuses(networkStatuses);
+        return new ResponseEntity<>(created, HttpStatus.CREATED);
+    }
+
     @GetMapping
-    public ResponseEntity<List<NetworkStatus>> getAllNetworkStatuses() {
-        List<NetworkStatus> networkStatuses = networkStatusService.getAllNetworkStatuses();
+    public ResponseEntity<List<NetworkStatusDto>> getAllNetworkStatuses() {
+        List<NetworkStatusDto> networkStatuses = networkStatusService.getAllNetworkStatuses();
         return new ResponseEntity<>(networkStatuses, HttpStatus.OK);
     }
 
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportNetworkStatuses(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        networkStatusService.exportNetworkStatuses(response.getOutputStream());
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<NetworkStatus> getNetworkStatusById(@PathVariable Long id) {
-        Optional<NetworkStatus> networkStatus = networkStatusService.getNetworkStatusById(id);
+    public ResponseEntity<NetworkStatusDto> getNetworkStatusById(@PathVariable Long id) {
+        Optional<NetworkStatusDto> networkStatus = networkStatusService.getNetworkStatusById(id);
         return networkStatus.map(ns -> new ResponseEntity<>(ns, HttpStatus.OK))
                             .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
@@ -60,23 +80,27 @@ public class NetworkStatusController {
     }
 
     @GetMapping("/region/{regionId}")
-    public ResponseEntity<List<NetworkStatus>> getNetworkStatusesByRegion(@PathVariable Long regionId) {
-        List<NetworkStatus> networkStatuses = networkStatusService.getNetworkStatusesByRegion(regionId);
+    public ResponseEntity<List<NetworkStatusDto>> getNetworkStatusesByRegion(
+            @PathVariable Long regionId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        List<NetworkStatusDto> networkStatuses = since == null
+                ? networkStatusService.getNetworkStatusesByRegion(regionId)
+                : networkStatusService.getNetworkStatusesByRegion(regionId, since);
         return new ResponseEntity<>(networkStatuses, HttpStatus.OK);
     }
 
     @GetMapping("/date-range")
-    public ResponseEntity<List<NetworkStatus>> getNetworkStatusesByDateRange(
+    public ResponseEntity<List<NetworkStatusDto>> getNetworkStatusesByDateRange(
         @RequestParam("startDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
         @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
 
-        List<NetworkStatus> networkStatuses = networkStatusService.getNetworkStatusesByDateRange(startDate, endDate);
+        List<NetworkStatusDto> networkStatuses = networkStatusService.getNetworkStatusesByDateRange(startDate, endDate);
         return new ResponseEntity<>(networkStatuses, HttpStatus.OK);
     }
 
     @GetMapping("/service-availability/{serviceAvailabilityId}")
-    public ResponseEntity<List<NetworkStatus>> getNetworkStatusesByServiceAvailability(@PathVariable Long serviceAvailabilityId) {
-        List<NetworkStatus> networkStatuses = networkStatusService.getNetworkStatusesByServiceAvailability(serviceAvailabilityId);
+    public ResponseEntity<List<NetworkStatusDto>> getNetworkStatusesByServiceAvailability(@PathVariable Long serviceAvailabilityId) {
+        List<NetworkStatusDto> networkStatuses = networkStatusService.getNetworkStatusesByServiceAvailability(serviceAvailabilityId);
         return new ResponseEntity<>(networkStatuses, HttpStatus.OK);
     }
 
@@ -86,4 +110,31 @@ public class NetworkStatusController {
         networkStatusService.bulkUpdateNetworkStatuses(ids, newStatus);
         return new ResponseEntity<>(HttpStatus.OK);
     }
+
+    @PutMapping("/bulk-update/statuses")
+    public ResponseEntity<Void> bulkUpdateNetworkStatuses(@RequestBody Map<Long, String> statusesById) {
+        networkStatusService.bulkUpdateNetworkStatuses(statusesById);
+        return new ResponseEntity<>(HttpStatus.OK);
+    }
+
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<NetworkStatusDto>> scrollNetworkStatuses(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<NetworkStatusDto> page = networkStatusService.getNetworkStatusesPage(CursorRequest.of(cursor, size));
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    @GetMapping("/region/{regionId}/scroll")
+    public ResponseEntity<CursorPage<NetworkStatusDto>> scrollNetworkStatusesByRegion(
+            @PathVariable Long regionId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorRequest request = CursorRequest.of(cursor, size);
+        CursorPage<NetworkStatusDto> page = since == null
+                ? networkStatusService.getNetworkStatusesPageByRegion(regionId, request)
+                : networkStatusService.getNetworkStatusesPageByRegion(regionId, since, request);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
 }
@@ -1,15 +1,21 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.OrderDto;
+import com.example.demo.dto.UserOrderTotalsDto;
 import com.example.demo.model.Order;
 import com.example.demo.model.Payment;
-import com.example.demo.model.ServicePlan;
-import com.example.demo.model.User;
+import com.example.demo.pagination.CursorPage;
+import com.example.demo.pagination.CursorRequest;
 import com.example.demo.service.OrderService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -33,14 +39,20 @@ public class OrderController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Order>> getAllOrders() {
-        List<Order> orders = orderService.getAllOrders();
+    public ResponseEntity<List<OrderDto>> getAllOrders() {
+        List<OrderDto> orders = orderService.getAllOrders();
         return new ResponseEntity<>(orders, HttpStatus.OK);
     }
 
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportOrders(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        orderService.exportOrders(response.getOutputStream());
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Order> getOrderById(@PathVariable Long id) {
-        Optional<Order> order = orderService.getOrderById(id);
+    public ResponseEntity<OrderDto> getOrderById(@PathVariable Long id) {
+        Optional<OrderDto> order = orderService.getOrderById(id);
         return order.map(o -> new ResponseEntity<>(o, HttpStatus.OK))
                     .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
@@ -62,35 +74,35 @@ public class OrderController {
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Order>> getOrdersByUser(@PathVariable Long userId) {
-        User user = new User(); 
-        user.setId(userId);
-        List<Order> orders = orderService.getOrdersByUser(user);
+    public ResponseEntity<List<OrderDto>> getOrdersByUser(@PathVariable Long userId) {
+        List<OrderDto> orders = orderService.getOrdersByUser(userId);
         return new ResponseEntity<>(orders, HttpStatus.OK);
     }
 
     @GetMapping("/service-plan/{servicePlanId}")
-    public ResponseEntity<List<Order>> getOrdersByServicePlan(@PathVariable Long servicePlanId) {
-        ServicePlan servicePlan = new ServicePlan(); 
-        servicePlan.setId(servicePlanId);
-        List<Order> orders = orderService.getOrdersByServicePlan(servicePlan);
+    public ResponseEntity<List<OrderDto>> getOrdersByServicePlan(@PathVariable Long servicePlanId) {
+        List<OrderDto> orders = orderService.getOrdersByServicePlan(servicePlanId);
         return new ResponseEntity<>(orders, HttpStatus.OK);
     }
 
     @GetMapping("/date-range")
-    public ResponseEntity<List<Order>> getOrdersByDateRange(@RequestParam LocalDateTime startDate, @RequestParam LocalDateTime endDate) {
-        List<Order> orders = orderService.getOrdersByDateRange(startDate, endDate);
+    public ResponseEntity<List<OrderDto>> getOrdersByDateRange(@RequestParam LocalDateTime startDate, @RequestParam LocalDateTime endDate) {
+        List<OrderDto> orders = orderService.getOrdersByDateRange(startDate, endDate);
         return new ResponseEntity<>(orders, HttpStatus.OK);
     }
 
     @GetMapping("/user/{userId}/total")
     public ResponseEntity<Double> calculateTotalOrderAmountForUser(@PathVariable Long userId) {
-        User user = new User(); 
-        user.setId(userId);
-        Double totalAmount = orderService.calculateTotalOrderAmountForUser(user);
+        Double totalAmount = orderService.calculateTotalOrderAmountForUser(userId);
         return new ResponseEntity<>(totalAmount, HttpStatus.OK);
     }
 
+    @GetMapping("/user/{userId}/totals")
+    public ResponseEntity<UserOrderTotalsDto> getOrderTotalsForUser(@PathVariable Long userId) {
+        UserOrderTotalsDto totals = orderService.getOrderTotalsForUser(userId);
+        return new ResponseEntity<>(totals, HttpStatus.OK);
+    }
+
     @PostMapping("/{orderId}/payments")
     public ResponseEntity<Order> addPaymentToOrder(@PathVariable Long orderId, @RequestBody Payment payment) {
         Order updatedOrder = orderService.addPaymentToOrder(orderId, payment);
@@ -102,4 +114,30 @@ public class OrderController {
         Order updatedOrder = orderService.removePaymentFromOrder(orderId, paymentId);
         return new ResponseEntity<>(updatedOrder, HttpStatus.OK);
     }
+
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<OrderDto>> scrollOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<OrderDto> page = orderService.getOrdersPage(CursorRequest.of(cursor, size));
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    @GetMapping("/user/{userId}/scroll")
+    public ResponseEntity<CursorPage<OrderDto>> scrollOrdersByUser(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<OrderDto> page = orderService.getOrdersPageByUser(userId, CursorRequest.of(cursor, size));
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    @GetMapping("/service-plan/{servicePlanId}/scroll")
+    public ResponseEntity<CursorPage<OrderDto>> scrollOrdersByServicePlan(
+            @PathVariable Long servicePlanId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<OrderDto> page = orderService.getOrdersPageByServicePlan(servicePlanId, CursorRequest.of(cursor, size));
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
 }
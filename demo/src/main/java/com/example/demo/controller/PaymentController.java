@@ -1,15 +1,20 @@
 package com.example.demo.controller;
 
-import com.example.demo.model.Order;
+import com.example.demo.dto.PaymentDto;
 import com.example.demo.model.Payment;
-import com.example.demo.model.User;
+import com.example.demo.pagination.CursorPage;
+import com.example.demo.pagination.CursorRequest;
 import com.example.demo.service.PaymentService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -32,15 +37,27 @@ public class PaymentController {
         return new ResponseEntity<>(savedPayment, HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<PaymentDto>> createPayments(@RequestBody List<Payment> payments) {
+        List<PaymentDto> created = paymentService.createPayments(payments);
+        return new ResponseEntity<>(created, HttpStatus.CREATED);
+    }
+
     @GetMapping
-    public ResponseEntity<List<Payment>> getAllPayments() {
-        List<Payment> payments = paymentService.getAllPayments();
+    public ResponseEntity<List<PaymentDto>> getAllPayments() {
+        List<PaymentDto> payments = paymentService.getAllPayments();
         return new ResponseEntity<>(payments, HttpStatus.OK);
     }
 
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportPayments(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        paymentService.exportPayments(response.getOutputStream());
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Payment> getPaymentById(@PathVariable Long id) {
-        Optional<Payment> payment = paymentService.getPaymentById(id);
+    public ResponseEntity<PaymentDto> getPaymentById(@PathVariable Long id) {
+        Optional<PaymentDto> payment = paymentService.getPaymentById(id);
         return payment.map(p -> new ResponseEntity<>(p, HttpStatus.OK))
                       .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
@@ -52,26 +69,22 @@ public class PaymentController {
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Payment>> getPaymentsByUser(@PathVariable Long userId) {
-        User user = new User();
-        user.setId(userId);  
-        List<Payment> payments = paymentService.getPaymentsByUser(user);
+    public ResponseEntity<List<PaymentDto>> getPaymentsByUser(@PathVariable Long userId) {
+        List<PaymentDto> payments = paymentService.getPaymentsByUser(userId);
         return new ResponseEntity<>(payments, HttpStatus.OK);
     }
 
     @GetMapping("/order/{orderId}")
-    public ResponseEntity<List<Payment>> getPaymentsByOrder(@PathVariable Long orderId) {
-        Order order = new Order();
-        order.setId(orderId);  
-        List<Payment> payments = paymentService.getPaymentsByOrder(order);
+    public ResponseEntity<List<PaymentDto>> getPaymentsByOrder(@PathVariable Long orderId) {
+        List<PaymentDto> payments = paymentService.getPaymentsByOrder(orderId);
         return new ResponseEntity<>(payments, HttpStatus.OK);
     }
 
     @GetMapping("/date-range")
-    public ResponseEntity<List<Payment>> getPaymentsByDateRange(
+    public ResponseEntity<List<PaymentDto>> getPaymentsByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
-        List<Payment> payments = paymentService.getPaymentsByDateRange(startDate, endDate);
+        List<PaymentDto> payments = paymentService.getPaymentsByDateRange(startDate, endDate);
         return new ResponseEntity<>(payments, HttpStatus.OK);
     }
 
@@ -88,10 +101,36 @@ public class PaymentController {
     }
 
     @GetMapping("/amount-range")
-    public ResponseEntity<List<Payment>> getPaymentsByAmountRange(
+    public ResponseEntity<List<PaymentDto>> getPaymentsByAmountRange(
             @RequestParam Double minAmount,
             @RequestParam Double maxAmount) {
-        List<Payment> payments = paymentService.getPaymentsByAmountRange(minAmount, maxAmount);
+        List<PaymentDto> payments = paymentService.getPaymentsByAmountRange(minAmount, maxAmount);
         return new ResponseEntity<>(payments, HttpStatus.OK);
     }
+
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<PaymentDto>> scrollPayments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<PaymentDto> page = paymentService.getPaymentsPage(CursorRequest.of(cursor, size));
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    @GetMapping("/user/{userId}/scroll")
+    public ResponseEntity<CursorPage<PaymentDto>> scrollPaymentsByUser(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<PaymentDto> page = paymentService.getPaymentsPageByUser(userId, CursorRequest.of(cursor, size));
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    @GetMapping("/order/{orderId}/scroll")
+    public ResponseEntity<CursorPage<PaymentDto>> scrollPaymentsByOrder(
+            @PathVariable Long orderId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<PaymentDto> page = paymentService.getPaymentsPageByOrder(orderId, CursorRequest.of(cursor, size));
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
 }
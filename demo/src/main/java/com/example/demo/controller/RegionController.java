@@ -1,9 +1,12 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.RegionDto;
 import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.model.NetworkStatus;
 import com.example.demo.model.Region;
 import com.example.demo.model.User;
+import com.example.demo.pagination.CursorPage;
+import com.example.demo.pagination.CursorRequest;
 import com.example.demo.service.RegionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -31,14 +34,14 @@ public class RegionController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Region>> getAllRegions() {
-        List<Region> regions = regionService.getAllRegions();
+    public ResponseEntity<List<RegionDto>> getAllRegions() {
+        List<RegionDto> regions = regionService.getAllRegions();
         return new ResponseEntity<>(regions, HttpStatus.OK);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Region> getRegionById(@PathVariable Long id) {
-        Optional<Region> region = regionService.getRegionById(id);
+    public ResponseEntity<RegionDto> getRegionById(@PathVariable Long id) {
+        Optional<RegionDto> region = regionService.getRegionById(id);
         return region.map(r -> new ResponseEntity<>(r, HttpStatus.OK))
                      .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
@@ -92,14 +95,22 @@ public class RegionController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<Region>> searchRegionsByName(@RequestParam String name) {
-        List<Region> regions = regionService.searchRegionsByName(name);
+    public ResponseEntity<List<RegionDto>> searchRegionsByName(@RequestParam String name) {
+        List<RegionDto> regions = regionService.searchRegionsByName(name);
         return new ResponseEntity<>(regions, HttpStatus.OK);
     }
 
     @GetMapping("/filter")
-    public ResponseEntity<List<Region>> filterRegionsByDescription(@RequestParam String description) {
-        List<Region> regions = regionService.filterRegionsByDescription(description);
+    public ResponseEntity<List<RegionDto>> filterRegionsByDescription(@RequestParam String description) {
+        List<RegionDto> regions = regionService.filterRegionsByDescription(description);
         return new ResponseEntity<>(regions, HttpStatus.OK);
     }
+
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<RegionDto>> scrollRegions(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<RegionDto> page = regionService.getRegionsPage(CursorRequest.of(cursor, size));
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
 }
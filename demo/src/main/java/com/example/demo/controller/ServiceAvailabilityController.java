@@ -1,8 +1,11 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.ServiceAvailabilityDto;
 import com.example.demo.model.NetworkStatus;
 import com.example.demo.model.ServiceAvailability;
 import com.example.demo.model.ServicePlan;
+import com.example.demo.pagination.CursorPage;
+import com.example.demo.pagination.CursorRequest;
 import com.example.demo.service.ServiceAvailabilityService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -31,15 +34,21 @@ public class ServiceAvailabilityController {
         return new ResponseEntity<>(savedServiceAvailability, HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<ServiceAvailabilityDto>> createServiceAvailabilities(@RequestBody List<ServiceAvailability> serviceAvailabilities) {
+        List<ServiceAvailabilityDto> created = serviceAvailabilityService.createServiceAvailabilities(serviceAvailabilities);
+        return new ResponseEntity<>(created, HttpStatus.CREATED);
+    }
+
     @GetMapping
-    public ResponseEntity<List<ServiceAvailability>> getAllServiceAvailabilities() {
-        List<ServiceAvailability> serviceAvailabilities = serviceAvailabilityService.getAllServiceAvailabilities();
+    public ResponseEntity<List<ServiceAvailabilityDto>> getAllServiceAvailabilities() {
+        List<ServiceAvailabilityDto> serviceAvailabilities = serviceAvailabilityService.getAllServiceAvailabilities();
         return new ResponseEntity<>(serviceAvailabilities, HttpStatus.OK);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ServiceAvailability> getServiceAvailabilityById(@PathVariable Long id) {
-        Optional<ServiceAvailability> serviceAvailability = serviceAvailabilityService.getServiceAvailabilityById(id);
+    public ResponseEntity<ServiceAvailabilityDto> getServiceAvailabilityById(@PathVariable Long id) {
+        Optional<ServiceAvailabilityDto> serviceAvailability = serviceAvailabilityService.getServiceAvailabilityById(id);
         return serviceAvailability.map(sa -> new ResponseEntity<>(sa, HttpStatus.OK))
                                   .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
@@ -61,17 +70,17 @@ public class ServiceAvailabilityController {
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<ServiceAvailability>> getServiceAvailabilitiesByStatus(@PathVariable String status) {
-        List<ServiceAvailability> serviceAvailabilities = serviceAvailabilityService.getServiceAvailabilitiesByStatus(status);
+    public ResponseEntity<List<ServiceAvailabilityDto>> getServiceAvailabilitiesByStatus(@PathVariable String status) {
+        List<ServiceAvailabilityDto> serviceAvailabilities = serviceAvailabilityService.getServiceAvailabilitiesByStatus(status);
         return new ResponseEntity<>(serviceAvailabilities, HttpStatus.OK);
     }
 
     @GetMapping("/date-range")
-    public ResponseEntity<List<ServiceAvailability>> getServiceAvailabilitiesByDateRange(@RequestParam("start") String startDate, @RequestParam("end") String endDate) {
+    public ResponseEntity<List<ServiceAvailabilityDto>> getServiceAvailabilitiesByDateRange(@RequestParam("start") String startDate, @RequestParam("end") String endDate) {
         try {
             LocalDateTime start = LocalDateTime.parse(startDate);
             LocalDateTime end = LocalDateTime.parse(endDate);
-            List<ServiceAvailability> serviceAvailabilities = serviceAvailabilityService.getServiceAvailabilitiesByDateRange(start, end);
+            List<ServiceAvailabilityDto> serviceAvailabilities = serviceAvailabilityService.getServiceAvailabilitiesByDateRange(start, end);
             return new ResponseEntity<>(serviceAvailabilities, HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
@@ -109,5 +118,21 @@ public class ServiceAvailabilityController {
         serviceAvailabilityService.deleteServiceAvailabilitiesByStatus(status);
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
-}
 
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<ServiceAvailabilityDto>> scrollServiceAvailabilities(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<ServiceAvailabilityDto> page = serviceAvailabilityService.getServiceAvailabilitiesPage(CursorRequest.of(cursor, size));
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    @GetMapping("/status/{status}/scroll")
+    public ResponseEntity<CursorPage<ServiceAvailabilityDto>> scrollServiceAvailabilitiesByStatus(
+            @PathVariable String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<ServiceAvailabilityDto> page = serviceAvailabilityService.getServiceAvailabilitiesPageByStatus(status, CursorRequest.of(cursor, size));
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+}
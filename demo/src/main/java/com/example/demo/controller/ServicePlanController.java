@@ -1,8 +1,12 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.FeedbackDto;
+import com.example.demo.dto.ServicePlanDto;
+import com.example.demo.dto.ServicePlanRatingDto;
 import com.example.demo.exception.ResourceNotFoundException;
-import com.example.demo.model.Feedback;
 import com.example.demo.model.ServicePlan;
+import com.example.demo.pagination.CursorPage;
+import com.example.demo.pagination.CursorRequest;
 import com.example.demo.service.ServicePlanService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -30,14 +34,14 @@ public class ServicePlanController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ServicePlan>> getAllServicePlans() {
-        List<ServicePlan> servicePlans = servicePlanService.getAllServicePlans();
+    public ResponseEntity<List<ServicePlanDto>> getAllServicePlans() {
+        List<ServicePlanDto> servicePlans = servicePlanService.getAllServicePlans();
         return new ResponseEntity<>(servicePlans, HttpStatus.OK);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ServicePlan> getServicePlanById(@PathVariable Long id) {
-        Optional<ServicePlan> servicePlan = servicePlanService.getServicePlanById(id);
+    public ResponseEntity<ServicePlanDto> getServicePlanById(@PathVariable Long id) {
+        Optional<ServicePlanDto> servicePlan = servicePlanService.getServicePlanById(id);
         return servicePlan.map(sp -> new ResponseEntity<>(sp, HttpStatus.OK))
                          .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
@@ -99,8 +103,8 @@ public class ServicePlanController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<ServicePlan>> searchServicePlans(@RequestParam String query) {
-        List<ServicePlan> servicePlans = servicePlanService.searchServicePlans(query);
+    public ResponseEntity<List<ServicePlanDto>> searchServicePlans(@RequestParam String query) {
+        List<ServicePlanDto> servicePlans = servicePlanService.searchServicePlans(query);
         return new ResponseEntity<>(servicePlans, HttpStatus.OK);
     }
 
@@ -116,14 +120,47 @@ public class ServicePlanController {
         return new ResponseEntity<>(count, HttpStatus.OK);
     }
 
+    @GetMapping("/ratings")
+    public ResponseEntity<List<ServicePlanRatingDto>> getRatingsForAllServicePlans() {
+        List<ServicePlanRatingDto> ratings = servicePlanService.getRatingsForAllServicePlans();
+        return new ResponseEntity<>(ratings, HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}/ratings")
+    public ResponseEntity<ServicePlanRatingDto> getRatingsForServicePlan(@PathVariable Long id) {
+        Optional<ServicePlanRatingDto> rating = servicePlanService.getRatingsForServicePlan(id);
+        return rating.map(r -> new ResponseEntity<>(r, HttpStatus.OK))
+                     .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
     @GetMapping("/{id}/feedbacks")
-    public ResponseEntity<List<Feedback>> getFeedbacksForServicePlan(@PathVariable Long id) {
+    public ResponseEntity<List<FeedbackDto>> getFeedbacksForServicePlan(@PathVariable Long id) {
         try {
-            List<Feedback> feedbacks = servicePlanService.getFeedbacksForServicePlan(id);
+            List<FeedbackDto> feedbacks = servicePlanService.getFeedbacksForServicePlan(id);
             return new ResponseEntity<>(feedbacks, HttpStatus.OK);
         } catch (ResourceNotFoundException e) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
     }
-}
 
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<ServicePlanDto>> scrollServicePlans(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<ServicePlanDto> page = servicePlanService.getServicePlansPage(CursorRequest.of(cursor, size));
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}/feedbacks/scroll")
+    public ResponseEntity<CursorPage<FeedbackDto>> scrollFeedbacksForServicePlan(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            CursorPage<FeedbackDto> page = servicePlanService.getFeedbacksPageForServicePlan(id, CursorRequest.of(cursor, size));
+            return new ResponseEntity<>(page, HttpStatus.OK);
+        } catch (ResourceNotFoundException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+}
@@ -1,9 +1,15 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.SupportTicketBacklogDto;
+import com.example.demo.dto.SupportTicketDto;
+import com.example.demo.dto.SupportTicketSearchHit;
 import com.example.demo.model.SupportTicket;
-import com.example.demo.model.User;
+import com.example.demo.pagination.CursorPage;
+import com.example.demo.pagination.CursorRequest;
 import com.example.demo.service.SupportTicketService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -31,14 +37,14 @@ public class SupportTicketController {
     }
 
     @GetMapping
-    public ResponseEntity<List<SupportTicket>> getAllSupportTickets() {
-        List<SupportTicket> supportTickets = supportTicketService.getAllSupportTickets();
+    public ResponseEntity<List<SupportTicketDto>> getAllSupportTickets() {
+        List<SupportTicketDto> supportTickets = supportTicketService.getAllSupportTickets();
         return new ResponseEntity<>(supportTickets, HttpStatus.OK);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<SupportTicket> getSupportTicketById(@PathVariable Long id) {
-        Optional<SupportTicket> supportTicket = supportTicketService.getSupportTicketById(id);
+    public ResponseEntity<SupportTicketDto> getSupportTicketById(@PathVariable Long id) {
+        Optional<SupportTicketDto> supportTicket = supportTicketService.getSupportTicketById(id);
         return supportTicket.map(st -> new ResponseEntity<>(st, HttpStatus.OK))
                             .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
@@ -60,16 +66,14 @@ public class SupportTicketController {
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<SupportTicket>> getSupportTicketsByStatus(@PathVariable String status) {
-        List<SupportTicket> tickets = supportTicketService.getSupportTicketsByStatus(status);
+    public ResponseEntity<List<SupportTicketDto>> getSupportTicketsByStatus(@PathVariable String status) {
+        List<SupportTicketDto> tickets = supportTicketService.getSupportTicketsByStatus(status);
         return new ResponseEntity<>(tickets, HttpStatus.OK);
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<SupportTicket>> getSupportTicketsByUser(@PathVariable Long userId) {
-        User user = new User();  
-        user.setId(userId);
-        List<SupportTicket> tickets = supportTicketService.getSupportTicketsByUser(user);
+    public ResponseEntity<List<SupportTicketDto>> getSupportTicketsByUser(@PathVariable Long userId) {
+        List<SupportTicketDto> tickets = supportTicketService.getSupportTicketsByUser(userId);
         return new ResponseEntity<>(tickets, HttpStatus.OK);
     }
 
@@ -79,17 +83,61 @@ public class SupportTicketController {
         return new ResponseEntity<>(count, HttpStatus.OK);
     }
 
+    @GetMapping("/backlog")
+    public ResponseEntity<SupportTicketBacklogDto> getBacklog() {
+        return new ResponseEntity<>(supportTicketService.getBacklog(), HttpStatus.OK);
+    }
+
     @GetMapping("/created-between")
-    public ResponseEntity<List<SupportTicket>> getSupportTicketsByCreatedDateRange(
+    public ResponseEntity<List<SupportTicketDto>> getSupportTicketsByCreatedDateRange(
             @RequestParam("startDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
-        List<SupportTicket> tickets = supportTicketService.getSupportTicketsByCreatedDateRange(startDate, endDate);
+        List<SupportTicketDto> tickets = supportTicketService.getSupportTicketsByCreatedDateRange(startDate, endDate);
         return new ResponseEntity<>(tickets, HttpStatus.OK);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<SupportTicket>> searchSupportTicketsByIssueDescription(@RequestParam("keyword") String keyword) {
-        List<SupportTicket> tickets = supportTicketService.searchSupportTicketsByIssueDescription(keyword);
+    public ResponseEntity<List<SupportTicketDto>> searchSupportTicketsByIssueDescription(@RequestParam("keyword") String keyword) {
+        List<SupportTicketDto> tickets = supportTicketService.searchSupportTicketsByIssueDescription(keyword);
         return new ResponseEntity<>(tickets, HttpStatus.OK);
     }
+
+    @GetMapping("/full-text-search")
+    public ResponseEntity<Slice<SupportTicketSearchHit>> fullTextSearchSupportTickets(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), CursorRequest.MAX_PAGE_SIZE));
+        Slice<SupportTicketSearchHit> hits = supportTicketService.searchSupportTickets(query, status, createdFrom, createdTo, pageRequest);
+        return new ResponseEntity<>(hits, HttpStatus.OK);
+    }
+
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<SupportTicketDto>> scrollSupportTickets(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<SupportTicketDto> page = supportTicketService.getSupportTicketsPage(CursorRequest.of(cursor, size));
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    @GetMapping("/status/{status}/scroll")
+    public ResponseEntity<CursorPage<SupportTicketDto>> scrollSupportTicketsByStatus(
+            @PathVariable String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<SupportTicketDto> page = supportTicketService.getSupportTicketsPageByStatus(status, CursorRequest.of(cursor, size));
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    @GetMapping("/user/{userId}/scroll")
+    public ResponseEntity<CursorPage<SupportTicketDto>> scrollSupportTicketsByUser(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<SupportTicketDto> page = supportTicketService.getSupportTicketsPageByUser(userId, CursorRequest.of(cursor, size));
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
 }
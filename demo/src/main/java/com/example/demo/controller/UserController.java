@@ -1,9 +1,13 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.ServicePlanDto;
+import com.example.demo.dto.UserDto;
 import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.model.ServicePlan;
 import com.example.demo.model.User;
 import com.example.demo.security.Role;
+import com.example.demo.pagination.CursorPage;
+import com.example.demo.pagination.CursorRequest;
 import com.example.demo.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -12,7 +16,6 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 @RestController
 @RequestMapping("/api/users")
@@ -32,14 +35,14 @@ public class UserController {
     }
 
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = userService.getAllUsers();
+    public ResponseEntity<List<UserDto>> getAllUsers() {
+        List<UserDto> users = userService.getAllUsers();
         return new ResponseEntity<>(users, HttpStatus.OK);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<User> getUserById(@PathVariable Long id) {
-        Optional<User> user = userService.getUserById(id);
+    public ResponseEntity<UserDto> getUserById(@PathVariable Long id) {
+        Optional<UserDto> user = userService.getUserById(id);
         return user.map(u -> new ResponseEntity<>(u, HttpStatus.OK))
                    .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
@@ -73,14 +76,14 @@ public class UserController {
     }
 
     @GetMapping("/search/username")
-    public ResponseEntity<List<User>> searchUsersByUsername(@RequestParam String username) {
-        List<User> users = userService.searchUsersByUsername(username);
+    public ResponseEntity<List<UserDto>> searchUsersByUsername(@RequestParam String username) {
+        List<UserDto> users = userService.searchUsersByUsername(username);
         return new ResponseEntity<>(users, HttpStatus.OK);
     }
 
     @GetMapping("/search/role")
-    public ResponseEntity<List<User>> searchUsersByRole(@RequestParam Role role) {
-        List<User> users = userService.searchUsersByRole(role);
+    public ResponseEntity<List<UserDto>> searchUsersByRole(@RequestParam Role role) {
+        List<UserDto> users = userService.searchUsersByRole(role);
         return new ResponseEntity<>(users, HttpStatus.OK);
     }
 
@@ -105,12 +108,29 @@ public class UserController {
     }
 
     @GetMapping("/{id}/service-plans")
-    public ResponseEntity<Set<ServicePlan>> getServicePlansForUser(@PathVariable Long id) {
+    public ResponseEntity<List<ServicePlanDto>> getServicePlansForUser(@PathVariable Long id) {
         try {
-            Set<ServicePlan> servicePlans = userService.getServicePlansForUser(id);
+            List<ServicePlanDto> servicePlans = userService.getServicePlansForUser(id);
             return new ResponseEntity<>(servicePlans, HttpStatus.OK);
         } catch (ResourceNotFoundException e) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
     }
+
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<UserDto>> scrollUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<UserDto> page = userService.getUsersPage(CursorRequest.of(cursor, size));
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    @GetMapping("/search/role/scroll")
+    public ResponseEntity<CursorPage<UserDto>> scrollUsersByRole(
+            @RequestParam Role role,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<UserDto> page = userService.getUsersPageByRole(role, CursorRequest.of(cursor, size));
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
 }
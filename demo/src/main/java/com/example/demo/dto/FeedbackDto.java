@@ -0,0 +1,14 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+public record FeedbackDto(
+        Long id,
+        String feedbackText,
+        Integer rating,
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") LocalDateTime submittedDate,
+        Long userId,
+        Long servicePlanId) {
+}
@@ -0,0 +1,19 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.NetworkStatus;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+public record NetworkStatusDto(
+        Long id,
+        String status,
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") LocalDateTime updateDate,
+        Long regionId) {
+
+    public static NetworkStatusDto from(NetworkStatus networkStatus) {
+        return new NetworkStatusDto(networkStatus.getId(), networkStatus.getStatus(),
+                networkStatus.getUpdateDate(), networkStatus.getRegion().getId());
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.Payment;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+public record PaymentDto(
+        Long id,
+        Double amount,
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") LocalDateTime paymentDate,
+        Long userId,
+        Long orderId) {
+
+    public static PaymentDto from(Payment payment) {
+        return new PaymentDto(payment.getId(), payment.getAmount(), payment.getPaymentDate(),
+                payment.getUser().getId(), payment.getOrder().getId());
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.demo.dto;
+
+public record RegionDto(
+        Long id,
+        String name,
+        String description) {
+}
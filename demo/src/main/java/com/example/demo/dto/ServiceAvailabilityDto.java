@@ -0,0 +1,18 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.ServiceAvailability;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+public record ServiceAvailabilityDto(
+        Long id,
+        String availabilityStatus,
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") LocalDateTime availabilityDate) {
+
+    public static ServiceAvailabilityDto from(ServiceAvailability serviceAvailability) {
+        return new ServiceAvailabilityDto(serviceAvailability.getId(), serviceAvailability.getAvailabilityStatus(),
+                serviceAvailability.getAvailabilityDate());
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.ServicePlan;
+
+public record ServicePlanDto(
+        Long id,
+        String name,
+        String description) {
+
+    public static ServicePlanDto from(ServicePlan servicePlan) {
+        return new ServicePlanDto(servicePlan.getId(), servicePlan.getName(), servicePlan.getDescription());
+    }
+}
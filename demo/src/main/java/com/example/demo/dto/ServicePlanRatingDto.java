@@ -0,0 +1,24 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.ServicePlanRating;
+
+import java.util.List;
+
+/**
+ * {@code ratingCounts} holds the number of 1 to 5 star ratings in that order.
+ * {@code averageRating} is null while the plan has no ratings.
+ */
+public record ServicePlanRatingDto(
+        Long servicePlanId,
+        long ratingCount,
+        Double averageRating,
+        List<Long> ratingCounts) {
+
+    public static ServicePlanRatingDto from(ServicePlanRating rating) {
+        List<Long> ratingCounts = List.of(rating.getRating1Count(), rating.getRating2Count(), rating.getRating3Count(),
+                rating.getRating4Count(), rating.getRating5Count());
+        long ratingCount = ratingCounts.stream().mapToLong(Long::longValue).sum();
+        Double averageRating = ratingCount == 0 ? null : (double) rating.getRatingSum() / ratingCount;
+        return new ServicePlanRatingDto(rating.getServicePlanId(), ratingCount, averageRating, ratingCounts);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+/**
+ * Backlog overview for the operations dashboard: tickets per status, tickets created in each of
+ * the last 24 hours, oldest first, and the creation date and age in seconds of the oldest ticket
+ * still open. Both of the latter are {@code null} when no ticket is open.
+ */
+public record SupportTicketBacklogDto(
+        Map<String, Long> statusCounts,
+        List<SupportTicketHourlyCount> createdPerHour,
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") LocalDateTime oldestOpenCreatedDate,
+        Long oldestOpenAgeSeconds) {
+}
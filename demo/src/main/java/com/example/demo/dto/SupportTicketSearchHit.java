@@ -0,0 +1,14 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+public record SupportTicketSearchHit(
+        Long id,
+        String issueDescription,
+        String status,
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") LocalDateTime createdDate,
+        Long userId,
+        double rank) {
+}
@@ -0,0 +1,11 @@
+package com.example.demo.dto;
+
+import com.example.demo.security.Role;
+
+public record UserDto(
+        Long id,
+        String username,
+        String email,
+        Role role,
+        Long regionId) {
+}
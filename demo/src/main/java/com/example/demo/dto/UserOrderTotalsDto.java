@@ -0,0 +1,18 @@
+package com.example.demo.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+public record UserOrderTotalsDto(
+        Long userId,
+        long orderCount,
+        BigDecimal orderTotal,
+        BigDecimal paymentTotal,
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") LocalDateTime lastOrderDate) {
+
+    public static UserOrderTotalsDto empty(Long userId) {
+        return new UserOrderTotalsDto(userId, 0, BigDecimal.ZERO, BigDecimal.ZERO, null);
+    }
+}
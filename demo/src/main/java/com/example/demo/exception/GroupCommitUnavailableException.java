@@ -0,0 +1,15 @@
+package com.example.demo.exception;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Turns a write away because the group committer it was queued for is stopped, its writer has
+ * died, or its batch did not commit in time.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class GroupCommitUnavailableException extends IllegalStateException {
+
+    public GroupCommitUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.demo.exception;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Rejects a status value that a network status cannot hold.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidNetworkStatusException extends RuntimeException {
+
+    public InvalidNetworkStatusException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.demo.exception;
+
+import java.time.Duration;
+
+/**
+ * Turns a login or registration away because the password hashing queue is full.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public PasswordHashingRejectedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
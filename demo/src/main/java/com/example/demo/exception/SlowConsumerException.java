@@ -0,0 +1,11 @@
+package com.example.demo.exception;
+
+/**
+ * Ends a live stream whose client did not keep up with it.
+ */
+public class SlowConsumerException extends RuntimeException {
+
+    public SlowConsumerException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.demo.exception;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Rejects a network status dated outside the months its table keeps partitions for.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class UpdateDateOutOfRangeException extends RuntimeException {
+
+    public UpdateDateOutOfRangeException(String message) {
+        super(message);
+    }
+}
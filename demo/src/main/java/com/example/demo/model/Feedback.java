@@ -17,13 +17,23 @@ import lombok.Setter;
 
 @Entity
 @Table(name = "feedbacks")
+@NamedEntityGraph(
+    name = Feedback.WITH_USER_AND_SERVICE_PLAN,
+    attributeNodes = {
+        @NamedAttributeNode("user"),
+        @NamedAttributeNode("servicePlan")
+    }
+)
 @Getter
 @Setter
 @EntityListeners(AuditingEntityListener.class)
 public class Feedback {
 
+    public static final String WITH_USER_AND_SERVICE_PLAN = "Feedback.withUserAndServicePlan";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "feedbacks_seq")
+    @SequenceGenerator(name = "feedbacks_seq", sequenceName = "feedbacks_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -42,11 +52,11 @@ public class Feedback {
     @Column(nullable = false)
     private LocalDateTime submittedDate;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "service_plan_id", nullable = false)
     private ServicePlan servicePlan;
 
@@ -18,18 +18,27 @@ import lombok.Setter;
 
 @Entity
 @Table(name = "network_statuses")
+@NamedEntityGraph(
+    name = NetworkStatus.WITH_REGION,
+    attributeNodes = @NamedAttributeNode("region")
+)
 @Getter
 @Setter
 @EntityListeners(AuditingEntityListener.class)
 public class NetworkStatus {
 
+    public static final String WITH_REGION = "NetworkStatus.withRegion";
+    public static final int STATUS_MIN_LENGTH = 3;
+    public static final int STATUS_MAX_LENGTH = 100;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "network_statuses_seq")
+    @SequenceGenerator(name = "network_statuses_seq", sequenceName = "network_statuses_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
-    @Size(min = 3, max = 100)
-    @Column(nullable = false, length = 100)
+    @Size(min = STATUS_MIN_LENGTH, max = STATUS_MAX_LENGTH)
+    @Column(nullable = false, length = STATUS_MAX_LENGTH)
     private String status;
 
     @NotNull
@@ -37,7 +46,7 @@ public class NetworkStatus {
     @Column(nullable = false)
     private LocalDateTime updateDate;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "region_id", nullable = false)
     private Region region;
 
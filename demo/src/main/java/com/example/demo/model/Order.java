@@ -18,13 +18,23 @@ import lombok.Setter;
 
 @Entity
 @Table(name = "orders")
+@NamedEntityGraph(
+    name = Order.WITH_USER_AND_SERVICE_PLAN,
+    attributeNodes = {
+        @NamedAttributeNode("user"),
+        @NamedAttributeNode("servicePlan")
+    }
+)
 @Getter
 @Setter
 @EntityListeners(AuditingEntityListener.class)
 public class Order {
 
+    public static final String WITH_USER_AND_SERVICE_PLAN = "Order.withUserAndServicePlan";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -37,11 +47,11 @@ public class Order {
     @Column(nullable = false)
     private Double totalAmount;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "service_plan_id", nullable = false)
     private ServicePlan servicePlan;
 
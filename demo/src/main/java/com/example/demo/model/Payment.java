@@ -15,13 +15,23 @@ import lombok.Setter;
 
 @Entity
 @Table(name = "payments")
+@NamedEntityGraph(
+    name = Payment.WITH_USER_AND_ORDER,
+    attributeNodes = {
+        @NamedAttributeNode("user"),
+        @NamedAttributeNode("order")
+    }
+)
 @Getter
 @Setter
 @EntityListeners(AuditingEntityListener.class)
 public class Payment {
 
+    public static final String WITH_USER_AND_ORDER = "Payment.withUserAndOrder";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payments_seq")
+    @SequenceGenerator(name = "payments_seq", sequenceName = "payments_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -34,11 +44,11 @@ public class Payment {
     @Column(nullable = false)
     private LocalDateTime paymentDate;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id", nullable = false)
     private Order order;
 
@@ -7,6 +7,8 @@ import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -21,10 +23,12 @@ import lombok.Setter;
 @Getter
 @Setter
 @EntityListeners(AuditingEntityListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "service-availabilities")
 public class ServiceAvailability {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "service_availabilities_seq")
+    @SequenceGenerator(name = "service_availabilities_seq", sequenceName = "service_availabilities_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -37,6 +41,7 @@ public class ServiceAvailability {
     @Column(nullable = false)
     private LocalDateTime availabilityDate;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "service-availability-plans")
     @ManyToMany(mappedBy = "serviceAvailabilities")
     private Set<ServicePlan> servicePlans = new HashSet<>();
 
@@ -0,0 +1,31 @@
+package com.example.demo.model;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+
+/**
+ * Subscriber and order counts of one service plan. The rows are written only by the database
+ * triggers on {@code service_plans}, {@code user_service_plans} and {@code orders} and by the
+ * repair job, never through JPA.
+ */
+@Entity
+@Table(name = "service_plan_counters")
+@Immutable
+@Getter
+public class ServicePlanCounters {
+
+    @Id
+    @Column(name = "service_plan_id")
+    private Long servicePlanId;
+
+    @Column(nullable = false)
+    private long userCount;
+
+    @Column(nullable = false)
+    private long orderCount;
+}
@@ -0,0 +1,42 @@
+package com.example.demo.model;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+
+/**
+ * Star rating distribution of one service plan. The rows are written only by the database
+ * triggers on {@code service_plans} and {@code feedbacks}, never through JPA.
+ */
+@Entity
+@Table(name = "service_plan_ratings")
+@Immutable
+@Getter
+public class ServicePlanRating {
+
+    @Id
+    @Column(name = "service_plan_id")
+    private Long servicePlanId;
+
+    @Column(name = "rating_1_count", nullable = false)
+    private long rating1Count;
+
+    @Column(name = "rating_2_count", nullable = false)
+    private long rating2Count;
+
+    @Column(name = "rating_3_count", nullable = false)
+    private long rating3Count;
+
+    @Column(name = "rating_4_count", nullable = false)
+    private long rating4Count;
+
+    @Column(name = "rating_5_count", nullable = false)
+    private long rating5Count;
+
+    @Column(nullable = false)
+    private long ratingSum;
+}
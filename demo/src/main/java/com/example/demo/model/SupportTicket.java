@@ -21,7 +21,8 @@ import lombok.Setter;
 public class SupportTicket {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "support_tickets_seq")
+    @SequenceGenerator(name = "support_tickets_seq", sequenceName = "support_tickets_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -46,7 +47,7 @@ public class SupportTicket {
     @LastModifiedDate
     private LocalDateTime lastModifiedDate;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
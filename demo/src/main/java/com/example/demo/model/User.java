@@ -33,7 +33,8 @@ import lombok.Setter;
 public class User implements UserDetails {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -55,7 +56,11 @@ public class User implements UserDetails {
     @Enumerated(EnumType.STRING)
     private Role role;  
 
-    @ManyToOne
+    @JsonIgnore
+    @Column(nullable = false)
+    private int tokenVersion;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "region_id")
     private Region region;
 
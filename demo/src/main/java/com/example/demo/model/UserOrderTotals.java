@@ -0,0 +1,38 @@
+package com.example.demo.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+
+/**
+ * Running order and payment totals of one user. The rows are written only by the database
+ * triggers on {@code orders} and {@code payments} and by the rebuild job, never through JPA.
+ */
+@Entity
+@Table(name = "user_order_totals")
+@Immutable
+@Getter
+public class UserOrderTotals {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private long orderCount;
+
+    @Column(nullable = false)
+    private BigDecimal orderTotal;
+
+    @Column(nullable = false)
+    private BigDecimal paymentTotal;
+
+    private LocalDateTime lastOrderDate;
+}
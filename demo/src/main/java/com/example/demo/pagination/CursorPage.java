@@ -0,0 +1,23 @@
+package com.example.demo.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated collection. {@code nextCursor} is {@code null} on the last page.
+ */
+public record CursorPage<T>(List<T> content, int size, boolean hasNext, String nextCursor) {
+
+    /**
+     * Builds a page from rows fetched with {@link CursorRequest#limit()}, i.e. at most one row
+     * beyond the requested size.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, CursorRequest request, Function<T, Long> idExtractor) {
+        boolean hasNext = rows.size() > request.size();
+        List<T> content = hasNext ? List.copyOf(rows.subList(0, request.size())) : List.copyOf(rows);
+        String nextCursor = hasNext
+                ? CursorRequest.encode(idExtractor.apply(content.get(content.size() - 1)))
+                : null;
+        return new CursorPage<>(content, content.size(), hasNext, nextCursor);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.demo.pagination;
+
+import com.example.demo.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.springframework.data.domain.Limit;
+
+/**
+ * A keyset (seek) page request: rows with an id strictly greater than {@code afterId},
+ * ordered by id, at most {@code size} of them.
+ * <p>
+ * The cursor handed to clients is an opaque token wrapping the last id of the previous page,
+ * so a deep page costs the same index range scan as the first one.
+ */
+public record CursorRequest(long afterId, int size) {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String TOKEN_PREFIX = "id:";
+
+    public static CursorRequest of(String cursor, Integer size) {
+        return new CursorRequest(decode(cursor), clampSize(size));
+    }
+
+    public static CursorRequest first(int size) {
+        return new CursorRequest(0L, clampSize(size));
+    }
+
+    /**
+     * One row more than the page size is fetched so we know whether a next page exists
+     * without issuing a count query.
+     */
+    public Limit limit() {
+        return Limit.of(size + 1);
+    }
+
+    static String encode(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((TOKEN_PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String token = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!token.startsWith(TOKEN_PREFIX)) {
+                throw new InvalidCursorException("Malformed cursor.");
+            }
+            long afterId = Long.parseLong(token.substring(TOKEN_PREFIX.length()));
+            if (afterId < 0) {
+                throw new InvalidCursorException("Malformed cursor.");
+            }
+            return afterId;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Malformed cursor.");
+        }
+    }
+
+    private static int clampSize(Integer size) {
+        if (size == null || size < 1) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.demo.persistence;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+
+@Component
+public class BatchInserter {
+
+    private final EntityManager entityManager;
+    private final int batchSize;
+
+    public BatchInserter(EntityManager entityManager,
+                         @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.entityManager = entityManager;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Persists new entities in chunks of the JDBC batch size, flushing and clearing the persistence
+     * context after each chunk so every flush becomes one batched INSERT and memory stays flat.
+     * The returned entities are detached.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T> List<T> insertAll(List<T> entities) {
+        for (int i = 0; i < entities.size(); i++) {
+            entityManager.persist(entities.get(i));
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return entities;
+    }
+}
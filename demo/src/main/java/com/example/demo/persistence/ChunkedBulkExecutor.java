@@ -0,0 +1,73 @@
+package com.example.demo.persistence;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.IntSupplier;
+import java.util.function.ToIntFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs set-based bulk statements one id chunk at a time, each chunk in its own short transaction.
+ * <p>
+ * A single UPDATE or DELETE over 100k rows holds its row locks until commit and blocks everything
+ * that touches those rows for the whole run. Splitting the work by id keeps each lock window to one
+ * chunk, and a fresh transaction per chunk starts from an empty persistence context.
+ */
+@Component
+public class ChunkedBulkExecutor {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public ChunkedBulkExecutor(PlatformTransactionManager transactionManager,
+                               @Value("${app.bulk.chunk-size:1000}") int chunkSize) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Sorts and de-duplicates {@code ids}, then applies {@code operation} to consecutive chunks of
+     * them. Returns the total number of rows the operation reported as affected.
+     */
+    public int forEachIdChunk(Collection<Long> ids, ToIntFunction<List<Long>> operation) {
+        List<Long> sortedIds = ids.stream().distinct().sorted().toList();
+        int affected = 0;
+        for (int from = 0; from < sortedIds.size(); from += chunkSize) {
+            List<Long> chunk = sortedIds.subList(from, Math.min(from + chunkSize, sortedIds.size()));
+            affected += inTransaction(() -> operation.applyAsInt(chunk));
+        }
+        return affected;
+    }
+
+    /**
+     * Walks {@code range} in windows of {@code chunkSize} consecutive ids and applies
+     * {@code operation} to each window. Returns the total number of rows reported as affected.
+     */
+    public int forEachIdRange(IdRange range, IdRangeOperation operation) {
+        if (range.isEmpty()) {
+            return 0;
+        }
+        int affected = 0;
+        for (long fromId = range.minId(); fromId <= range.maxId(); fromId += chunkSize) {
+            long toId = Math.min(fromId + chunkSize - 1, range.maxId());
+            long windowStart = fromId;
+            affected += inTransaction(() -> operation.apply(windowStart, toId));
+        }
+        return affected;
+    }
+
+    private int inTransaction(IntSupplier work) {
+        Integer affected = transactionTemplate.execute(status -> work.getAsInt());
+        return affected != null ? affected : 0;
+    }
+
+    @FunctionalInterface
+    public interface IdRangeOperation {
+
+        int apply(long fromId, long toId);
+    }
+}
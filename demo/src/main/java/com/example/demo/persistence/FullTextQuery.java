@@ -0,0 +1,71 @@
+package com.example.demo.persistence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Translates search box input into PostgreSQL {@code to_tsquery} syntax.
+ * <p>
+ * Bare words must all match. {@code "quoted words"} must appear next to each other in that
+ * order. A trailing {@code *} matches any word starting with the prefix, and a leading {@code -}
+ * excludes documents containing the term. Any character other than a letter or digit separates
+ * words, so no input can produce a tsquery syntax error.
+ */
+public final class FullTextQuery {
+
+    private static final Pattern TOKEN = Pattern.compile("(-?)\"([^\"]*)\"?|(\\S+)");
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private FullTextQuery() {
+    }
+
+    /**
+     * Returns the tsquery for {@code input}, or empty when it contains no searchable word.
+     */
+    public static Optional<String> toTsQuery(String input) {
+        if (input == null) {
+            return Optional.empty();
+        }
+        StringJoiner terms = new StringJoiner(" & ");
+        Matcher matcher = TOKEN.matcher(input);
+        while (matcher.find()) {
+            String term = matcher.group(2) != null
+                    ? term(matcher.group(2), false, !matcher.group(1).isEmpty())
+                    : bareTerm(matcher.group(3));
+            if (term != null) {
+                terms.add(term);
+            }
+        }
+        return terms.length() == 0 ? Optional.empty() : Optional.of(terms.toString());
+    }
+
+    private static String bareTerm(String token) {
+        boolean negated = token.startsWith("-");
+        boolean prefix = token.endsWith("*");
+        return term(token, prefix, negated);
+    }
+
+    /**
+     * Words of one term are joined with the followed-by operator, so a quoted phrase and a
+     * hyphenated word like {@code wi-fi} both match only as adjacent words.
+     */
+    private static String term(String text, boolean prefix, boolean negated) {
+        List<String> words = new ArrayList<>(Arrays.stream(WORD_SEPARATOR.split(text))
+                .filter(word -> !word.isEmpty())
+                .map(String::toLowerCase)
+                .toList());
+        if (words.isEmpty()) {
+            return null;
+        }
+        if (prefix) {
+            words.set(words.size() - 1, words.get(words.size() - 1) + ":*");
+        }
+        String term = words.size() == 1 ? words.get(0) : "(" + String.join(" <-> ", words) + ")";
+        return negated ? "!" + term : term;
+    }
+}
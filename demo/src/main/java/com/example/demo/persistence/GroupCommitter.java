@@ -0,0 +1,268 @@
+package com.example.demo.persistence;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.UnaryOperator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.config.GroupCommitProperties;
+import com.example.demo.exception.GroupCommitUnavailableException;
+
+/**
+ * Writes items submitted one at a time by concurrent callers in shared transactions, so a stream
+ * of single-row creates costs one commit per batch instead of one per row.
+ * <p>
+ * Submitted items queue up for a single writer thread. It takes the first waiting item, gathers
+ * whatever else is queued up to the current batch size, waiting at most {@code maxWait} after the
+ * first item for more to arrive, and writes the batch in one transaction. Each caller's future
+ * completes once the batch it was part of commits. While a batch is being written the next one
+ * queues up, so the more callers there are, the larger the batches get.
+ * <p>
+ * The batch size adapts to the time each batch's transaction takes: it is halved whenever a batch
+ * takes longer than {@code targetLatency}, and grows by an eighth after each full batch that
+ * stayed within it, between {@code minBatchSize} and {@code maxBatchSize}. A batch that fails is
+ * retried one item at a time, so a single bad item only fails its own caller.
+ * <p>
+ * Callers of {@link #write} wait at most {@code writeTimeout} for their batch. If the writer thread
+ * dies, everything queued fails and new items are turned away, so no caller waits on a writer that
+ * is gone.
+ * <p>
+ * It starts before and stops after the web server, and writes out everything still queued before
+ * stopping.
+ */
+public class GroupCommitter<T> implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(GroupCommitter.class);
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final String name;
+    private final TransactionTemplate transactionTemplate;
+    private final UnaryOperator<List<T>> batchWriter;
+    private final BlockingQueue<Pending<T>> queue;
+    private final long maxWaitNanos;
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final long targetLatencyNanos;
+    private final Duration writeTimeout;
+
+    private volatile int batchSize;
+    private volatile boolean running;
+    private volatile boolean writerExited;
+    private Thread writer;
+
+    /**
+     * @param batchWriter writes a batch inside the transaction and returns the written items in
+     *                    the same order
+     */
+    public GroupCommitter(String name, PlatformTransactionManager transactionManager,
+                          UnaryOperator<List<T>> batchWriter, GroupCommitProperties properties) {
+        this.name = name;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchWriter = batchWriter;
+        this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+        this.maxWaitNanos = properties.maxWait().toNanos();
+        this.minBatchSize = properties.minBatchSize();
+        this.maxBatchSize = properties.maxBatchSize();
+        this.targetLatencyNanos = properties.targetLatency().toNanos();
+        this.writeTimeout = properties.writeTimeout();
+        this.batchSize = properties.maxBatchSize();
+    }
+
+    /**
+     * Queues {@code item} for the next batch, waiting for room when the queue is full. The
+     * returned future completes with the written item once its batch commits.
+     */
+    public CompletableFuture<T> submit(T item) {
+        if (!running || writerExited) {
+            return CompletableFuture.failedFuture(stopped());
+        }
+        Pending<T> pending = new Pending<>(item, new CompletableFuture<>());
+        try {
+            queue.put(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+        // Stopped while queueing: whoever removes the item from the queue completes it.
+        if ((!running || writerExited) && queue.remove(pending)) {
+            pending.future().completeExceptionally(stopped());
+        }
+        return pending.future();
+    }
+
+    /**
+     * Submits {@code item} and waits for its batch to commit, rethrowing what the write threw.
+     * Gives up with a {@link GroupCommitUnavailableException} after {@code writeTimeout}; the item
+     * may still be written later.
+     */
+    public T write(T item) {
+        try {
+            return submit(item).orTimeout(writeTimeout.toNanos(), TimeUnit.NANOSECONDS).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw new GroupCommitUnavailableException(
+                        "Group committer " + name + " did not commit the item within " + writeTimeout);
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    int batchSize() {
+        return batchSize;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = new Thread(this::run, "group-commit-" + name);
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    /**
+     * However the loop ends, the items still in hand or queued are failed once new ones are turned
+     * away, so none is left waiting.
+     */
+    private void run() {
+        List<Pending<T>> batch = new ArrayList<>();
+        try {
+            while (running || !queue.isEmpty()) {
+                Pending<T> first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    gather(batch);
+                    commitOrFail(batch);
+                    batch.clear();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            writerExited = true;
+            if (running) {
+                log.error("Group commit {} writer exited while running; rejecting new items", name);
+            }
+            batch.addAll(queue);
+            queue.removeAll(batch);
+            GroupCommitUnavailableException stopped = stopped();
+            batch.forEach(pending -> pending.future().completeExceptionally(stopped));
+        }
+    }
+
+    private void commitOrFail(List<Pending<T>> batch) {
+        try {
+            commit(batch);
+        } catch (Throwable e) {
+            log.error("Group commit {} of {} items failed", name, batch.size(), e);
+            batch.forEach(pending -> pending.future().completeExceptionally(e));
+        }
+    }
+
+    private void gather(List<Pending<T>> batch) throws InterruptedException {
+        int limit = batchSize;
+        long deadline = System.nanoTime() + maxWaitNanos;
+        queue.drainTo(batch, limit - batch.size());
+        while (batch.size() < limit) {
+            Pending<T> next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+            queue.drainTo(batch, limit - batch.size());
+        }
+    }
+
+    private void commit(List<Pending<T>> batch) {
+        List<T> items = new ArrayList<>(batch.size());
+        batch.forEach(pending -> items.add(pending.item()));
+        long started = System.nanoTime();
+        List<T> written;
+        try {
+            written = transactionTemplate.execute(status -> {
+                List<T> result = batchWriter.apply(items);
+                if (result == null || result.size() != items.size()) {
+                    throw new IllegalStateException("Group commit " + name + " wrote "
+                            + (result == null ? 0 : result.size()) + " of " + items.size() + " items");
+                }
+                return result;
+            });
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).future().completeExceptionally(e);
+            } else {
+                log.debug("Group commit {} of {} items failed, retrying them one at a time", name, batch.size(), e);
+                batch.forEach(pending -> commit(List.of(pending)));
+            }
+            return;
+        }
+        adapt(batch.size(), System.nanoTime() - started);
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).future().complete(written.get(i));
+        }
+    }
+
+    /**
+     * Halves the batch size after a batch that took longer than the target latency, and grows it
+     * after a full one that did not.
+     */
+    void adapt(int size, long latencyNanos) {
+        int current = batchSize;
+        int next = current;
+        if (latencyNanos > targetLatencyNanos) {
+            next = Math.max(minBatchSize, current / 2);
+        } else if (size >= current) {
+            next = Math.min(maxBatchSize, current + Math.max(1, current / 8));
+        }
+        if (next != current) {
+            batchSize = next;
+            log.debug("Group commit {} batch size {} -> {} after {} items in {}", name, current, next, size,
+                    Duration.ofNanos(latencyNanos));
+        }
+    }
+
+    private GroupCommitUnavailableException stopped() {
+        return new GroupCommitUnavailableException("Group committer " + name + " is stopped");
+    }
+
+    private record Pending<T>(T item, CompletableFuture<T> future) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.demo.persistence;
+
+/**
+ * The inclusive {@code [minId, maxId]} span of rows matching some predicate, as returned by a
+ * {@code select min(x.id), max(x.id)} projection. Both bounds are null when nothing matched.
+ */
+public record IdRange(Long minId, Long maxId) {
+
+    public boolean isEmpty() {
+        return minId == null || maxId == null;
+    }
+}
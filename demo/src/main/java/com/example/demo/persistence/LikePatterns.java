@@ -0,0 +1,31 @@
+package com.example.demo.persistence;
+
+/**
+ * Makes search box input safe to embed in a {@code like} or {@code ilike} pattern.
+ * <p>
+ * The queries that use it declare {@code escape '\'}, so the escaped input matches only itself:
+ * a {@code %} or {@code _} typed into the search box is not a wildcard.
+ */
+public final class LikePatterns {
+
+    private LikePatterns() {
+    }
+
+    /**
+     * Returns {@code input} with {@code \}, {@code %} and {@code _} each preceded by {@code \}.
+     */
+    public static String escape(String input) {
+        if (input == null) {
+            return null;
+        }
+        StringBuilder escaped = new StringBuilder(input.length() + 8);
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (c == '\\' || c == '%' || c == '_') {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
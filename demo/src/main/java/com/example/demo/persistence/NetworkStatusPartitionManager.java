@@ -0,0 +1,155 @@
+package com.example.demo.persistence;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.config.NetworkStatusPartitionProperties;
+import com.example.demo.config.NetworkStatusPartitionProperties.RetentionAction;
+
+/**
+ * Keeps the monthly range partitions of {@code network_statuses} in step with the calendar.
+ * <p>
+ * Partitions are named {@code network_statuses_pYYYY_MM} and cover {@code [first of month, first
+ * of next month)} of {@code update_date}. Every run creates any missing partitions for the whole
+ * window from the oldest retained month through {@code premakeMonths} ahead of the current one, so
+ * a late reading for a past month finds its partition as well as a current one. There is no
+ * default partition; {@link #covers} tells writers whether a date falls into the window the last
+ * run guaranteed, so a date outside it can be rejected up front. It also expires every partition
+ * whose whole month is older than {@code retentionMonths} complete months before the current one.
+ * Expiring a month drops or detaches its partition, which is a catalog change instead of a DELETE
+ * of each row. The link rows of that month go in the same transaction, because the link table
+ * cannot hold a foreign key into a partitioned table.
+ */
+public class NetworkStatusPartitionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(NetworkStatusPartitionManager.class);
+
+    static final String TABLE = "network_statuses";
+    private static final String LINK_TABLE = "network_status_service_availability";
+    private static final DateTimeFormatter MONTH_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final Pattern PARTITION_NAME = Pattern.compile(TABLE + "_p(\\d{4})_(\\d{2})");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final NetworkStatusPartitionProperties properties;
+    private final Clock clock;
+
+    private volatile YearMonth firstCoveredMonth;
+    private volatile YearMonth lastCoveredMonth;
+
+    public NetworkStatusPartitionManager(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                         NetworkStatusPartitionProperties properties, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.network-status.partitions.cron:0 0 3 * * *}")
+    public void maintainPartitions() {
+        YearMonth currentMonth = YearMonth.now(clock);
+        List<String> created = createPartitions(currentMonth);
+        List<String> expired = expirePartitions(currentMonth);
+        if (!created.isEmpty() || !expired.isEmpty()) {
+            log.info("Network status partitions created: {}, expired ({}): {}",
+                    created, properties.retentionAction(), expired);
+        }
+    }
+
+    /**
+     * Creates the partitions from {@code retentionMonths} before {@code currentMonth} through
+     * {@code premakeMonths} after it that do not exist yet, and returns their names.
+     */
+    public List<String> createPartitions(YearMonth currentMonth) {
+        List<String> existing = existingPartitions();
+        List<String> created = new ArrayList<>();
+        YearMonth first = currentMonth.minusMonths(properties.retentionMonths());
+        YearMonth last = currentMonth.plusMonths(properties.premakeMonths());
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            String partition = partitionName(month);
+            if (!existing.contains(partition)) {
+                jdbcTemplate.execute("create table if not exists " + partition + " partition of " + TABLE
+                        + " for values from ('" + month.atDay(1) + "') to ('" + month.plusMonths(1).atDay(1) + "')");
+                created.add(partition);
+            }
+        }
+        firstCoveredMonth = first;
+        lastCoveredMonth = last;
+        return created;
+    }
+
+    /**
+     * Whether a row dated {@code updateDate} has a partition to go to: its month lies within the
+     * window the last run created, and has not been expired since. Before the first run every date
+     * is let through.
+     */
+    public boolean covers(LocalDateTime updateDate) {
+        YearMonth first = firstCoveredMonth;
+        YearMonth last = lastCoveredMonth;
+        if (first == null || last == null) {
+            return true;
+        }
+        YearMonth month = YearMonth.from(updateDate);
+        return !month.isBefore(first) && !month.isAfter(last);
+    }
+
+    /**
+     * Drops or detaches, as configured, every partition for a month before the retention window,
+     * each in its own transaction, and returns their names.
+     */
+    public List<String> expirePartitions(YearMonth currentMonth) {
+        YearMonth oldestRetained = currentMonth.minusMonths(properties.retentionMonths());
+        List<String> expired = new ArrayList<>();
+        for (String partition : existingPartitions()) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (month.isBefore(oldestRetained)) {
+                transactionTemplate.executeWithoutResult(status -> expire(partition));
+                expired.add(partition);
+            }
+        }
+        return expired;
+    }
+
+    static String partitionName(YearMonth month) {
+        return TABLE + "_p" + month.format(MONTH_SUFFIX);
+    }
+
+    private void expire(String partition) {
+        jdbcTemplate.update("delete from " + LINK_TABLE + " l using " + partition + " n where l.network_status_id = n.id");
+        if (properties.retentionAction() == RetentionAction.DETACH) {
+            jdbcTemplate.execute("alter table " + TABLE + " detach partition " + partition);
+        } else {
+            jdbcTemplate.execute("drop table " + partition);
+        }
+    }
+
+    private List<String> existingPartitions() {
+        return jdbcTemplate.queryForList("""
+                select c.relname
+                from pg_inherits i
+                join pg_class c on c.oid = i.inhrelid
+                join pg_class p on p.oid = i.inhparent
+                where p.relname = ?
+                order by c.relname""", String.class, TABLE);
+    }
+}
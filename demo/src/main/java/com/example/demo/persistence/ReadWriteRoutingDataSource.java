@@ -0,0 +1,114 @@
+package com.example.demo.persistence;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections for {@code @Transactional(readOnly = true)} work to a read replica and everything
+ * else to the primary.
+ * <p>
+ * The routing decision reads the transaction's read-only flag, which Spring only publishes after the
+ * transaction has begun, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} that defers fetching the
+ * physical connection until the first statement.
+ * <p>
+ * Inside a request, marked by {@link #beginRequest()}, a thread that has opened a read-write
+ * transaction stays on the primary until {@link #clearPrimaryPin()} ends the request, so a request
+ * that writes and then reads sees its own write regardless of replica lag. Threads that serve no
+ * request, such as scheduled jobs and background writers, are only pinned until the read-write
+ * transaction completes; otherwise their first write would keep them off the replicas for good.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private static final String PRIMARY = "primary";
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> IN_REQUEST = new ThreadLocal<>();
+
+    private final List<ReplicaDataSource> replicas;
+    private final ReplicaSelector replicaSelector;
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<ReplicaDataSource> replicas,
+                                      ReplicaSelector replicaSelector) {
+        this.replicas = List.copyOf(replicas);
+        this.replicaSelector = replicaSelector;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        this.replicas.forEach(replica -> targets.put(replica.getName(), replica));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Closes the replica pools; the primary is owned and closed by whoever created it.
+     */
+    @Override
+    public void destroy() throws Exception {
+        for (ReplicaDataSource replica : replicas) {
+            if (replica.getTargetDataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    public List<ReplicaDataSource> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Keeps the primary pin of the current thread past the end of its transactions until
+     * {@link #clearPrimaryPin()} is called.
+     */
+    public static void beginRequest() {
+        IN_REQUEST.set(Boolean.TRUE);
+    }
+
+    /**
+     * Releases the primary pin and ends the request begun by {@link #beginRequest()}.
+     */
+    public static void clearPrimaryPin() {
+        PINNED_TO_PRIMARY.remove();
+        IN_REQUEST.remove();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (!readOnly) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                pinToPrimary();
+            }
+            return PRIMARY;
+        }
+        if (replicas.isEmpty() || Boolean.TRUE.equals(PINNED_TO_PRIMARY.get())) {
+            return PRIMARY;
+        }
+        return replicaSelector.select(replicas).getName();
+    }
+
+    private static void pinToPrimary() {
+        if (Boolean.TRUE.equals(IN_REQUEST.get())) {
+            PINNED_TO_PRIMARY.set(Boolean.TRUE);
+            return;
+        }
+        if (Boolean.TRUE.equals(PINNED_TO_PRIMARY.get()) || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                PINNED_TO_PRIMARY.remove();
+            }
+        });
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.demo.persistence;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * A read replica that keeps an exponentially weighted moving average of the round-trip time of a
+ * probe query, so a {@link ReplicaSelector} can steer reads away from a slow or saturated replica.
+ * A probe takes its connection from the replica's pool like any read, so the time includes waiting
+ * for a free connection as well as the trip to the database and back. A replica whose probe fails
+ * counts as infinitely slow until a probe succeeds again.
+ */
+public class ReplicaDataSource extends DelegatingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaDataSource.class);
+
+    private static final double SMOOTHING = 0.2;
+    private static final int PROBE_TIMEOUT_SECONDS = 1;
+
+    private final String name;
+    private volatile double averageRoundTripNanos;
+
+    public ReplicaDataSource(String name, DataSource target) {
+        super(target);
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getAverageRoundTripNanos() {
+        return averageRoundTripNanos;
+    }
+
+    /**
+     * Runs {@code select 1} on the replica and records how long it took.
+     */
+    public void probe() {
+        long start = System.nanoTime();
+        try (Connection connection = getConnection(); Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(PROBE_TIMEOUT_SECONDS);
+            statement.execute("select 1");
+        } catch (SQLException e) {
+            log.warn("Probe of replica {} failed: {}", name, e.getMessage());
+            averageRoundTripNanos = Double.POSITIVE_INFINITY;
+            return;
+        }
+        record(System.nanoTime() - start);
+    }
+
+    private void record(long elapsedNanos) {
+        double current = averageRoundTripNanos;
+        averageRoundTripNanos = current == 0 || Double.isInfinite(current)
+                ? elapsedNanos
+                : current + SMOOTHING * (elapsedNanos - current);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.demo.persistence;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Probes every replica at a fixed interval for {@link ReplicaSelector#leastLatency()}. It runs on
+ * its own daemon thread rather than the shared scheduler, since a probe of an unreachable replica
+ * can wait for the pool's connection timeout.
+ */
+public class ReplicaLatencyProbe implements SmartLifecycle {
+
+    private final List<ReplicaDataSource> replicas;
+    private final long intervalMillis;
+
+    private volatile boolean running;
+    private Thread prober;
+
+    public ReplicaLatencyProbe(List<ReplicaDataSource> replicas, Duration interval) {
+        this.replicas = List.copyOf(replicas);
+        this.intervalMillis = interval.toMillis();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        prober = new Thread(this::run, "replica-latency-probe");
+        prober.setDaemon(true);
+        prober.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (prober != null) {
+            prober.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            replicas.forEach(ReplicaDataSource::probe);
+            try {
+                Thread.sleep(intervalMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+}
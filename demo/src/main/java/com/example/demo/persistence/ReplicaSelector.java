@@ -0,0 +1,29 @@
+package com.example.demo.persistence;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Picks the replica that serves the next read-only transaction.
+ */
+public interface ReplicaSelector {
+
+    ReplicaDataSource select(List<ReplicaDataSource> replicas);
+
+    static ReplicaSelector roundRobin() {
+        AtomicInteger next = new AtomicInteger();
+        return replicas -> replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+    }
+
+    /**
+     * Prefers the replica with the lowest average probe round-trip time, as measured by
+     * {@link ReplicaLatencyProbe}. A replica that has not been probed yet reports zero and is
+     * therefore tried first.
+     */
+    static ReplicaSelector leastLatency() {
+        return replicas -> replicas.stream()
+                .min(Comparator.comparingDouble(ReplicaDataSource::getAverageRoundTripNanos))
+                .orElseThrow();
+    }
+}
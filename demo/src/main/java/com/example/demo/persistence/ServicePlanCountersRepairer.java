@@ -0,0 +1,49 @@
+package com.example.demo.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.config.CacheNames;
+import com.example.demo.repository.ServicePlanCountersRepository;
+import com.example.demo.repository.ServicePlanRepository;
+
+/**
+ * Checks {@code service_plan_counters} against the membership and order tables and repairs the
+ * counters that drifted, one chunk of plan ids per transaction. The triggers keep the counters
+ * exact on their own; this catches anything that bypassed them.
+ */
+@Component
+public class ServicePlanCountersRepairer {
+
+    private static final Logger log = LoggerFactory.getLogger(ServicePlanCountersRepairer.class);
+
+    private final ServicePlanRepository servicePlanRepository;
+    private final ServicePlanCountersRepository servicePlanCountersRepository;
+    private final ChunkedBulkExecutor chunkedBulkExecutor;
+
+    public ServicePlanCountersRepairer(ServicePlanRepository servicePlanRepository,
+                                       ServicePlanCountersRepository servicePlanCountersRepository,
+                                       ChunkedBulkExecutor chunkedBulkExecutor) {
+        this.servicePlanRepository = servicePlanRepository;
+        this.servicePlanCountersRepository = servicePlanCountersRepository;
+        this.chunkedBulkExecutor = chunkedBulkExecutor;
+    }
+
+    /**
+     * Returns the number of counter rows that had to be repaired.
+     */
+    @CacheEvict(cacheNames = {CacheNames.SERVICE_PLAN_USER_COUNTS, CacheNames.SERVICE_PLAN_ORDER_COUNTS},
+            allEntries = true)
+    @Scheduled(cron = "${app.service-plan-counters.repair-cron:0 45 3 * * *}")
+    public int repair() {
+        int repaired = chunkedBulkExecutor.forEachIdRange(servicePlanRepository.findIdRange(),
+                servicePlanCountersRepository::repairCounters);
+        if (repaired > 0) {
+            log.warn("Repaired {} drifted service plan counters", repaired);
+        }
+        return repaired;
+    }
+}
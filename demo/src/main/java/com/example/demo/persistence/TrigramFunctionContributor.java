@@ -0,0 +1,30 @@
+package com.example.demo.persistence;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.query.sqm.function.SqmFunctionRegistry;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Makes the {@code pg_trgm} word similarity operator and function callable from JPQL, so fuzzy
+ * searches can stay constructor-expression queries in the repositories.
+ * <ul>
+ *     <li>{@code word_similar(query, column)} renders {@code query <% column}. It is true when some
+ *     run of words in {@code column} is at least {@code pg_trgm.word_similarity_threshold} similar
+ *     to {@code query}, and a trigram GIN index on {@code column} can answer it.</li>
+ *     <li>{@code word_similarity(query, column)} returns that similarity, between 0 and 1, for
+ *     ranking.</li>
+ * </ul>
+ * Both exist only on PostgreSQL with the {@code pg_trgm} extension.
+ */
+public class TrigramFunctionContributor implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        SqmFunctionRegistry functions = functionContributions.getFunctionRegistry();
+        BasicTypeRegistry types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+        functions.registerPattern("word_similar", "(?1 <% ?2)", types.resolve(StandardBasicTypes.BOOLEAN));
+        functions.registerPattern("word_similarity", "word_similarity(?1, ?2)", types.resolve(StandardBasicTypes.DOUBLE));
+    }
+}
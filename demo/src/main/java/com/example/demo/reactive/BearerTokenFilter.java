@@ -0,0 +1,57 @@
+package com.example.demo.reactive;
+
+import com.example.demo.security.AuthenticatedUser;
+import com.example.demo.security.JwtVerifier;
+import com.example.demo.security.TokenVersions;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import io.jsonwebtoken.JwtException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Requires a signed, unexpired and unrevoked bearer token, like the servlet API does. The token is
+ * checked on its own, without loading its user. The revocation check is usually answered from
+ * {@link TokenVersions}' cache; when it has to query the database it runs on a bounded elastic
+ * thread, so authentication never blocks an event loop thread on the database.
+ */
+class BearerTokenFilter implements HandlerFilterFunction<ServerResponse, ServerResponse> {
+
+    private static final String BEARER = "Bearer ";
+
+    private final JwtVerifier jwtVerifier;
+    private final TokenVersions tokenVersions;
+
+    BearerTokenFilter(JwtVerifier jwtVerifier, TokenVersions tokenVersions) {
+        this.jwtVerifier = jwtVerifier;
+        this.tokenVersions = tokenVersions;
+    }
+
+    @Override
+    public Mono<ServerResponse> filter(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        String header = request.headers().firstHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER)) {
+            return ServerResponse.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        AuthenticatedUser user;
+        try {
+            user = AuthenticatedUser.from(jwtVerifier.verify(header.substring(BEARER.length())));
+        } catch (JwtException | IllegalArgumentException e) {
+            return ServerResponse.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (user == null) {
+            return ServerResponse.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return Mono.fromCallable(() -> tokenVersions.isCurrent(user.id(), user.tokenVersion()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(current -> current
+                        ? next.handle(request)
+                        : ServerResponse.status(HttpStatus.UNAUTHORIZED).build());
+    }
+}
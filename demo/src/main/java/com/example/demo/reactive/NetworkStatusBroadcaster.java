@@ -0,0 +1,215 @@
+package com.example.demo.reactive;
+
+import com.example.demo.dto.NetworkStatusDto;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.demo.config.NetworkStatusStreamProperties;
+import com.example.demo.exception.SlowConsumerException;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Fans committed network status changes out to the subscribers of their region.
+ * <p>
+ * Publishing only queues the change, so a commit never waits for the fan-out. A single dispatcher
+ * thread hands each change to every subscriber of its region without blocking: each subscriber
+ * has a bounded buffer of {@code bufferSize} changes that its connection drains as fast as the
+ * client reads, and a subscriber whose buffer overflows is evicted right away with a
+ * {@link SlowConsumerException} rather than holding up the others or buffering without bound.
+ * <p>
+ * A change that moves a status to another region also reaches the subscribers of the region it
+ * left, carrying its new {@code regionId}, so they can drop it.
+ * <p>
+ * Changes made on other nodes are not seen; subscribers of a node only hear about the writes
+ * committed through it.
+ */
+public class NetworkStatusBroadcaster implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(NetworkStatusBroadcaster.class);
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final ConcurrentMap<Long, Set<Subscriber>> subscribersByRegion = new ConcurrentHashMap<>();
+    private final BlockingQueue<Delivery> queue;
+    private final int bufferSize;
+
+    private volatile boolean running;
+    private Thread dispatcher;
+
+    public NetworkStatusBroadcaster(NetworkStatusStreamProperties properties) {
+        this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+        this.bufferSize = properties.bufferSize();
+    }
+
+    /**
+     * The changes to the network statuses of {@code regionId} from the moment of subscription on.
+     * Ends with a {@link SlowConsumerException} once more than {@code bufferSize} changes are
+     * waiting for the subscriber.
+     */
+    public Flux<NetworkStatusDto> subscribe(Long regionId) {
+        return Flux.defer(() -> {
+            Subscriber subscriber = new Subscriber(
+                    Sinks.many().unicast().onBackpressureBuffer(new ArrayBlockingQueue<>(bufferSize)),
+                    Sinks.empty());
+            subscribersByRegion.compute(regionId, (id, subscribers) -> {
+                Set<Subscriber> updated = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+                updated.add(subscriber);
+                return updated;
+            });
+            // The eviction error overtakes whatever is still buffered.
+            return Flux.merge(1, subscriber.changes().asFlux(), subscriber.eviction().asMono())
+                    .doFinally(signal -> unsubscribe(regionId, subscriber));
+        });
+    }
+
+    /**
+     * Whether anyone at all is subscribed, so publishers can skip looking up what changed.
+     */
+    public boolean hasSubscribers() {
+        return !subscribersByRegion.isEmpty();
+    }
+
+    int subscriberCount(Long regionId) {
+        Set<Subscriber> subscribers = subscribersByRegion.get(regionId);
+        return subscribers != null ? subscribers.size() : 0;
+    }
+
+    /**
+     * Publishes {@code networkStatus} once the current transaction commits, or right away outside
+     * of one. Changes are dropped, not waited for, when the dispatcher falls behind.
+     */
+    public void publish(NetworkStatusDto networkStatus) {
+        publish(networkStatus, null);
+    }
+
+    /**
+     * Like {@link #publish(NetworkStatusDto)}, and also to the subscribers of
+     * {@code previousRegionId} when the change moved the status out of that region.
+     */
+    public void publish(NetworkStatusDto networkStatus, Long previousRegionId) {
+        if (!running) {
+            return;
+        }
+        List<Delivery> deliveries = Stream.of(networkStatus.regionId(), previousRegionId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .filter(subscribersByRegion::containsKey)
+                .map(regionId -> new Delivery(regionId, networkStatus))
+                .toList();
+        if (deliveries.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deliveries.forEach(NetworkStatusBroadcaster.this::enqueue);
+                }
+            });
+        } else {
+            deliveries.forEach(this::enqueue);
+        }
+    }
+
+    private void enqueue(Delivery delivery) {
+        if (!queue.offer(delivery)) {
+            log.warn("Network status broadcast queue is full, dropped change of network status {}", delivery.networkStatus().id());
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        dispatcher = new Thread(this::run, "network-status-broadcast");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    /**
+     * Completes every subscription, so open streams end instead of hanging until the server stops.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        if (dispatcher != null) {
+            try {
+                dispatcher.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        subscribersByRegion.values().forEach(subscribers -> subscribers.forEach(subscriber -> {
+            subscriber.changes().tryEmitComplete();
+            subscriber.eviction().tryEmitEmpty();
+        }));
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                Delivery delivery = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (delivery != null) {
+                    dispatch(delivery.regionId(), delivery.networkStatus());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    void dispatch(NetworkStatusDto networkStatus) {
+        dispatch(networkStatus.regionId(), networkStatus);
+    }
+
+    void dispatch(Long regionId, NetworkStatusDto networkStatus) {
+        Set<Subscriber> subscribers = subscribersByRegion.get(regionId);
+        if (subscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            Sinks.EmitResult result = subscriber.changes().tryEmitNext(networkStatus);
+            if (result == Sinks.EmitResult.FAIL_OVERFLOW) {
+                log.debug("Evicting a subscriber of region {} that fell {} changes behind", regionId, bufferSize);
+                subscriber.eviction().tryEmitError(new SlowConsumerException(
+                        "Subscriber of region " + regionId + " fell " + bufferSize + " changes behind"));
+                unsubscribe(regionId, subscriber);
+            } else if (result.isFailure()) {
+                unsubscribe(regionId, subscriber);
+            }
+        }
+    }
+
+    private void unsubscribe(Long regionId, Subscriber subscriber) {
+        subscribersByRegion.computeIfPresent(regionId, (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private record Delivery(Long regionId, NetworkStatusDto networkStatus) {
+    }
+
+    private record Subscriber(Sinks.Many<NetworkStatusDto> changes, Sinks.Empty<NetworkStatusDto> eviction) {
+    }
+}
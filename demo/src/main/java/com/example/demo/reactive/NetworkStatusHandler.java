@@ -0,0 +1,132 @@
+package com.example.demo.reactive;
+
+import com.example.demo.dto.NetworkStatusDto;
+import com.example.demo.security.JwtVerifier;
+import com.example.demo.security.TokenVersions;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * Reactive variants of the region and date range reads of
+ * {@link com.example.demo.controller.NetworkStatusController}, served on the same paths by
+ * {@link ReactiveHttpServer}. Results are written as a JSON array, or as newline-delimited JSON
+ * when the client accepts {@code application/x-ndjson}; either way each row is written as it
+ * arrives from the database and the query is only read as fast as the client consumes it.
+ * <p>
+ * {@code /stream?regionId=} replaces polling: it is a server-sent event stream of the region's
+ * network status changes as they are committed, published by {@link NetworkStatusBroadcaster}.
+ * A status moved to another region is sent to the stream of the region it left as a
+ * {@code network-status-removed} event.
+ * An open stream costs a connection and a small buffer, not a thread.
+ */
+public class NetworkStatusHandler {
+
+    static final String CHANGE_EVENT = "network-status";
+    static final String REMOVAL_EVENT = "network-status-removed";
+
+    private final ReactiveNetworkStatusRepository repository;
+    private final NetworkStatusBroadcaster broadcaster;
+    private final JwtVerifier jwtVerifier;
+    private final TokenVersions tokenVersions;
+    private final Duration heartbeatInterval;
+
+    public NetworkStatusHandler(ReactiveNetworkStatusRepository repository, NetworkStatusBroadcaster broadcaster,
+                                JwtVerifier jwtVerifier, TokenVersions tokenVersions, Duration heartbeatInterval) {
+        this.repository = repository;
+        this.broadcaster = broadcaster;
+        this.jwtVerifier = jwtVerifier;
+        this.tokenVersions = tokenVersions;
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    public RouterFunction<ServerResponse> routes() {
+        return route()
+                .path("/api/network-statuses", builder -> builder
+                        .GET("/region/{regionId}", this::getNetworkStatusesByRegion)
+                        .GET("/date-range", this::getNetworkStatusesByDateRange)
+                        .GET("/stream", this::streamNetworkStatuses))
+                .filter(new BearerTokenFilter(jwtVerifier, tokenVersions))
+                .build();
+    }
+
+    Mono<ServerResponse> getNetworkStatusesByRegion(ServerRequest request) {
+        Long regionId;
+        Optional<LocalDateTime> since;
+        try {
+            regionId = Long.valueOf(request.pathVariable("regionId"));
+            since = request.queryParam("since").map(LocalDateTime::parse);
+        } catch (NumberFormatException | DateTimeParseException e) {
+            return ServerResponse.badRequest().build();
+        }
+        return stream(request, since
+                .map(value -> repository.findDtosByRegionIdSince(regionId, value))
+                .orElseGet(() -> repository.findDtosByRegionId(regionId)));
+    }
+
+    Mono<ServerResponse> getNetworkStatusesByDateRange(ServerRequest request) {
+        Optional<String> startDate = request.queryParam("startDate");
+        Optional<String> endDate = request.queryParam("endDate");
+        if (startDate.isEmpty() || endDate.isEmpty()) {
+            return ServerResponse.badRequest().build();
+        }
+        try {
+            return stream(request, repository.findDtosByUpdateDateBetween(
+                    LocalDateTime.parse(startDate.get()), LocalDateTime.parse(endDate.get())));
+        } catch (DateTimeParseException e) {
+            return ServerResponse.badRequest().build();
+        }
+    }
+
+    /**
+     * Streams open with a heartbeat comment, which sends the response headers right away, and get
+     * another one every {@code heartbeatInterval}, so connections that went away without closing
+     * are noticed and their subscriptions dropped. The stream ends with an error
+     * when the client falls too far behind; clients are expected to reconnect.
+     */
+    Mono<ServerResponse> streamNetworkStatuses(ServerRequest request) {
+        Optional<Long> regionParam;
+        try {
+            regionParam = request.queryParam("regionId").map(Long::valueOf);
+        } catch (NumberFormatException e) {
+            return ServerResponse.badRequest().build();
+        }
+        if (regionParam.isEmpty()) {
+            return ServerResponse.badRequest().build();
+        }
+        Long regionId = regionParam.get();
+        Flux<ServerSentEvent<NetworkStatusDto>> heartbeats = Flux.interval(Duration.ZERO, heartbeatInterval)
+                .onBackpressureDrop()
+                .map(tick -> ServerSentEvent.<NetworkStatusDto>builder().comment("heartbeat").build());
+        Flux<ServerSentEvent<NetworkStatusDto>> events = broadcaster.subscribe(regionId)
+                .map(networkStatus -> ServerSentEvent.builder(networkStatus)
+                        .id(String.valueOf(networkStatus.id()))
+                        .event(regionId.equals(networkStatus.regionId()) ? CHANGE_EVENT : REMOVAL_EVENT)
+                        .build())
+                .publish(changes -> Flux.merge(changes, heartbeats.takeUntilOther(changes.then())));
+        return ServerResponse.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(BodyInserters.fromServerSentEvents(events));
+    }
+
+    private static Mono<ServerResponse> stream(ServerRequest request, Flux<NetworkStatusDto> networkStatuses) {
+        MediaType contentType = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok().contentType(contentType).body(networkStatuses, NetworkStatusDto.class);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.demo.reactive;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Read-only R2DBC view of a {@code network_statuses} row, the domain type of
+ * {@link ReactiveNetworkStatusRepository}. The JPA {@link com.example.demo.model.NetworkStatus}
+ * entity stays the only type that writes.
+ */
+@Table("network_statuses")
+public record NetworkStatusRow(
+        @Id Long id,
+        String status,
+        LocalDateTime updateDate,
+        Long regionId) {
+}
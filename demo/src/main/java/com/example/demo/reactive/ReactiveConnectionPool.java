@@ -0,0 +1,52 @@
+package com.example.demo.reactive;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+
+/**
+ * The R2DBC connection pool of the reactive read path, configured from the standard
+ * {@code spring.r2dbc.*} properties.
+ * <p>
+ * Deliberately not a {@link ConnectionFactory} bean itself: Spring Boot backs off from
+ * configuring the JDBC datasource as soon as one exists.
+ */
+public class ReactiveConnectionPool implements DisposableBean {
+
+    private final ConnectionPool connectionPool;
+
+    public ReactiveConnectionPool(R2dbcProperties properties) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(properties.getUrl()).mutate();
+        if (properties.getUsername() != null) {
+            options.option(ConnectionFactoryOptions.USER, properties.getUsername());
+        }
+        if (properties.getPassword() != null) {
+            options.option(ConnectionFactoryOptions.PASSWORD, properties.getPassword());
+        }
+        R2dbcProperties.Pool pool = properties.getPool();
+        ConnectionPoolConfiguration.Builder configuration = ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options.build()))
+                .name("reactive")
+                .initialSize(pool.getInitialSize())
+                .maxSize(pool.getMaxSize())
+                .maxIdleTime(pool.getMaxIdleTime());
+        if (pool.getMaxAcquireTime() != null) {
+            configuration.maxAcquireTime(pool.getMaxAcquireTime());
+        }
+        this.connectionPool = new ConnectionPool(configuration.build());
+    }
+
+    public ConnectionFactory connectionFactory() {
+        return connectionPool;
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.demo.reactive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Runs a reactive handler on its own Netty server next to the servlet container. An application
+ * is either a servlet or a reactive web application as far as Spring Boot is concerned, so the
+ * reactive routes get a port of their own and a fixed, small set of event loop threads that do
+ * not compete with the servlet request threads.
+ * <p>
+ * It starts and stops together with the servlet container.
+ */
+public class ReactiveHttpServer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveHttpServer.class);
+
+    private final HttpHandler httpHandler;
+    private final int port;
+    private final int eventLoopThreads;
+
+    private LoopResources loopResources;
+    private volatile DisposableServer server;
+
+    public ReactiveHttpServer(HttpHandler httpHandler, int port, int eventLoopThreads) {
+        this.httpHandler = httpHandler;
+        this.port = port;
+        this.eventLoopThreads = eventLoopThreads;
+    }
+
+    /**
+     * The port actually bound, which differs from the configured one when that was 0.
+     */
+    public int getPort() {
+        return server.port();
+    }
+
+    @Override
+    public void start() {
+        loopResources = LoopResources.create("reactive-http", 1, eventLoopThreads, true);
+        server = HttpServer.create()
+                .port(port)
+                .runOn(loopResources)
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        log.info("Reactive HTTP server started on port {} with {} event loop threads", server.port(), eventLoopThreads);
+    }
+
+    @Override
+    public void stop() {
+        if (server == null) {
+            return;
+        }
+        server.disposeNow();
+        loopResources.disposeLater().block();
+        server = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.demo.reactive;
+
+import com.example.demo.dto.NetworkStatusDto;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Non-blocking counterparts of the region and date range queries on
+ * {@link com.example.demo.repository.NetworkStatusRepository}. Rows are emitted as the driver
+ * decodes them and only as fast as the subscriber requests them.
+ */
+public interface ReactiveNetworkStatusRepository extends R2dbcRepository<NetworkStatusRow, Long> {
+
+    String SELECT_DTO = "select id, status, update_date, region_id from network_statuses";
+
+    @Query(SELECT_DTO + " where region_id = :regionId order by id")
+    Flux<NetworkStatusDto> findDtosByRegionId(Long regionId);
+
+    /**
+     * Bounded by {@code update_date}, the partition key, so only the partitions from {@code since}
+     * onwards are scanned.
+     */
+    @Query(SELECT_DTO + " where region_id = :regionId and update_date >= :since order by id")
+    Flux<NetworkStatusDto> findDtosByRegionIdSince(Long regionId, LocalDateTime since);
+
+    @Query(SELECT_DTO + " where update_date between :startDate and :endDate order by id")
+    Flux<NetworkStatusDto> findDtosByUpdateDateBetween(LocalDateTime startDate, LocalDateTime endDate);
+
+}
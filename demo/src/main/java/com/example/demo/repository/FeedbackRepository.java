@@ -1,18 +1,59 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.FeedbackDto;
 import com.example.demo.model.Feedback;
-import com.example.demo.model.ServicePlan;
-import com.example.demo.model.User;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
-    List<Feedback> findAllByRating(int rating);
-    List<Feedback> findAllByRatingBetween(int minRating, int maxRating);
-    List<Feedback> findAllByUser(User user);
-    List<Feedback> findAllByServicePlan(ServicePlan servicePlan);
+
+    String SELECT_DTO = "select new com.example.demo.dto.FeedbackDto(f.id, f.feedbackText, f.rating, f.submittedDate, f.user.id, f.servicePlan.id) from Feedback f";
+
+    @Override
+    @EntityGraph(Feedback.WITH_USER_AND_SERVICE_PLAN)
+    List<Feedback> findAll();
+
+    @Override
+    @EntityGraph(Feedback.WITH_USER_AND_SERVICE_PLAN)
+    Optional<Feedback> findById(Long id);
+
+    @Query(SELECT_DTO + " order by f.id")
+    List<FeedbackDto> findAllDtos();
+
+    @Query(value = SELECT_DTO, countQuery = "select count(f) from Feedback f")
+    Page<FeedbackDto> findDtos(Pageable pageable);
+
+    @Query(SELECT_DTO + " where f.id = :id")
+    Optional<FeedbackDto> findDtoById(Long id);
+
+    @Query(SELECT_DTO + " where f.rating = :rating order by f.id")
+    List<FeedbackDto> findDtosByRating(int rating);
+
+    @Query(SELECT_DTO + " where f.rating between :minRating and :maxRating order by f.id")
+    List<FeedbackDto> findDtosByRatingBetween(int minRating, int maxRating);
+
+    @Query(SELECT_DTO + " where f.user.id = :userId order by f.id")
+    List<FeedbackDto> findDtosByUserId(Long userId);
+
+    @Query(SELECT_DTO + " where f.servicePlan.id = :servicePlanId order by f.id")
+    List<FeedbackDto> findDtosByServicePlanId(Long servicePlanId);
+
+    @Query(SELECT_DTO + " where f.id > :afterId order by f.id")
+    List<FeedbackDto> findDtoPage(Long afterId, Limit limit);
+
+    @Query(SELECT_DTO + " where f.user.id = :userId and f.id > :afterId order by f.id")
+    List<FeedbackDto> findDtoPageByUserId(Long userId, Long afterId, Limit limit);
+
+    @Query(SELECT_DTO + " where f.servicePlan.id = :servicePlanId and f.id > :afterId order by f.id")
+    List<FeedbackDto> findDtoPageByServicePlanId(Long servicePlanId, Long afterId, Limit limit);
 }
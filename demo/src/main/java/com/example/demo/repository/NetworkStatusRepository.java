@@ -1,16 +1,79 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.NetworkStatusDto;
 import com.example.demo.model.NetworkStatus;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+public interface NetworkStatusRepository extends JpaRepository<NetworkStatus, Long>, NetworkStatusRepositoryCustom {
+
+    String SELECT_DTO = "select new com.example.demo.dto.NetworkStatusDto(n.id, n.status, n.updateDate, n.region.id) from NetworkStatus n";
+
+    @Override
+    @EntityGraph(NetworkStatus.WITH_REGION)
+    List<NetworkStatus> findAll();
+
+    @Override
+    @EntityGraph(NetworkStatus.WITH_REGION)
+    Optional<NetworkStatus> findById(Long id);
+
+    @Query(SELECT_DTO + " order by n.id")
+    List<NetworkStatusDto> findAllDtos();
+
+    @Query(SELECT_DTO + " where n.id = :id")
+    Optional<NetworkStatusDto> findDtoById(Long id);
+
+    @Query(SELECT_DTO + " where n.id in :ids order by n.id")
+    List<NetworkStatusDto> findDtosByIdIn(Collection<Long> ids);
+
+    @Query(SELECT_DTO + " where n.region.id = :regionId order by n.id")
+    List<NetworkStatusDto> findDtosByRegionId(Long regionId);
+
+    /**
+     * Bounded by {@code updateDate}, the partition key, so only the partitions from {@code since}
+     * onwards are scanned.
+     */
+    @Query(SELECT_DTO + " where n.region.id = :regionId and n.updateDate >= :since order by n.id")
+    List<NetworkStatusDto> findDtosByRegionIdSince(Long regionId, LocalDateTime since);
+
+    @Query(SELECT_DTO + " where n.updateDate between :startDate and :endDate order by n.id")
+    List<NetworkStatusDto> findDtosByUpdateDateBetween(LocalDateTime startDate, LocalDateTime endDate);
+
+    @Query(SELECT_DTO + " join n.serviceAvailabilities sa where sa.id = :serviceAvailabilityId order by n.id")
+    List<NetworkStatusDto> findDtosByServiceAvailabilityId(Long serviceAvailabilityId);
+
+    @Query(SELECT_DTO + " where n.id > :afterId order by n.id")
+    List<NetworkStatusDto> findDtoPage(Long afterId, Limit limit);
+
+    @Query(SELECT_DTO + " where n.region.id = :regionId and n.id > :afterId order by n.id")
+    List<NetworkStatusDto> findDtoPageByRegionId(Long regionId, Long afterId, Limit limit);
+
+    @Query(SELECT_DTO + " where n.region.id = :regionId and n.updateDate >= :since and n.id > :afterId order by n.id")
+    List<NetworkStatusDto> findDtoPageByRegionIdSince(Long regionId, LocalDateTime since, Long afterId, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(SELECT_DTO + " order by n.id")
+    Stream<NetworkStatusDto> streamAllForExport();
 
-public interface NetworkStatusRepository extends JpaRepository<NetworkStatus, Long> {
+    /**
+     * Single set-based UPDATE; bypasses the auditing listener, so the modification time is passed in.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update NetworkStatus n set n.status = :status, n.lastModifiedDate = :modifiedAt where n.id in :ids")
+    int updateStatusByIdIn(Collection<Long> ids, String status, LocalDateTime modifiedAt);
 
-    List<NetworkStatus> findByRegionId(Long regionId);
-    List<NetworkStatus> findByUpdateDateBetween(LocalDateTime startDate, LocalDateTime endDate);
-    List<NetworkStatus> findByServiceAvailabilitiesId(Long serviceAvailabilityId);
-    List<NetworkStatus> findAllById(List<Long> ids);
 }
@@ -0,0 +1,13 @@
+package com.example.demo.repository;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public interface NetworkStatusRepositoryCustom {
+
+    /**
+     * Sets a different status on each id in one {@code UPDATE ... FROM (VALUES ...)} statement.
+     * Returns the number of rows updated.
+     */
+    int updateStatuses(Map<Long, String> statusesById, LocalDateTime modifiedAt);
+}
@@ -0,0 +1,43 @@
+package com.example.demo.repository;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import org.hibernate.jpa.HibernateHints;
+
+class NetworkStatusRepositoryImpl implements NetworkStatusRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int updateStatuses(Map<Long, String> statusesById, LocalDateTime modifiedAt) {
+        if (statusesById.isEmpty()) {
+            return 0;
+        }
+        StringJoiner values = new StringJoiner(", ");
+        for (int i = 0; i < statusesById.size(); i++) {
+            values.add("(cast(?" + (2 * i + 2) + " as bigint), ?" + (2 * i + 3) + ")");
+        }
+        Query update = entityManager.createNativeQuery(
+                "update network_statuses n set status = v.status, last_modified_date = ?1"
+                        + " from (values " + values + ") as v(id, status)"
+                        + " where n.id = v.id");
+        update.setHint(HibernateHints.HINT_NATIVE_SPACES, "network_statuses");
+        update.setParameter(1, modifiedAt);
+        int position = 2;
+        for (Map.Entry<Long, String> entry : statusesById.entrySet()) {
+            update.setParameter(position++, entry.getKey());
+            update.setParameter(position++, entry.getValue());
+        }
+        entityManager.flush();
+        int updated = update.executeUpdate();
+        entityManager.clear();
+        return updated;
+    }
+}
@@ -1,20 +1,60 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.OrderDto;
 import com.example.demo.model.Order;
-import com.example.demo.model.ServicePlan;
-import com.example.demo.model.User;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
-    List<Order> findByUser(User user);
-    List<Order> findByServicePlan(ServicePlan servicePlan);
-    List<Order> findByOrderDateBetween(LocalDateTime startDate, LocalDateTime endDate);
+    String SELECT_DTO = "select new com.example.demo.dto.OrderDto(o.id, o.orderDate, o.totalAmount, o.user.id, o.servicePlan.id) from Order o";
 
-  
-}
+    @Override
+    @EntityGraph(Order.WITH_USER_AND_SERVICE_PLAN)
+    List<Order> findAll();
+
+    @Override
+    @EntityGraph(Order.WITH_USER_AND_SERVICE_PLAN)
+    Optional<Order> findById(Long id);
+
+    @Query(SELECT_DTO + " order by o.id")
+    List<OrderDto> findAllDtos();
+
+    @Query(SELECT_DTO + " where o.id = :id")
+    Optional<OrderDto> findDtoById(Long id);
+
+    @Query(SELECT_DTO + " where o.user.id = :userId order by o.id")
+    List<OrderDto> findDtosByUserId(Long userId);
+
+    @Query(SELECT_DTO + " where o.servicePlan.id = :servicePlanId order by o.id")
+    List<OrderDto> findDtosByServicePlanId(Long servicePlanId);
 
+    @Query(SELECT_DTO + " where o.orderDate between :startDate and :endDate order by o.id")
+    List<OrderDto> findDtosByOrderDateBetween(LocalDateTime startDate, LocalDateTime endDate);
+
+    @Query(SELECT_DTO + " where o.id > :afterId order by o.id")
+    List<OrderDto> findDtoPage(Long afterId, Limit limit);
+
+    @Query(SELECT_DTO + " where o.user.id = :userId and o.id > :afterId order by o.id")
+    List<OrderDto> findDtoPageByUserId(Long userId, Long afterId, Limit limit);
+
+    @Query(SELECT_DTO + " where o.servicePlan.id = :servicePlanId and o.id > :afterId order by o.id")
+    List<OrderDto> findDtoPageByServicePlanId(Long servicePlanId, Long afterId, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(SELECT_DTO + " order by o.id")
+    Stream<OrderDto> streamAllForExport();
+
+}
@@ -1,21 +1,65 @@
 package com.example.demo.repository;
 
-import com.example.demo.model.Order;
+import com.example.demo.dto.PaymentDto;
 import com.example.demo.model.Payment;
-import com.example.demo.model.User;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
 
-    List<Payment> findByPaymentDateBetween(LocalDateTime startDate, LocalDateTime endDate);
-    List<Payment> findByOrder(Order order);
-    List<Payment> findByUser(User user);
-    List<Payment> findByAmountBetween(Double minAmount, Double maxAmount);
-    
+    String SELECT_DTO = "select new com.example.demo.dto.PaymentDto(p.id, p.amount, p.paymentDate, p.user.id, p.order.id) from Payment p";
+
+    @Override
+    @EntityGraph(Payment.WITH_USER_AND_ORDER)
+    List<Payment> findAll();
+
+    @Override
+    @EntityGraph(Payment.WITH_USER_AND_ORDER)
+    Optional<Payment> findById(Long id);
+
+    @Query(SELECT_DTO + " order by p.id")
+    List<PaymentDto> findAllDtos();
+
+    @Query(SELECT_DTO + " where p.id = :id")
+    Optional<PaymentDto> findDtoById(Long id);
+
+    @Query(SELECT_DTO + " where p.paymentDate between :startDate and :endDate order by p.id")
+    List<PaymentDto> findDtosByPaymentDateBetween(LocalDateTime startDate, LocalDateTime endDate);
+
+    @Query(SELECT_DTO + " where p.order.id = :orderId order by p.id")
+    List<PaymentDto> findDtosByOrderId(Long orderId);
+
+    @Query(SELECT_DTO + " where p.user.id = :userId order by p.id")
+    List<PaymentDto> findDtosByUserId(Long userId);
+
+    @Query(SELECT_DTO + " where p.amount between :minAmount and :maxAmount order by p.id")
+    List<PaymentDto> findDtosByAmountBetween(Double minAmount, Double maxAmount);
+
+    @Query(SELECT_DTO + " where p.id > :afterId order by p.id")
+    List<PaymentDto> findDtoPage(Long afterId, Limit limit);
+
+    @Query(SELECT_DTO + " where p.user.id = :userId and p.id > :afterId order by p.id")
+    List<PaymentDto> findDtoPageByUserId(Long userId, Long afterId, Limit limit);
+
+    @Query(SELECT_DTO + " where p.order.id = :orderId and p.id > :afterId order by p.id")
+    List<PaymentDto> findDtoPageByOrderId(Long orderId, Long afterId, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(SELECT_DTO + " order by p.id")
+    Stream<PaymentDto> streamAllForExport();
+
 }
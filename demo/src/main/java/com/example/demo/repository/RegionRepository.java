@@ -1,16 +1,54 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.RegionDto;
 import com.example.demo.model.Region;
+import com.example.demo.persistence.LikePatterns;
 
 import java.util.List;
+import java.util.Optional;
 
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface RegionRepository extends JpaRepository<Region, Long> {
 
-    List<Region> findByDescriptionIgnoreCaseContaining(String description);
-    List<Region> findByNameIgnoreCaseContaining(String name);
+    String SELECT_DTO = "select new com.example.demo.dto.RegionDto(r.id, r.name, r.description) from Region r";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SELECT_DTO + " order by r.id")
+    List<RegionDto> findAllDtos();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SELECT_DTO + " where r.id = :id")
+    Optional<RegionDto> findDtoById(Long id);
+
+    /**
+     * Descriptions containing {@code query} or similar enough to it to survive a typo, most
+     * similar first. {@code escapedQuery} is {@code query} passed through {@link LikePatterns#escape}.
+     */
+    @Query(SELECT_DTO + " where r.description ilike concat('%', :escapedQuery, '%') escape '\\'"
+            + " or word_similar(:query, r.description)"
+            + " order by word_similarity(:query, r.description) desc, r.id")
+    List<RegionDto> searchDtosByDescription(String query, String escapedQuery, Limit limit);
+
+    /**
+     * Names containing {@code query} or similar enough to it to survive a typo, most similar
+     * first. Both conditions are answered by the trigram index on {@code name}.
+     * {@code escapedQuery} is {@code query} passed through {@link LikePatterns#escape}.
+     */
+    @Query(SELECT_DTO + " where r.name ilike concat('%', :escapedQuery, '%') escape '\\'"
+            + " or word_similar(:query, r.name)"
+            + " order by word_similarity(:query, r.name) desc, r.id")
+    List<RegionDto> searchDtosByName(String query, String escapedQuery, Limit limit);
+
+    @Query(SELECT_DTO + " where r.id > :afterId order by r.id")
+    List<RegionDto> findDtoPage(Long afterId, Limit limit);
    
 }
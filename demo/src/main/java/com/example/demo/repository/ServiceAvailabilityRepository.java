@@ -1,18 +1,82 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.ServiceAvailabilityDto;
 import com.example.demo.model.ServiceAvailability;
+import com.example.demo.persistence.IdRange;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ServiceAvailabilityRepository extends JpaRepository<ServiceAvailability, Long> {
 
-    List<ServiceAvailability> findByAvailabilityStatus(String status);
-    List<ServiceAvailability> findByAvailabilityDateBetween(LocalDateTime startDate, LocalDateTime endDate);
-    void deleteByAvailabilityStatus(String status);
+    String SELECT_DTO = "select new com.example.demo.dto.ServiceAvailabilityDto(sa.id, sa.availabilityStatus, sa.availabilityDate) from ServiceAvailability sa";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SELECT_DTO + " order by sa.id")
+    List<ServiceAvailabilityDto> findAllDtos();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SELECT_DTO + " order by sa.availabilityDate")
+    List<ServiceAvailabilityDto> findAllDtosSortedByDate();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SELECT_DTO + " where sa.id = :id")
+    Optional<ServiceAvailabilityDto> findDtoById(Long id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SELECT_DTO + " where sa.availabilityStatus = :status order by sa.id")
+    List<ServiceAvailabilityDto> findDtosByAvailabilityStatus(String status);
+
+    @Query(SELECT_DTO + " where sa.availabilityDate between :startDate and :endDate order by sa.id")
+    List<ServiceAvailabilityDto> findDtosByAvailabilityDateBetween(LocalDateTime startDate, LocalDateTime endDate);
+
+    @Query("select new com.example.demo.persistence.IdRange(min(sa.id), max(sa.id)) from ServiceAvailability sa where sa.availabilityStatus = :status")
+    IdRange findIdRangeByAvailabilityStatus(String status);
+
+    /**
+     * Deletes the matching rows with {@code fromId <= id <= toId} in three set-based statements,
+     * clearing their join-table links first since bulk deletes do not cascade.
+     */
+    default int deleteByAvailabilityStatusAndIdBetween(String status, long fromId, long toId) {
+        deleteNetworkStatusLinks(status, fromId, toId);
+        deleteServicePlanLinks(status, fromId, toId);
+        return deleteRows(status, fromId, toId);
+    }
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "network_status_service_availability"))
+    @Query(value = "delete from network_status_service_availability where service_availability_id in "
+            + "(select id from service_availabilities where availability_status = :status and id between :fromId and :toId)",
+            nativeQuery = true)
+    int deleteNetworkStatusLinks(String status, long fromId, long toId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "service_plan_availability"))
+    @Query(value = "delete from service_plan_availability where service_availability_id in "
+            + "(select id from service_availabilities where availability_status = :status and id between :fromId and :toId)",
+            nativeQuery = true)
+    int deleteServicePlanLinks(String status, long fromId, long toId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from ServiceAvailability sa where sa.availabilityStatus = :status and sa.id between :fromId and :toId")
+    int deleteRows(String status, long fromId, long toId);
+
+    @Query(SELECT_DTO + " where sa.id > :afterId order by sa.id")
+    List<ServiceAvailabilityDto> findDtoPage(Long afterId, Limit limit);
+
+    @Query(SELECT_DTO + " where sa.availabilityStatus = :status and sa.id > :afterId order by sa.id")
+    List<ServiceAvailabilityDto> findDtoPageByAvailabilityStatus(String status, Long afterId, Limit limit);
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,10 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.ServicePlanCounters;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ServicePlanCountersRepository extends JpaRepository<ServicePlanCounters, Long>, ServicePlanCountersRepositoryCustom {
+}
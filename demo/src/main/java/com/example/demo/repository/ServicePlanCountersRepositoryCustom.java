@@ -0,0 +1,11 @@
+package com.example.demo.repository;
+
+public interface ServicePlanCountersRepositoryCustom {
+
+    /**
+     * Recounts the subscribers and orders of every service plan with an id in
+     * {@code [fromServicePlanId, toServicePlanId]} and corrects the counters that drifted. Returns
+     * the number of counter rows updated or inserted. Must run in a transaction.
+     */
+    int repairCounters(long fromServicePlanId, long toServicePlanId);
+}
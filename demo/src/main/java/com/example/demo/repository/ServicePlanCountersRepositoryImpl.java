@@ -0,0 +1,53 @@
+package com.example.demo.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import org.hibernate.jpa.HibernateHints;
+
+class ServicePlanCountersRepositoryImpl implements ServicePlanCountersRepositoryCustom {
+
+    private static final String ACTUAL_COUNTS = "select sp.id as service_plan_id,"
+            + " (select count(*) from user_service_plans usp where usp.service_plan_id = sp.id) as user_count,"
+            + " (select count(*) from orders o where o.service_plan_id = sp.id) as order_count"
+            + " from service_plans sp"
+            + " where sp.id between :fromServicePlanId and :toServicePlanId";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Locks the counter rows of the range before counting, so a concurrent membership or order
+     * change either committed before the count, or its trigger waits for this transaction and
+     * applies its increment on top of the repaired value.
+     */
+    @Override
+    public int repairCounters(long fromServicePlanId, long toServicePlanId) {
+        range(entityManager.createNativeQuery("select service_plan_id from service_plan_counters"
+                + " where service_plan_id between :fromServicePlanId and :toServicePlanId"
+                + " order by service_plan_id for update"), fromServicePlanId, toServicePlanId)
+                .getResultList();
+        int updated = range(entityManager.createNativeQuery("update service_plan_counters c"
+                + " set user_count = a.user_count, order_count = a.order_count"
+                + " from (" + ACTUAL_COUNTS + ") a"
+                + " where c.service_plan_id = a.service_plan_id"
+                + " and (c.user_count, c.order_count) is distinct from (a.user_count, a.order_count)"),
+                fromServicePlanId, toServicePlanId)
+                .executeUpdate();
+        int inserted = range(entityManager.createNativeQuery("insert into service_plan_counters"
+                + " (service_plan_id, user_count, order_count)"
+                + " select a.service_plan_id, a.user_count, a.order_count"
+                + " from (" + ACTUAL_COUNTS + ") a"
+                + " where not exists (select 1 from service_plan_counters c where c.service_plan_id = a.service_plan_id)"
+                + " on conflict (service_plan_id) do nothing"), fromServicePlanId, toServicePlanId)
+                .executeUpdate();
+        return updated + inserted;
+    }
+
+    private static Query range(Query query, long fromServicePlanId, long toServicePlanId) {
+        return query.setHint(HibernateHints.HINT_NATIVE_SPACES, "service_plan_counters")
+                .setParameter("fromServicePlanId", fromServicePlanId)
+                .setParameter("toServicePlanId", toServicePlanId);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.ServicePlanRating;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ServicePlanRatingRepository extends JpaRepository<ServicePlanRating, Long> {
+
+    @Query("select r from ServicePlanRating r order by r.servicePlanId")
+    List<ServicePlanRating> findAllOrderByServicePlanId();
+}
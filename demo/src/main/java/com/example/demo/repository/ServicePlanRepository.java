@@ -1,17 +1,59 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.ServicePlanDto;
 import com.example.demo.model.ServicePlan;
+import com.example.demo.persistence.IdRange;
+import com.example.demo.persistence.LikePatterns;
 
 import java.util.List;
+import java.util.Optional;
 
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ServicePlanRepository extends JpaRepository<ServicePlan, Long> {
 
-    List<ServicePlan> findByNameContainingOrDescriptionContaining(String query, String query2);
+    String SELECT_DTO = "select new com.example.demo.dto.ServicePlanDto(sp.id, sp.name, sp.description) from ServicePlan sp";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SELECT_DTO + " order by sp.id")
+    List<ServicePlanDto> findAllDtos();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SELECT_DTO + " where sp.id = :id")
+    Optional<ServicePlanDto> findDtoById(Long id);
+
+    /**
+     * Plans whose name or description contains {@code query} or is similar enough to it to survive
+     * a typo, best match on either column first. {@code escapedQuery} is {@code query} passed
+     * through {@link LikePatterns#escape}.
+     */
+    @Query(SELECT_DTO + " where sp.name ilike concat('%', :escapedQuery, '%') escape '\\'"
+            + " or sp.description ilike concat('%', :escapedQuery, '%') escape '\\'"
+            + " or word_similar(:query, sp.name) or word_similar(:query, sp.description)"
+            + " order by greatest(word_similarity(:query, sp.name), word_similarity(:query, sp.description)) desc, sp.id")
+    List<ServicePlanDto> searchDtos(String query, String escapedQuery, Limit limit);
+
+    @Query(SELECT_DTO + " join sp.users u where u.id = :userId order by sp.id")
+    List<ServicePlanDto> findDtosByUserId(Long userId);
+
+    @Query("select coalesce(sum(c.userCount), 0) from ServicePlanCounters c where c.servicePlanId = :servicePlanId")
     long countUsersInServicePlan(Long servicePlanId);
+
+    @Query("select coalesce(sum(c.orderCount), 0) from ServicePlanCounters c where c.servicePlanId = :servicePlanId")
     long countOrdersInServicePlan(Long servicePlanId);
 
+    @Query("select new com.example.demo.persistence.IdRange(min(sp.id), max(sp.id)) from ServicePlan sp")
+    IdRange findIdRange();
+
+    @Query(SELECT_DTO + " where sp.id > :afterId order by sp.id")
+    List<ServicePlanDto> findDtoPage(Long afterId, Limit limit);
+
 }
@@ -1,21 +1,62 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.SupportTicketDto;
+import com.example.demo.dto.SupportTicketHourlyCount;
+import com.example.demo.dto.SupportTicketStatusCount;
 import com.example.demo.model.SupportTicket;
-import com.example.demo.model.User;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface SupportTicketRepository extends JpaRepository<SupportTicket, Long> {
+public interface SupportTicketRepository extends JpaRepository<SupportTicket, Long>, SupportTicketRepositoryCustom {
+
+    String SELECT_DTO = "select new com.example.demo.dto.SupportTicketDto(t.id, t.issueDescription, t.status, t.createdDate, t.user.id) from SupportTicket t";
 
-    List<SupportTicket> findByIssueDescriptionContainingIgnoreCase(String keyword);
     long countByStatus(String status);
-    List<SupportTicket> findByCreatedDateBetween(LocalDateTime startDate, LocalDateTime endDate);
-    List<SupportTicket> findByStatus(String status);
-    List<SupportTicket> findByUser(User user);
+
+    @Query("select new com.example.demo.dto.SupportTicketStatusCount(t.status, count(t)) from SupportTicket t group by t.status")
+    List<SupportTicketStatusCount> countGroupByStatus();
+
+    @Query("select new com.example.demo.dto.SupportTicketHourlyCount(truncate(t.createdDate, hour), count(t)) from SupportTicket t"
+            + " where t.createdDate >= :since group by truncate(t.createdDate, hour)")
+    List<SupportTicketHourlyCount> countCreatedPerHourSince(LocalDateTime since);
+
+    @Query("select min(t.createdDate) from SupportTicket t where t.status in :statuses")
+    Optional<LocalDateTime> findOldestCreatedDateByStatusIn(Collection<String> statuses);
+
+    @Query(SELECT_DTO + " order by t.id")
+    List<SupportTicketDto> findAllDtos();
+
+    @Query(SELECT_DTO + " where t.id = :id")
+    Optional<SupportTicketDto> findDtoById(Long id);
+
+    @Query(SELECT_DTO + " where lower(t.issueDescription) like lower(concat('%', :keyword, '%')) order by t.id")
+    List<SupportTicketDto> findDtosByIssueDescriptionContaining(String keyword);
+
+    @Query(SELECT_DTO + " where t.createdDate between :startDate and :endDate order by t.id")
+    List<SupportTicketDto> findDtosByCreatedDateBetween(LocalDateTime startDate, LocalDateTime endDate);
+
+    @Query(SELECT_DTO + " where t.status = :status order by t.id")
+    List<SupportTicketDto> findDtosByStatus(String status);
+
+    @Query(SELECT_DTO + " where t.user.id = :userId order by t.id")
+    List<SupportTicketDto> findDtosByUserId(Long userId);
+
+    @Query(SELECT_DTO + " where t.id > :afterId order by t.id")
+    List<SupportTicketDto> findDtoPage(Long afterId, Limit limit);
+
+    @Query(SELECT_DTO + " where t.status = :status and t.id > :afterId order by t.id")
+    List<SupportTicketDto> findDtoPageByStatus(String status, Long afterId, Limit limit);
+
+    @Query(SELECT_DTO + " where t.user.id = :userId and t.id > :afterId order by t.id")
+    List<SupportTicketDto> findDtoPageByUserId(Long userId, Long afterId, Limit limit);
    
 }
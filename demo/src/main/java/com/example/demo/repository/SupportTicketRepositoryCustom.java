@@ -0,0 +1,18 @@
+package com.example.demo.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.example.demo.dto.SupportTicketSearchHit;
+
+public interface SupportTicketRepositoryCustom {
+
+    /**
+     * Ranked full-text search over issue descriptions, best match first. {@code tsQuery} is in
+     * {@code to_tsquery} syntax; {@code status}, {@code createdFrom} (inclusive) and
+     * {@code createdTo} (exclusive) are optional filters and ignored when null.
+     */
+    List<SupportTicketSearchHit> searchIssueDescriptions(String tsQuery, String status,
+                                                         LocalDateTime createdFrom, LocalDateTime createdTo,
+                                                         long offset, int limit);
+}
@@ -0,0 +1,65 @@
+package com.example.demo.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+import com.example.demo.dto.SupportTicketSearchHit;
+
+class SupportTicketRepositoryImpl implements SupportTicketRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<SupportTicketSearchHit> searchIssueDescriptions(String tsQuery, String status,
+                                                                LocalDateTime createdFrom, LocalDateTime createdTo,
+                                                                long offset, int limit) {
+        StringBuilder sql = new StringBuilder(
+                "select t.id, t.issue_description, t.status, t.created_date, t.user_id,"
+                        + " ts_rank_cd(t.issue_search, q) as rank"
+                        + " from support_tickets t, to_tsquery('english', :query) q"
+                        + " where t.issue_search @@ q");
+        if (status != null) {
+            sql.append(" and t.status = :status");
+        }
+        if (createdFrom != null) {
+            sql.append(" and t.created_date >= :createdFrom");
+        }
+        if (createdTo != null) {
+            sql.append(" and t.created_date < :createdTo");
+        }
+        sql.append(" order by rank desc, t.id limit :limit offset :offset");
+
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(sql.toString())
+                .unwrap(NativeQuery.class)
+                .addScalar("id", StandardBasicTypes.LONG)
+                .addScalar("issue_description", StandardBasicTypes.STRING)
+                .addScalar("status", StandardBasicTypes.STRING)
+                .addScalar("created_date", StandardBasicTypes.LOCAL_DATE_TIME)
+                .addScalar("user_id", StandardBasicTypes.LONG)
+                .addScalar("rank", StandardBasicTypes.DOUBLE);
+        query.setParameter("query", tsQuery);
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (createdFrom != null) {
+            query.setParameter("createdFrom", createdFrom);
+        }
+        if (createdTo != null) {
+            query.setParameter("createdTo", createdTo);
+        }
+        query.setParameter("limit", limit);
+        query.setParameter("offset", offset);
+        return query.getResultList().stream()
+                .map(row -> new SupportTicketSearchHit((Long) row[0], (String) row[1], (String) row[2],
+                        (LocalDateTime) row[3], (Long) row[4], (Double) row[5]))
+                .toList();
+    }
+}
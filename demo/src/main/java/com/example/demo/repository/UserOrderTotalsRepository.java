@@ -0,0 +1,22 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.UserOrderTotalsDto;
+import com.example.demo.model.UserOrderTotals;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserOrderTotalsRepository extends JpaRepository<UserOrderTotals, Long>, UserOrderTotalsRepositoryCustom {
+
+    @Query("select new com.example.demo.dto.UserOrderTotalsDto(t.userId, t.orderCount, t.orderTotal, t.paymentTotal, t.lastOrderDate)"
+            + " from UserOrderTotals t where t.userId = :userId")
+    Optional<UserOrderTotalsDto> findDtoByUserId(Long userId);
+
+    @Query("select t.orderTotal from UserOrderTotals t where t.userId = :userId")
+    Optional<BigDecimal> findOrderTotalByUserId(Long userId);
+}
@@ -0,0 +1,11 @@
+package com.example.demo.repository;
+
+public interface UserOrderTotalsRepositoryCustom {
+
+    /**
+     * Recomputes the totals of every user with an id in {@code [fromUserId, toUserId]} from their
+     * orders and payments and corrects the rows that drifted. Returns the number of rows updated
+     * or inserted. Must run in a transaction.
+     */
+    int rebuildTotals(long fromUserId, long toUserId);
+}
@@ -1,21 +1,58 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.UserDto;
 import com.example.demo.model.User;
+import com.example.demo.persistence.IdRange;
+import com.example.demo.persistence.LikePatterns;
 import com.example.demo.security.Role;
 
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    String SELECT_DTO = "select new com.example.demo.dto.UserDto(u.id, u.username, u.email, u.role, u.region.id) from User u";
+
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
-    List<User> findByUsernameContainingIgnoreCase(String username);
-    List<User> findByRole(Role role);
+
+    @Query(SELECT_DTO + " order by u.id")
+    List<UserDto> findAllDtos();
+
+    @Query(SELECT_DTO + " where u.id = :id")
+    Optional<UserDto> findDtoById(Long id);
+
+    /**
+     * Usernames containing {@code query} or similar enough to it to survive a typo, most similar
+     * first. Both conditions are answered by the trigram index on {@code username}.
+     * {@code escapedQuery} is {@code query} passed through {@link LikePatterns#escape}.
+     */
+    @Query(SELECT_DTO + " where u.username ilike concat('%', :escapedQuery, '%') escape '\\'"
+            + " or word_similar(:query, u.username)"
+            + " order by word_similarity(:query, u.username) desc, u.id")
+    List<UserDto> searchDtosByUsername(String query, String escapedQuery, Limit limit);
+
+    @Query(SELECT_DTO + " where u.role = :role order by u.id")
+    List<UserDto> findDtosByRole(Role role);
+
+    @Query(SELECT_DTO + " where u.id > :afterId order by u.id")
+    List<UserDto> findDtoPage(Long afterId, Limit limit);
+
+    @Query(SELECT_DTO + " where u.role = :role and u.id > :afterId order by u.id")
+    List<UserDto> findDtoPageByRole(Role role, Long afterId, Limit limit);
+
+    @Query("select u.tokenVersion from User u where u.id = :id")
+    Optional<Integer> findTokenVersionById(Long id);
+
+    @Query("select new com.example.demo.persistence.IdRange(min(u.id), max(u.id)) from User u")
+    IdRange findIdRange();
  
-}
\ No newline at end of file
+}
@@ -0,0 +1,288 @@
+package com.example.demo.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.demo.dto.ServicePlanDto;
+import com.example.demo.persistence.LikePatterns;
+import com.example.demo.repository.ServicePlanRepository;
+
+/**
+ * In-process trigram index over the name and description of every service plan, so the storefront
+ * search does not need a database round trip.
+ * <p>
+ * It answers the same question as {@link ServicePlanRepository#searchDtos}: plans whose name or
+ * description contains the query ignoring case, or shares enough of its word trigrams to survive a
+ * typo, best match first. Substring candidates come from intersecting the posting lists of the
+ * query's trigrams and are then confirmed with {@code contains}. The similarity is the share of the
+ * query's space-padded word trigrams found in the plan, the way {@code pg_trgm} pads words, held to
+ * the same 0.6 threshold as {@code pg_trgm.word_similarity_threshold}.
+ * <p>
+ * The index is loaded when the application is ready and reloaded on a schedule to pick up writes
+ * made by other instances. Writes through this instance are applied once their transaction
+ * commits; those applied while a reload is reading its snapshot are replayed on top of it, so the
+ * snapshot cannot undo them. Until the first load completes, searches go to the repository.
+ */
+@Component
+public class ServicePlanSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ServicePlanSearchIndex.class);
+
+    static final double SIMILARITY_THRESHOLD = 0.6;
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ServicePlanRepository servicePlanRepository;
+    private final int resultLimit;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Entry> entries = new TreeMap<>();
+    private final Map<String, Set<Long>> textPostings = new HashMap<>();
+    private final Map<String, Set<Long>> wordPostings = new HashMap<>();
+    private List<Runnable> changesDuringReload;
+    private volatile boolean loaded;
+
+    public ServicePlanSearchIndex(ServicePlanRepository servicePlanRepository,
+                                  @Value("${app.search.result-limit:50}") int resultLimit) {
+        this.servicePlanRepository = servicePlanRepository;
+        this.resultLimit = resultLimit;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.search.plan-index.reload-interval:PT5M}",
+            initialDelayString = "${app.search.plan-index.reload-interval:PT5M}")
+    public synchronized void reload() {
+        writeLocked(() -> changesDuringReload = new ArrayList<>());
+        List<ServicePlanDto> plans;
+        try {
+            plans = servicePlanRepository.findAllDtos();
+        } catch (RuntimeException e) {
+            writeLocked(() -> changesDuringReload = null);
+            throw e;
+        }
+        writeLocked(() -> {
+            entries.clear();
+            textPostings.clear();
+            wordPostings.clear();
+            plans.forEach(this::add);
+            changesDuringReload.forEach(Runnable::run);
+            changesDuringReload = null;
+            loaded = true;
+        });
+        log.debug("Service plan search index loaded with {} plans", plans.size());
+    }
+
+    /**
+     * Adds or replaces {@code plan} once the current transaction commits, or right away outside of
+     * one.
+     */
+    public void put(ServicePlanDto plan) {
+        afterCommit(() -> apply(() -> {
+            remove(plan.id());
+            add(plan);
+        }));
+    }
+
+    /**
+     * Removes the plan with {@code id} once the current transaction commits, or right away outside
+     * of one.
+     */
+    public void delete(Long id) {
+        afterCommit(() -> apply(() -> remove(id)));
+    }
+
+    public List<ServicePlanDto> search(String query) {
+        if (!loaded) {
+            return servicePlanRepository.searchDtos(query, LikePatterns.escape(query), Limit.of(resultLimit));
+        }
+        String normalized = query.toLowerCase(Locale.ROOT);
+        Set<String> queryWordTrigrams = wordTrigrams(normalized);
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> sharedTrigrams = new HashMap<>();
+            for (String trigram : queryWordTrigrams) {
+                for (Long id : wordPostings.getOrDefault(trigram, Set.of())) {
+                    sharedTrigrams.merge(id, 1, Integer::sum);
+                }
+            }
+            List<Hit> hits = new ArrayList<>();
+            for (Long id : substringCandidates(normalized)) {
+                Entry entry = entries.get(id);
+                if (entry.contains(normalized)) {
+                    hits.add(new Hit(entry.plan(), similarity(sharedTrigrams.remove(id), queryWordTrigrams.size())));
+                }
+            }
+            sharedTrigrams.forEach((id, shared) -> {
+                double similarity = similarity(shared, queryWordTrigrams.size());
+                if (similarity >= SIMILARITY_THRESHOLD) {
+                    hits.add(new Hit(entries.get(id).plan(), similarity));
+                }
+            });
+            return hits.stream()
+                    .sorted(Comparator.comparingDouble(Hit::similarity).reversed()
+                            .thenComparing(hit -> hit.plan().id()))
+                    .limit(resultLimit)
+                    .map(Hit::plan)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Every plan containing all trigrams of {@code query}. Queries shorter than a trigram cannot
+     * be narrowed down, so every plan is a candidate.
+     */
+    private Collection<Long> substringCandidates(String query) {
+        Set<String> trigrams = textTrigrams(query);
+        if (trigrams.isEmpty()) {
+            return entries.keySet();
+        }
+        List<Set<Long>> postings = new ArrayList<>();
+        for (String trigram : trigrams) {
+            Set<Long> posting = textPostings.get(trigram);
+            if (posting == null) {
+                return List.of();
+            }
+            postings.add(posting);
+        }
+        postings.sort(Comparator.comparingInt(Set::size));
+        Set<Long> candidates = new HashSet<>(postings.get(0));
+        for (int i = 1; i < postings.size() && !candidates.isEmpty(); i++) {
+            candidates.retainAll(postings.get(i));
+        }
+        return candidates;
+    }
+
+    /**
+     * Applies an incremental change, and keeps it for replay if a reload is reading its snapshot.
+     */
+    private void apply(Runnable change) {
+        writeLocked(() -> {
+            change.run();
+            if (changesDuringReload != null) {
+                changesDuringReload.add(change);
+            }
+        });
+    }
+
+    private void writeLocked(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(ServicePlanDto plan) {
+        Entry entry = Entry.of(plan);
+        entries.put(plan.id(), entry);
+        entry.textTrigrams().forEach(trigram -> textPostings.computeIfAbsent(trigram, t -> new HashSet<>()).add(plan.id()));
+        entry.wordTrigrams().forEach(trigram -> wordPostings.computeIfAbsent(trigram, t -> new HashSet<>()).add(plan.id()));
+    }
+
+    private void remove(Long id) {
+        Entry entry = entries.remove(id);
+        if (entry != null) {
+            entry.textTrigrams().forEach(trigram -> removePosting(textPostings, trigram, id));
+            entry.wordTrigrams().forEach(trigram -> removePosting(wordPostings, trigram, id));
+        }
+    }
+
+    private static void removePosting(Map<String, Set<Long>> postings, String trigram, Long id) {
+        Set<Long> posting = postings.get(trigram);
+        posting.remove(id);
+        if (posting.isEmpty()) {
+            postings.remove(trigram);
+        }
+    }
+
+    private static double similarity(Integer shared, int queryTrigrams) {
+        return shared == null || queryTrigrams == 0 ? 0 : (double) shared / queryTrigrams;
+    }
+
+    /**
+     * Every run of three characters in {@code text}, for substring matching.
+     */
+    static Set<String> textTrigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            trigrams.add(text.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    /**
+     * The trigrams of each word of {@code text} padded with two spaces in front and one behind,
+     * so that matching word starts and ends weigh more than a match in the middle.
+     */
+    static Set<String> wordTrigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        for (String word : WORD_SEPARATOR.split(text)) {
+            if (!word.isEmpty()) {
+                trigrams.addAll(textTrigrams("  " + word + " "));
+            }
+        }
+        return trigrams;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record Entry(ServicePlanDto plan, String name, String description,
+                         Set<String> textTrigrams, Set<String> wordTrigrams) {
+
+        static Entry of(ServicePlanDto plan) {
+            String name = lowerCase(plan.name());
+            String description = lowerCase(plan.description());
+            Set<String> textTrigrams = ServicePlanSearchIndex.textTrigrams(name);
+            textTrigrams.addAll(ServicePlanSearchIndex.textTrigrams(description));
+            Set<String> wordTrigrams = ServicePlanSearchIndex.wordTrigrams(name);
+            wordTrigrams.addAll(ServicePlanSearchIndex.wordTrigrams(description));
+            return new Entry(plan, name, description, textTrigrams, wordTrigrams);
+        }
+
+        boolean contains(String query) {
+            return name.contains(query) || description.contains(query);
+        }
+
+        private static String lowerCase(String text) {
+            return text == null ? "" : text.toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private record Hit(ServicePlanDto plan, double similarity) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.demo.security;
+
+import java.security.Principal;
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * The principal of a request authenticated by bearer token, built from the token's claims alone.
+ * It carries what authorization needs without loading the {@link com.example.demo.model.User}
+ * entity on every request.
+ */
+public record AuthenticatedUser(Long id, String email, Role role, int tokenVersion) implements Principal {
+
+    /**
+     * Reads the principal from verified {@code claims}, or returns {@code null} when the token was
+     * issued without the id, role and version claims.
+     */
+    public static AuthenticatedUser from(Claims claims) {
+        Long id = claims.get(JwtService.USER_ID_CLAIM, Long.class);
+        String role = claims.get(JwtService.ROLE_CLAIM, String.class);
+        Integer tokenVersion = claims.get(JwtService.TOKEN_VERSION_CLAIM, Integer.class);
+        if (id == null || role == null || tokenVersion == null || claims.getSubject() == null) {
+            return null;
+        }
+        try {
+            return new AuthenticatedUser(id, claims.getSubject(), Role.valueOf(role), tokenVersion);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    public List<GrantedAuthority> authorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+}
@@ -6,15 +6,22 @@ import org.springframework.stereotype.Service;
 import com.example.demo.model.User;
 import com.example.demo.repository.UserRepository;
 
+/**
+ * Password hashing for both endpoints runs on {@link PasswordHashingExecutor}. For a login that
+ * includes the provider's lookup of the user by email, a single indexed query next to the hash.
+ */
 @Service
 public record AuthenticationService(UserRepository userRepository,
                                     PasswordEncoder passwordEncoder,
-                                    AuthenticationManager authenticationManager) {
+                                    AuthenticationManager authenticationManager,
+                                    PasswordHashingExecutor passwordHashingExecutor) {
     public AuthenticationResponse register(RegisterRequest request) {
+        final var password = passwordHashingExecutor.execute("register",
+                () -> passwordEncoder.encode(request.password()));
         final var user = new User(null,
                 request.username(),
                 request.email(),
-                passwordEncoder.encode(request.password()),
+                password,
                 Role.USER);
         userRepository.save(user);
         final var token = JwtService.generateToken(user);
@@ -23,13 +30,14 @@ public record AuthenticationService(UserRepository userRepository,
 
     public AuthenticationResponse authenticate(AuthenticationRequest request) {
 
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.email(),
-                        request.password()
-                )
-        );
-        final var user = userRepository.findByEmail(request.email()).orElseThrow();
+        final var authentication = passwordHashingExecutor.execute("authenticate",
+                () -> authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(
+                                request.email(),
+                                request.password()
+                        )
+                ));
+        final var user = (User) authentication.getPrincipal();
         final var token = JwtService.generateToken(user);
         return new AuthenticationResponse(token);
 
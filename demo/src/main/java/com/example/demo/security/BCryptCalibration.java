@@ -0,0 +1,32 @@
+package com.example.demo.security;
+
+import java.time.Duration;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Picks the BCrypt strength for this machine. Each step up in strength doubles the cost of a
+ * hash, so starting from the minimum, the strength goes up as long as twice the last measured
+ * hash still fits the target latency. Stored hashes keep the strength they were created with, so
+ * a different result after a restart or on another machine only affects new passwords.
+ */
+final class BCryptCalibration {
+
+    private BCryptCalibration() {
+    }
+
+    /**
+     * @param hashNanos hashes a sample password at the given strength and returns how long it took
+     */
+    static int strength(Duration targetLatency, int minStrength, int maxStrength, IntToLongFunction hashNanos) {
+        long targetNanos = targetLatency.toNanos();
+        // The first hash pays for class loading and an unoptimised compiler; it is not measured.
+        hashNanos.applyAsLong(minStrength);
+        int strength = minStrength;
+        long nanos = hashNanos.applyAsLong(strength);
+        while (strength < maxStrength && nanos * 2 <= targetNanos) {
+            strength++;
+            nanos = hashNanos.applyAsLong(strength);
+        }
+        return strength;
+    }
+}
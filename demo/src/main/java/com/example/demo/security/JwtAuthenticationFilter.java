@@ -1,22 +1,31 @@
 package com.example.demo.security;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
+/**
+ * Authenticates requests that carry a valid bearer token. The token is verified once, and the
+ * principal is built from its claims rather than loaded from the database; the only per-request
+ * lookup is the cached check that the token's version has not been revoked. Requests with a
+ * missing, malformed, expired or revoked token continue unauthenticated, and the security rules
+ * decide whether that is enough.
+ */
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private UserDetailsService userDetailsService;
+    private final JwtVerifier jwtVerifier;
+    private final TokenVersions tokenVersions;
 
-    public JwtAuthenticationFilter(UserDetailsService userDetailsService) {
-        this.userDetailsService = userDetailsService;
+    public JwtAuthenticationFilter(JwtVerifier jwtVerifier, TokenVersions tokenVersions) {
+        this.jwtVerifier = jwtVerifier;
+        this.tokenVersions = tokenVersions;
     }
 
     @Override
@@ -32,22 +41,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
         final var jwt = header.substring(7);
-        var userEmail = JwtService.extractUsername(jwt);
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            final var userDetails = userDetailsService.loadUserByUsername(userEmail);
-            if (JwtService.isTokenValid(jwt, userDetails)) {
+        final AuthenticatedUser user;
+        try {
+            user = AuthenticatedUser.from(jwtVerifier.verify(jwt));
+        } catch (JwtException | IllegalArgumentException e) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (user != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            if (tokenVersions.isCurrent(user.id(), user.tokenVersion())) {
                 final var authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
+                        user,
                         null,
-                        userDetails.getAuthorities()
+                        user.authorities()
                 );
                 authToken.setDetails(
                         new WebAuthenticationDetailsSource().buildDetails(request)
                 );
                 SecurityContextHolder.getContext().setAuthentication(authToken);
-                filterChain.doFilter(request, response);
             }
         }
-
+        filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+}
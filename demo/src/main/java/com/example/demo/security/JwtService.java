@@ -1,5 +1,6 @@
 package com.example.demo.security;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -15,8 +16,20 @@ import java.util.function.Function;
 
 public class JwtService {
 
+    /** Claims that let a request be authenticated from the token alone, without loading the user. */
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+    public static final String TOKEN_VERSION_CLAIM = "ver";
+
     private static final String SECRET_KEY = "635266556A576E5A7234753778214125UIJBVVSJSJ273";
 
+    /**
+     * Decoded once; the key and the parser built on it are immutable and safe to share between
+     * threads.
+     */
+    private static final Key SIGNING_KEY = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY));
+    private static final JwtParser PARSER = Jwts.parserBuilder().setSigningKey(SIGNING_KEY).build();
+
     private JwtService() {
     }
 
@@ -28,56 +41,55 @@ public class JwtService {
             Map<String, Object> extractClaim,
             UserDetails userDetails
     ) {
+        return buildToken(extractClaim, userDetails.getUsername());
+    }
+
+    /**
+     * Issues a token for {@code user} carrying its id, role and current token version. The subject
+     * is the email, which is what logins and {@code UserDetailsService} look users up by.
+     */
+    public static String generateToken(User user) {
+        return buildToken(Map.of(
+                USER_ID_CLAIM, user.getId(),
+                ROLE_CLAIM, user.getRole().name(),
+                TOKEN_VERSION_CLAIM, user.getTokenVersion()), user.getEmail());
+    }
+
+    private static String buildToken(Map<String, Object> claims, String subject) {
         return Jwts
                 .builder()
-                .setClaims(extractClaim)
-                .setSubject(userDetails.getUsername())
+                .setClaims(claims)
+                .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 24))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(SIGNING_KEY, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public static String generateToken(User user) {
-        return generateToken(user);
-    }
-
     public static boolean isTokenValid(
             String token,
             UserDetails userDetails
     ) {
-        final var username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    private static boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private static Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        final var claims = parseClaims(token);
+        return claims.getSubject().equals(userDetails.getUsername()) && !claims.getExpiration().before(new Date());
     }
 
-    private static Claims extractClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
+    /**
+     * Verifies the signature and expiry of {@code token} and returns its claims, throwing a
+     * {@link io.jsonwebtoken.JwtException} when either check fails.
+     */
+    static Claims parseClaims(String token) {
+        return PARSER
                 .parseClaimsJws(token)
                 .getBody();
     }
 
-    private static Key getSigningKey() {
-        final var keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
     private static <C> C extractClaim(
             String token,
             Function<Claims, C> claimsResolver
     ) {
-        final var claims = extractClaims(token);
+        final var claims = parseClaims(token);
         return claimsResolver.apply(claims);
     }
 
-}
\ No newline at end of file
+}
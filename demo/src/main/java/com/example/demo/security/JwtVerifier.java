@@ -0,0 +1,79 @@
+package com.example.demo.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Verifies bearer tokens for the authentication filters, parsing each token once per request at
+ * most.
+ * <p>
+ * A client sends the same token with every request until it expires, so the claims of recently
+ * verified tokens are kept in a bounded cache and a repeated token skips the signature check and
+ * the JSON parsing. Entries expire together with their token, so a cached token is never accepted
+ * past its expiry. The cache is keyed by the SHA-256 of the token rather than the token itself, so
+ * it holds no usable credentials.
+ */
+@Component
+public class JwtVerifier {
+
+    private final Cache<String, Claims> verifiedTokens;
+
+    public JwtVerifier(@Value("${app.security.token-cache.maximum-size:10000}") long maximumSize) {
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Returns the claims of {@code token}, throwing a {@link io.jsonwebtoken.JwtException} when its
+     * signature does not match or it has expired. The returned claims are shared; do not modify
+     * them.
+     */
+    public Claims verify(String token) {
+        String key = hash(token);
+        Claims claims = verifiedTokens.getIfPresent(key);
+        if (claims == null) {
+            claims = JwtService.parseClaims(token);
+            verifiedTokens.put(key, claims);
+        }
+        return claims;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
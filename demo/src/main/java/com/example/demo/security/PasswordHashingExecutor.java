@@ -0,0 +1,112 @@
+package com.example.demo.security;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.config.PasswordHashingProperties;
+import com.example.demo.exception.PasswordHashingRejectedException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+/**
+ * Runs password hashing on a small dedicated pool instead of the request threads, so a burst of
+ * logins, each costing a BCrypt hash of CPU, uses at most the pool's share of the processors and
+ * leaves the rest to the other endpoints.
+ * <p>
+ * Callers wait for their hash. Work beyond the pool queues up to {@code queueCapacity}; past that
+ * it is rejected straight away with {@link PasswordHashingRejectedException} rather than piling up
+ * behind hashes its client will have given up on. Per endpoint, {@code password.hashing.queue.wait}
+ * times the wait for a thread, {@code password.hashing.duration} the hashing itself and
+ * {@code password.hashing.rejected} counts the rejections; the pool itself is reported as the
+ * {@code passwordHashing} executor.
+ */
+@Component
+public class PasswordHashingExecutor implements DisposableBean {
+
+    private final ThreadPoolExecutor executor;
+    private final Duration retryAfter;
+    private final MeterRegistry meterRegistry;
+
+    public PasswordHashingExecutor(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        int threads = properties.threads() > 0
+                ? properties.threads()
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.queueCapacity()), threadFactory());
+        this.retryAfter = properties.retryAfter();
+        this.meterRegistry = meterRegistry;
+        new ExecutorServiceMetrics(executor, "passwordHashing", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    /**
+     * Runs {@code hashing} on the pool on behalf of {@code endpoint} and returns its result,
+     * rethrowing what it threw.
+     *
+     * @throws PasswordHashingRejectedException when the queue is full
+     */
+    public <T> T execute(String endpoint, Supplier<T> hashing) {
+        Timer queueWait = Timer.builder("password.hashing.queue.wait").tag("endpoint", endpoint).register(meterRegistry);
+        Timer duration = Timer.builder("password.hashing.duration").tag("endpoint", endpoint).register(meterRegistry);
+        long queued = System.nanoTime();
+        Future<T> result;
+        try {
+            result = executor.submit(() -> {
+                long started = System.nanoTime();
+                queueWait.record(started - queued, TimeUnit.NANOSECONDS);
+                try {
+                    return hashing.get();
+                } finally {
+                    duration.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            Counter.builder("password.hashing.rejected").tag("endpoint", endpoint).register(meterRegistry).increment();
+            throw new PasswordHashingRejectedException("Too many " + endpoint + " requests waiting for password hashing",
+                    retryAfter);
+        }
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.demo.security;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -20,18 +21,27 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 
+import com.example.demo.config.PasswordHashingProperties;
 import com.example.demo.repository.UserRepository;
 
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties(PasswordHashingProperties.class)
 public class SecurityConfiguration {
 
     private final Logger log = LoggerFactory.getLogger(SecurityConfiguration.class);
 
     private final UserRepository userRepository;
+    private final JwtVerifier jwtVerifier;
+    private final TokenVersions tokenVersions;
+    private final PasswordHashingProperties passwordHashingProperties;
 
-    public SecurityConfiguration(UserRepository userRepository) {
+    public SecurityConfiguration(UserRepository userRepository, JwtVerifier jwtVerifier, TokenVersions tokenVersions,
+                                 PasswordHashingProperties passwordHashingProperties) {
         this.userRepository = userRepository;
+        this.jwtVerifier = jwtVerifier;
+        this.tokenVersions = tokenVersions;
+        this.passwordHashingProperties = passwordHashingProperties;
     }
 
 
@@ -60,11 +70,15 @@ public class SecurityConfiguration {
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 .and()
                 .authenticationProvider(authenticationProvider())
-                .addFilterBefore(new JwtAuthenticationFilter(userDetailsService()), UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(new JwtAuthenticationFilter(jwtVerifier, tokenVersions), UsernamePasswordAuthenticationFilter.class)
                 .build();
 
     }
 
+    /**
+     * Loads users for password logins only; requests with a bearer token are authenticated from its
+     * claims.
+     */
     @Bean
     public UserDetailsService userDetailsService() {
         return username -> userRepository
@@ -81,9 +95,26 @@ public class SecurityConfiguration {
 
     }
 
+    /**
+     * BCrypt hashing is pure computation, so it does not pin a virtual thread, but it does not
+     * yield either: with virtual threads each hash occupies one of the few carrier threads for its
+     * full duration, and a burst of logins can stall every other request. Logins and
+     * registrations therefore hash on {@link PasswordHashingExecutor}. The strength is calibrated
+     * here, once, to the configured target latency.
+     */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        var properties = passwordHashingProperties;
+        int strength = BCryptCalibration.strength(properties.targetLatency(),
+                properties.minStrength(), properties.maxStrength(), candidate -> {
+                    var encoder = new BCryptPasswordEncoder(candidate);
+                    long started = System.nanoTime();
+                    encoder.encode("calibration");
+                    return System.nanoTime() - started;
+                });
+        log.info("BCrypt strength {} for a target hashing latency of {}", strength,
+                properties.targetLatency());
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
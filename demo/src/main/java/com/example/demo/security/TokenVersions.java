@@ -0,0 +1,61 @@
+package com.example.demo.security;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.demo.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
+/**
+ * Decides whether a bearer token has been revoked by comparing the token version it was issued
+ * with against the user's current one.
+ * <p>
+ * Current versions are cached per user, so an authenticated request reads the database only when
+ * its user's entry is missing or has expired. A user that no longer exists is cached as well, so
+ * its tokens stay rejected without a query each. Revoking on this instance takes effect as soon
+ * as the revoking transaction commits; other instances notice within {@code expire-after-write}.
+ */
+@Component
+public class TokenVersions {
+
+    private final LoadingCache<Long, Optional<Integer>> currentVersions;
+
+    public TokenVersions(UserRepository userRepository,
+                         @Value("${app.security.token-versions.maximum-size:10000}") long maximumSize,
+                         @Value("${app.security.token-versions.expire-after-write:PT1M}") Duration expireAfterWrite) {
+        this.currentVersions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build(userRepository::findTokenVersionById);
+    }
+
+    /**
+     * Whether {@code tokenVersion} is still the current token version of the user.
+     */
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        return currentVersions.get(userId).filter(current -> current == tokenVersion).isPresent();
+    }
+
+    /**
+     * Drops the cached version of the user once the current transaction commits, or right away
+     * outside of one, so the next request reads the bumped version or the deletion.
+     */
+    public void revoked(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    currentVersions.invalidate(userId);
+                }
+            });
+        } else {
+            currentVersions.invalidate(userId);
+        }
+    }
+}
@@ -1,15 +1,19 @@
 package com.example.demo.service;
 
+import com.example.demo.config.CacheNames;
+import com.example.demo.dto.FeedbackDto;
 import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.model.Feedback;
-import com.example.demo.model.ServicePlan;
-import com.example.demo.model.User;
+import com.example.demo.pagination.CursorPage;
+import com.example.demo.pagination.CursorRequest;
 import com.example.demo.repository.FeedbackRepository;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -24,11 +28,15 @@ public class FeedbackService {
         this.feedbackRepository = feedbackRepository;
     }
 
+    @CacheEvict(cacheNames = CacheNames.SERVICE_PLAN_RATINGS, allEntries = true)
+    @Transactional
     public Feedback saveFeedback(Feedback feedback) {
         validateFeedback(feedback);
         return feedbackRepository.save(feedback);
     }
 
+    @CacheEvict(cacheNames = CacheNames.SERVICE_PLAN_RATINGS, allEntries = true)
+    @Transactional
     public Feedback updateFeedback(Long id, Feedback updatedFeedback) {
         return feedbackRepository.findById(id)
                 .map(feedback -> {
@@ -43,14 +51,18 @@ public class FeedbackService {
                 .orElseThrow(() -> new ResourceNotFoundException("Feedback with id " + id + " not found."));
     }
 
-    public List<Feedback> getAllFeedbacks() {
-        return feedbackRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<FeedbackDto> getAllFeedbacks() {
+        return feedbackRepository.findAllDtos();
     }
 
-    public Optional<Feedback> getFeedbackById(Long id) {
-        return feedbackRepository.findById(id);
+    @Transactional(readOnly = true)
+    public Optional<FeedbackDto> getFeedbackById(Long id) {
+        return feedbackRepository.findDtoById(id);
     }
 
+    @CacheEvict(cacheNames = CacheNames.SERVICE_PLAN_RATINGS, allEntries = true)
+    @Transactional
     public void deleteFeedback(Long id) {
         if (!feedbackRepository.existsById(id)) {
             throw new ResourceNotFoundException("Feedback with id " + id + " not found.");
@@ -58,24 +70,41 @@ public class FeedbackService {
         feedbackRepository.deleteById(id);
     }
 
-    public List<Feedback> getFeedbacksByRating(int rating) {
-        return feedbackRepository.findAllByRating(rating);
+    @Transactional(readOnly = true)
+    public List<FeedbackDto> getFeedbacksByRating(int rating) {
+        return feedbackRepository.findDtosByRating(rating);
     }
 
-    public List<Feedback> getFeedbacksByRatingRange(int minRating, int maxRating) {
-        return feedbackRepository.findAllByRatingBetween(minRating, maxRating);
+    @Transactional(readOnly = true)
+    public List<FeedbackDto> getFeedbacksByRatingRange(int minRating, int maxRating) {
+        return feedbackRepository.findDtosByRatingBetween(minRating, maxRating);
     }
 
-    public List<Feedback> getFeedbacksByUser(User user) {
-        return feedbackRepository.findAllByUser(user);
+    @Transactional(readOnly = true)
+    public List<FeedbackDto> getFeedbacksByUser(Long userId) {
+        return feedbackRepository.findDtosByUserId(userId);
     }
 
-    public List<Feedback> getFeedbacksByServicePlan(ServicePlan servicePlan) {
-        return feedbackRepository.findAllByServicePlan(servicePlan);
+    @Transactional(readOnly = true)
+    public List<FeedbackDto> getFeedbacksByServicePlan(Long servicePlanId) {
+        return feedbackRepository.findDtosByServicePlanId(servicePlanId);
     }
 
-    public Page<Feedback> getFeedbacks(Pageable pageable) {
-        return feedbackRepository.findAll(pageable);
+    @Transactional(readOnly = true)
+    public Page<FeedbackDto> getFeedbacks(Pageable pageable) {
+        return feedbackRepository.findDtos(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<FeedbackDto> getFeedbacksPage(CursorRequest request) {
+        return CursorPage.of(feedbackRepository.findDtoPage(request.afterId(), request.limit()),
+                request, FeedbackDto::id);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<FeedbackDto> getFeedbacksPageByUser(Long userId, CursorRequest request) {
+        return CursorPage.of(feedbackRepository.findDtoPageByUserId(userId, request.afterId(), request.limit()),
+                request, FeedbackDto::id);
     }
 
     private void validateFeedback(Feedback feedback) {
@@ -1,75 +1,241 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.NetworkStatusDto;
+import com.example.demo.exception.InvalidNetworkStatusException;
 import com.example.demo.exception.ResourceNotFoundException;
+import com.example.demo.exception.UpdateDateOutOfRangeException;
+import com.example.demo.export.NdjsonWriter;
 import com.example.demo.model.NetworkStatus;
+import com.example.demo.pagination.CursorPage;
+import com.example.demo.pagination.CursorRequest;
+import com.example.demo.persistence.BatchInserter;
+import com.example.demo.persistence.ChunkedBulkExecutor;
+import com.example.demo.persistence.GroupCommitter;
+import com.example.demo.persistence.NetworkStatusPartitionManager;
+import com.example.demo.reactive.NetworkStatusBroadcaster;
 import com.example.demo.repository.NetworkStatusRepository;
 
-import jakarta.transaction.Transactional;
-
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 public class NetworkStatusService {
 
     private final NetworkStatusRepository networkStatusRepository;
+    private final NdjsonWriter ndjsonWriter;
+    private final BatchInserter batchInserter;
+    private final ChunkedBulkExecutor chunkedBulkExecutor;
+    private final GroupCommitter<NetworkStatus> groupCommitter;
+    private final NetworkStatusBroadcaster broadcaster;
+    private final NetworkStatusPartitionManager partitionManager;
 
     @Autowired
-    public NetworkStatusService(NetworkStatusRepository networkStatusRepository) {
+    public NetworkStatusService(NetworkStatusRepository networkStatusRepository, NdjsonWriter ndjsonWriter,
+                                BatchInserter batchInserter, ChunkedBulkExecutor chunkedBulkExecutor,
+                                ObjectProvider<GroupCommitter<NetworkStatus>> groupCommitter,
+                                ObjectProvider<NetworkStatusBroadcaster> broadcaster,
+                                ObjectProvider<NetworkStatusPartitionManager> partitionManager) {
         this.networkStatusRepository = networkStatusRepository;
+        this.ndjsonWriter = ndjsonWriter;
+        this.batchInserter = batchInserter;
+        this.chunkedBulkExecutor = chunkedBulkExecutor;
+        this.groupCommitter = groupCommitter.getIfAvailable();
+        this.broadcaster = broadcaster.getIfAvailable();
+        this.partitionManager = partitionManager.getIfAvailable();
     }
 
+    /**
+     * With group commit enabled, a create waits to be written together with concurrent ones
+     * instead of committing on its own; it must then not run inside a caller's transaction, which
+     * would hold a connection while waiting and would not cover the write. Updates of existing
+     * statuses are always saved directly.
+     */
     public NetworkStatus saveNetworkStatus(NetworkStatus networkStatus) {
-        return networkStatusRepository.save(networkStatus);
+        checkPartitioned(networkStatus.getUpdateDate());
+        Long previousRegionId = networkStatus.getId() != null ? previousRegionId(networkStatus.getId()) : null;
+        NetworkStatus saved = groupCommitter != null && networkStatus.getId() == null
+                ? groupCommitter.write(networkStatus)
+                : networkStatusRepository.save(networkStatus);
+        publish(saved, previousRegionId);
+        return saved;
+    }
+
+    @Transactional
+    public List<NetworkStatusDto> createNetworkStatuses(List<NetworkStatus> networkStatuses) {
+        networkStatuses.forEach(networkStatus -> checkPartitioned(networkStatus.getUpdateDate()));
+        return batchInserter.insertAll(networkStatuses).stream()
+                .map(NetworkStatusDto::from)
+                .toList();
     }
 
-    public List<NetworkStatus> getAllNetworkStatuses() {
-        return networkStatusRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<NetworkStatusDto> getAllNetworkStatuses() {
+        return networkStatusRepository.findAllDtos();
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<NetworkStatusDto> getNetworkStatusesPage(CursorRequest request) {
+        return CursorPage.of(networkStatusRepository.findDtoPage(request.afterId(), request.limit()),
+                request, NetworkStatusDto::id);
+    }
+
+    @Transactional(readOnly = true)
+    public long exportNetworkStatuses(OutputStream out) throws IOException {
+        try (Stream<NetworkStatusDto> rows = networkStatusRepository.streamAllForExport()) {
+            return ndjsonWriter.write(rows, out);
+        }
     }
 
-    public Optional<NetworkStatus> getNetworkStatusById(Long id) {
-        return networkStatusRepository.findById(id);
+    @Transactional(readOnly = true)
+    public Optional<NetworkStatusDto> getNetworkStatusById(Long id) {
+        return networkStatusRepository.findDtoById(id);
     }
 
+    @Transactional
     public void deleteNetworkStatus(Long id) {
         networkStatusRepository.deleteById(id);
     }
 
+    @Transactional
     public NetworkStatus updateNetworkStatus(Long id, NetworkStatus networkStatus) {
+        checkPartitioned(networkStatus.getUpdateDate());
         Optional<NetworkStatus> existingNetworkStatus = networkStatusRepository.findById(id);
         if (existingNetworkStatus.isPresent()) {
             NetworkStatus existing = existingNetworkStatus.get();
+            Long previousRegionId = existing.getRegion().getId();
             existing.setStatus(networkStatus.getStatus());
             existing.setUpdateDate(networkStatus.getUpdateDate());
             existing.setRegion(networkStatus.getRegion());
             existing.setServiceAvailabilities(networkStatus.getServiceAvailabilities());
-            return networkStatusRepository.save(existing);
+            NetworkStatus saved = networkStatusRepository.save(existing);
+            publish(saved, previousRegionId);
+            return saved;
         }
         throw new ResourceNotFoundException("NetworkStatus with id " + id + " not found");
     }
 
-    public List<NetworkStatus> getNetworkStatusesByRegion(Long regionId) {
-        return networkStatusRepository.findByRegionId(regionId);
+    @Transactional(readOnly = true)
+    public List<NetworkStatusDto> getNetworkStatusesByRegion(Long regionId) {
+        return networkStatusRepository.findDtosByRegionId(regionId);
     }
 
-    public List<NetworkStatus> getNetworkStatusesByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return networkStatusRepository.findByUpdateDateBetween(startDate, endDate);
+    @Transactional(readOnly = true)
+    public List<NetworkStatusDto> getNetworkStatusesByRegion(Long regionId, LocalDateTime since) {
+        return networkStatusRepository.findDtosByRegionIdSince(regionId, since);
     }
 
-    public List<NetworkStatus> getNetworkStatusesByServiceAvailability(Long serviceAvailabilityId) {
-        return networkStatusRepository.findByServiceAvailabilitiesId(serviceAvailabilityId);
+    @Transactional(readOnly = true)
+    public CursorPage<NetworkStatusDto> getNetworkStatusesPageByRegion(Long regionId, CursorRequest request) {
+        return CursorPage.of(networkStatusRepository.findDtoPageByRegionId(regionId, request.afterId(), request.limit()),
+                request, NetworkStatusDto::id);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<NetworkStatusDto> getNetworkStatusesPageByRegion(Long regionId, LocalDateTime since, CursorRequest request) {
+        return CursorPage.of(networkStatusRepository.findDtoPageByRegionIdSince(regionId, since, request.afterId(), request.limit()),
+                request, NetworkStatusDto::id);
+    }
+
+    @Transactional(readOnly = true)
+    public List<NetworkStatusDto> getNetworkStatusesByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return networkStatusRepository.findDtosByUpdateDateBetween(startDate, endDate);
+    }
+
+    @Transactional(readOnly = true)
+    public List<NetworkStatusDto> getNetworkStatusesByServiceAvailability(Long serviceAvailabilityId) {
+        return networkStatusRepository.findDtosByServiceAvailabilityId(serviceAvailabilityId);
     }
 
-    @Transactional
     public void bulkUpdateNetworkStatuses(List<Long> ids, String newStatus) {
-        List<NetworkStatus> networkStatuses = networkStatusRepository.findAllById(ids);
-        for (NetworkStatus networkStatus : networkStatuses) {
-            networkStatus.setStatus(newStatus);
+        checkStatus(newStatus, "New status");
+        LocalDateTime modifiedAt = LocalDateTime.now();
+        chunkedBulkExecutor.forEachIdChunk(ids, chunk -> {
+            int updated = networkStatusRepository.updateStatusByIdIn(chunk, newStatus, modifiedAt);
+            publishUpdated(chunk);
+            return updated;
+        });
+    }
+
+    public void bulkUpdateNetworkStatuses(Map<Long, String> statusesById) {
+        statusesById.forEach((id, status) -> checkStatus(status, "Status of network status " + id));
+        LocalDateTime modifiedAt = LocalDateTime.now();
+        chunkedBulkExecutor.forEachIdChunk(statusesById.keySet(), chunk -> {
+            int updated = networkStatusRepository.updateStatuses(slice(statusesById, chunk), modifiedAt);
+            publishUpdated(chunk);
+            return updated;
+        });
+    }
+
+    /**
+     * With partition maintenance on, a row dated outside the partitioned months would fail the
+     * insert deep in the database; it is turned away as a bad request instead.
+     */
+    private void checkPartitioned(LocalDateTime updateDate) {
+        if (partitionManager != null && updateDate != null && !partitionManager.covers(updateDate)) {
+            throw new UpdateDateOutOfRangeException("Update date " + updateDate + " is outside the stored months");
+        }
+    }
+
+    /**
+     * Set-based updates skip bean validation, and every chunk commits on its own; a status the
+     * entity would reject is turned away before the first chunk instead of failing halfway through.
+     */
+    private static void checkStatus(String status, String subject) {
+        if (status == null || status.length() < NetworkStatus.STATUS_MIN_LENGTH
+                || status.length() > NetworkStatus.STATUS_MAX_LENGTH) {
+            throw new InvalidNetworkStatusException(subject + " must be " + NetworkStatus.STATUS_MIN_LENGTH
+                    + " to " + NetworkStatus.STATUS_MAX_LENGTH + " characters long");
+        }
+    }
+
+    /**
+     * Live streams are only served with the reactive read path enabled; without it there is
+     * nothing to publish to. A status that left {@code previousRegionId} is published there too.
+     */
+    private void publish(NetworkStatus networkStatus, Long previousRegionId) {
+        if (broadcaster != null) {
+            broadcaster.publish(NetworkStatusDto.from(networkStatus), previousRegionId);
+        }
+    }
+
+    /**
+     * The region a saved status is in before it is overwritten, looked up only while someone is
+     * listening.
+     */
+    private Long previousRegionId(Long id) {
+        if (broadcaster == null || !broadcaster.hasSubscribers()) {
+            return null;
+        }
+        return networkStatusRepository.findDtoById(id).map(NetworkStatusDto::regionId).orElse(null);
+    }
+
+    /**
+     * Set-based updates do not load the rows they change, so the changed statuses are read back
+     * within the chunk's transaction, and only while someone is listening.
+     */
+    private void publishUpdated(List<Long> ids) {
+        if (broadcaster != null && broadcaster.hasSubscribers()) {
+            networkStatusRepository.findDtosByIdIn(ids).forEach(broadcaster::publish);
+        }
+    }
+
+    private static Map<Long, String> slice(Map<Long, String> statusesById, List<Long> ids) {
+        Map<Long, String> slice = new LinkedHashMap<>();
+        for (Long id : ids) {
+            slice.put(id, statusesById.get(id));
         }
-        networkStatusRepository.saveAll(networkStatuses);
+        return slice;
     }
 }
@@ -1,16 +1,28 @@
 package com.example.demo.service;
 
+import com.example.demo.config.CacheNames;
+import com.example.demo.dto.OrderDto;
+import com.example.demo.dto.UserOrderTotalsDto;
+import com.example.demo.export.NdjsonWriter;
 import com.example.demo.model.Order;
 import com.example.demo.model.Payment;
-import com.example.demo.model.ServicePlan;
-import com.example.demo.model.User;
+import com.example.demo.pagination.CursorPage;
+import com.example.demo.pagination.CursorRequest;
 import com.example.demo.repository.OrderRepository;
+import com.example.demo.repository.UserOrderTotalsRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 
 
@@ -18,28 +30,55 @@ import java.util.Optional;
 public class OrderService {
 
     private final OrderRepository orderRepository;
+    private final UserOrderTotalsRepository userOrderTotalsRepository;
+    private final NdjsonWriter ndjsonWriter;
 
     @Autowired
-    public OrderService(OrderRepository orderRepository) {
+    public OrderService(OrderRepository orderRepository, UserOrderTotalsRepository userOrderTotalsRepository,
+                        NdjsonWriter ndjsonWriter) {
         this.orderRepository = orderRepository;
+        this.userOrderTotalsRepository = userOrderTotalsRepository;
+        this.ndjsonWriter = ndjsonWriter;
     }
 
+    @CacheEvict(cacheNames = CacheNames.SERVICE_PLAN_ORDER_COUNTS, key = "#order.servicePlan.id",
+            condition = "#order.servicePlan?.id != null")
+    @Transactional
     public Order saveOrder(Order order) {
         return orderRepository.save(order);
     }
 
-    public List<Order> getAllOrders() {
-        return orderRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<OrderDto> getAllOrders() {
+        return orderRepository.findAllDtos();
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<OrderDto> getOrdersPage(CursorRequest request) {
+        return CursorPage.of(orderRepository.findDtoPage(request.afterId(), request.limit()),
+                request, OrderDto::id);
     }
 
-    public Optional<Order> getOrderById(Long id) {
-        return orderRepository.findById(id);
+    @Transactional(readOnly = true)
+    public long exportOrders(OutputStream out) throws IOException {
+        try (Stream<OrderDto> rows = orderRepository.streamAllForExport()) {
+            return ndjsonWriter.write(rows, out);
+        }
     }
 
+    @Transactional(readOnly = true)
+    public Optional<OrderDto> getOrderById(Long id) {
+        return orderRepository.findDtoById(id);
+    }
+
+    @CacheEvict(cacheNames = CacheNames.SERVICE_PLAN_ORDER_COUNTS, allEntries = true)
+    @Transactional
     public void deleteOrder(Long id) {
         orderRepository.deleteById(id);
     }
 
+    @CacheEvict(cacheNames = CacheNames.SERVICE_PLAN_ORDER_COUNTS, allEntries = true)
+    @Transactional
     public Order updateOrder(Long id, Order updatedOrder) {
         return orderRepository.findById(id)
                 .map(order -> {
@@ -53,24 +92,47 @@ public class OrderService {
                 .orElseThrow(() -> new RuntimeException("Order not found with id " + id));
     }
 
-    public List<Order> getOrdersByUser(User user) {
-        return orderRepository.findByUser(user);
+    @Transactional(readOnly = true)
+    public List<OrderDto> getOrdersByUser(Long userId) {
+        return orderRepository.findDtosByUserId(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<OrderDto> getOrdersByServicePlan(Long servicePlanId) {
+        return orderRepository.findDtosByServicePlanId(servicePlanId);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<OrderDto> getOrdersPageByUser(Long userId, CursorRequest request) {
+        return CursorPage.of(orderRepository.findDtoPageByUserId(userId, request.afterId(), request.limit()),
+                request, OrderDto::id);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<OrderDto> getOrdersPageByServicePlan(Long servicePlanId, CursorRequest request) {
+        return CursorPage.of(orderRepository.findDtoPageByServicePlanId(servicePlanId, request.afterId(), request.limit()),
+                request, OrderDto::id);
     }
 
-    public List<Order> getOrdersByServicePlan(ServicePlan servicePlan) {
-        return orderRepository.findByServicePlan(servicePlan);
+    @Transactional(readOnly = true)
+    public List<OrderDto> getOrdersByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return orderRepository.findDtosByOrderDateBetween(startDate, endDate);
     }
 
-    public List<Order> getOrdersByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return orderRepository.findByOrderDateBetween(startDate, endDate);
+    @Transactional(readOnly = true)
+    public Double calculateTotalOrderAmountForUser(Long userId) {
+        return userOrderTotalsRepository.findOrderTotalByUserId(userId)
+                .map(BigDecimal::doubleValue)
+                .orElse(0.0);
     }
 
-    public Double calculateTotalOrderAmountForUser(User user) {
-        return orderRepository.findByUser(user).stream()
-                .mapToDouble(Order::getTotalAmount)
-                .sum();
+    @Transactional(readOnly = true)
+    public UserOrderTotalsDto getOrderTotalsForUser(Long userId) {
+        return userOrderTotalsRepository.findDtoByUserId(userId)
+                .orElseGet(() -> UserOrderTotalsDto.empty(userId));
     }
 
+    @Transactional
     public Order addPaymentToOrder(Long orderId, Payment payment) {
         return orderRepository.findById(orderId)
                 .map(order -> {
@@ -81,6 +143,7 @@ public class OrderService {
                 .orElseThrow(() -> new RuntimeException("Order not found with id " + orderId));
     }
 
+    @Transactional
     public Order removePaymentFromOrder(Long orderId, Long paymentId) {
         return orderRepository.findById(orderId)
                 .map(order -> {
@@ -1,54 +1,106 @@
 package com.example.demo.service;
 
-import com.example.demo.model.Order;
+import com.example.demo.dto.PaymentDto;
+import com.example.demo.export.NdjsonWriter;
 import com.example.demo.model.Payment;
-import com.example.demo.model.User;
+import com.example.demo.pagination.CursorPage;
+import com.example.demo.pagination.CursorRequest;
+import com.example.demo.persistence.BatchInserter;
 import com.example.demo.repository.PaymentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 public class PaymentService {
 
     private final PaymentRepository paymentRepository;
+    private final NdjsonWriter ndjsonWriter;
+    private final BatchInserter batchInserter;
 
     @Autowired
-    public PaymentService(PaymentRepository paymentRepository) {
+    public PaymentService(PaymentRepository paymentRepository, NdjsonWriter ndjsonWriter, BatchInserter batchInserter) {
         this.paymentRepository = paymentRepository;
+        this.ndjsonWriter = ndjsonWriter;
+        this.batchInserter = batchInserter;
     }
 
+    @Transactional
     public Payment savePayment(Payment payment) {
         return paymentRepository.save(payment);
     }
 
-    public List<Payment> getAllPayments() {
-        return paymentRepository.findAll();
+    @Transactional
+    public List<PaymentDto> createPayments(List<Payment> payments) {
+        return batchInserter.insertAll(payments).stream()
+                .map(PaymentDto::from)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<PaymentDto> getAllPayments() {
+        return paymentRepository.findAllDtos();
     }
 
-    public Optional<Payment> getPaymentById(Long id) {
-        return paymentRepository.findById(id);
+    @Transactional(readOnly = true)
+    public CursorPage<PaymentDto> getPaymentsPage(CursorRequest request) {
+        return CursorPage.of(paymentRepository.findDtoPage(request.afterId(), request.limit()),
+                request, PaymentDto::id);
     }
 
+    @Transactional(readOnly = true)
+    public long exportPayments(OutputStream out) throws IOException {
+        try (Stream<PaymentDto> rows = paymentRepository.streamAllForExport()) {
+            return ndjsonWriter.write(rows, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<PaymentDto> getPaymentById(Long id) {
+        return paymentRepository.findDtoById(id);
+    }
+
+    @Transactional
     public void deletePayment(Long id) {
         paymentRepository.deleteById(id);
     }
 
-    public List<Payment> getPaymentsByUser(User user) {
-        return paymentRepository.findByUser(user);
+    @Transactional(readOnly = true)
+    public List<PaymentDto> getPaymentsByUser(Long userId) {
+        return paymentRepository.findDtosByUserId(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<PaymentDto> getPaymentsByOrder(Long orderId) {
+        return paymentRepository.findDtosByOrderId(orderId);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<PaymentDto> getPaymentsPageByUser(Long userId, CursorRequest request) {
+        return CursorPage.of(paymentRepository.findDtoPageByUserId(userId, request.afterId(), request.limit()),
+                request, PaymentDto::id);
     }
 
-    public List<Payment> getPaymentsByOrder(Order order) {
-        return paymentRepository.findByOrder(order);
+    @Transactional(readOnly = true)
+    public CursorPage<PaymentDto> getPaymentsPageByOrder(Long orderId, CursorRequest request) {
+        return CursorPage.of(paymentRepository.findDtoPageByOrderId(orderId, request.afterId(), request.limit()),
+                request, PaymentDto::id);
     }
 
-    public List<Payment> getPaymentsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return paymentRepository.findByPaymentDateBetween(startDate, endDate);
+    @Transactional(readOnly = true)
+    public List<PaymentDto> getPaymentsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return paymentRepository.findDtosByPaymentDateBetween(startDate, endDate);
     }
 
+    @Transactional
     public Payment updatePayment(Long id, Payment paymentDetails) {
         Payment existingPayment = paymentRepository.findById(id)
             .orElseThrow(() -> new IllegalArgumentException("Payment not found"));
@@ -61,11 +113,13 @@ public class PaymentService {
         return paymentRepository.save(existingPayment);
     }
 
+    @Transactional(readOnly = true)
     public boolean doesPaymentExist(Long id) {
         return paymentRepository.existsById(id);
     }
 
-    public List<Payment> getPaymentsByAmountRange(Double minAmount, Double maxAmount) {
-        return paymentRepository.findByAmountBetween(minAmount, maxAmount);
+    @Transactional(readOnly = true)
+    public List<PaymentDto> getPaymentsByAmountRange(Double minAmount, Double maxAmount) {
+        return paymentRepository.findDtosByAmountBetween(minAmount, maxAmount);
     }
 }
@@ -1,13 +1,23 @@
 package com.example.demo.service;
 
+import com.example.demo.config.CacheNames;
+import com.example.demo.dto.RegionDto;
 import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.model.NetworkStatus;
 import com.example.demo.model.Region;
 import com.example.demo.model.User;
+import com.example.demo.pagination.CursorPage;
+import com.example.demo.pagination.CursorRequest;
+import com.example.demo.persistence.LikePatterns;
 import com.example.demo.repository.RegionRepository;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -16,24 +26,39 @@ import java.util.Optional;
 public class RegionService {
 
     private final RegionRepository regionRepository;
+    private final Limit searchLimit;
 
     @Autowired
-    public RegionService(RegionRepository regionRepository) {
+    public RegionService(RegionRepository regionRepository,
+                         @Value("${app.search.result-limit:50}") int searchResultLimit) {
         this.regionRepository = regionRepository;
+        this.searchLimit = Limit.of(searchResultLimit);
     }
 
+    @CacheEvict(cacheNames = CacheNames.REGION_NAME_SEARCH, allEntries = true)
+    @Transactional
     public Region saveRegion(Region region) {
         return regionRepository.save(region);
     }
 
-    public List<Region> getAllRegions() {
-        return regionRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<RegionDto> getAllRegions() {
+        return regionRepository.findAllDtos();
     }
 
-    public Optional<Region> getRegionById(Long id) {
-        return regionRepository.findById(id);
+    @Transactional(readOnly = true)
+    public CursorPage<RegionDto> getRegionsPage(CursorRequest request) {
+        return CursorPage.of(regionRepository.findDtoPage(request.afterId(), request.limit()),
+                request, RegionDto::id);
     }
 
+    @Transactional(readOnly = true)
+    public Optional<RegionDto> getRegionById(Long id) {
+        return regionRepository.findDtoById(id);
+    }
+
+    @CacheEvict(cacheNames = CacheNames.REGION_NAME_SEARCH, allEntries = true)
+    @Transactional
     public void deleteRegion(Long id) {
         if (regionRepository.existsById(id)) {
             regionRepository.deleteById(id);
@@ -42,6 +67,8 @@ public class RegionService {
         }
     }
 
+    @CacheEvict(cacheNames = CacheNames.REGION_NAME_SEARCH, allEntries = true)
+    @Transactional
     public Region updateRegion(Long id, Region updatedRegion) {
         return regionRepository.findById(id)
                 .map(region -> {
@@ -52,6 +79,7 @@ public class RegionService {
                 .orElseThrow(() -> new ResourceNotFoundException("Region with id " + id + " not found"));
     }
 
+    @Transactional
     public Region addUserToRegion(Long regionId, User user) {
         Region region = regionRepository.findById(regionId)
                 .orElseThrow(() -> new ResourceNotFoundException("Region with id " + regionId + " not found"));
@@ -61,6 +89,7 @@ public class RegionService {
         return regionRepository.save(region);
     }
 
+    @Transactional
     public Region removeUserFromRegion(Long regionId, Long userId) {
         Region region = regionRepository.findById(regionId)
                 .orElseThrow(() -> new ResourceNotFoundException("Region with id " + regionId + " not found"));
@@ -75,6 +104,7 @@ public class RegionService {
         return regionRepository.save(region);
     }
 
+    @Transactional
     public Region addNetworkStatusToRegion(Long regionId, NetworkStatus networkStatus) {
         Region region = regionRepository.findById(regionId)
                 .orElseThrow(() -> new ResourceNotFoundException("Region with id " + regionId + " not found"));
@@ -84,6 +114,7 @@ public class RegionService {
         return regionRepository.save(region);
     }
 
+    @Transactional
     public Region removeNetworkStatusFromRegion(Long regionId, Long networkStatusId) {
         Region region = regionRepository.findById(regionId)
                 .orElseThrow(() -> new ResourceNotFoundException("Region with id " + regionId + " not found"));
@@ -98,12 +129,15 @@ public class RegionService {
         return regionRepository.save(region);
     }
 
-    public List<Region> searchRegionsByName(String name) {
-        return regionRepository.findByNameIgnoreCaseContaining(name);
+    @Cacheable(CacheNames.REGION_NAME_SEARCH)
+    @Transactional(readOnly = true)
+    public List<RegionDto> searchRegionsByName(String name) {
+        return regionRepository.searchDtosByName(name, LikePatterns.escape(name), searchLimit);
     }
 
-    public List<Region> filterRegionsByDescription(String description) {
-        return regionRepository.findByDescriptionIgnoreCaseContaining(description);
+    @Transactional(readOnly = true)
+    public List<RegionDto> filterRegionsByDescription(String description) {
+        return regionRepository.searchDtosByDescription(description, LikePatterns.escape(description), searchLimit);
     }
 
 
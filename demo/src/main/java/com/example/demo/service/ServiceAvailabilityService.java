@@ -1,12 +1,18 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.ServiceAvailabilityDto;
 import com.example.demo.model.NetworkStatus;
 import com.example.demo.model.ServiceAvailability;
 import com.example.demo.model.ServicePlan;
+import com.example.demo.pagination.CursorPage;
+import com.example.demo.pagination.CursorRequest;
+import com.example.demo.persistence.BatchInserter;
+import com.example.demo.persistence.ChunkedBulkExecutor;
+import com.example.demo.persistence.IdRange;
 import com.example.demo.repository.ServiceAvailabilityRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -16,24 +22,46 @@ import java.util.Optional;
 public class ServiceAvailabilityService {
 
     private final ServiceAvailabilityRepository serviceAvailabilityRepository;
+    private final BatchInserter batchInserter;
+    private final ChunkedBulkExecutor chunkedBulkExecutor;
 
     @Autowired
-    public ServiceAvailabilityService(ServiceAvailabilityRepository serviceAvailabilityRepository) {
+    public ServiceAvailabilityService(ServiceAvailabilityRepository serviceAvailabilityRepository, BatchInserter batchInserter,
+                                      ChunkedBulkExecutor chunkedBulkExecutor) {
         this.serviceAvailabilityRepository = serviceAvailabilityRepository;
+        this.batchInserter = batchInserter;
+        this.chunkedBulkExecutor = chunkedBulkExecutor;
     }
 
+    @Transactional
     public ServiceAvailability saveServiceAvailability(ServiceAvailability serviceAvailability) {
         return serviceAvailabilityRepository.save(serviceAvailability);
     }
 
-    public List<ServiceAvailability> getAllServiceAvailabilities() {
-        return serviceAvailabilityRepository.findAll();
+    @Transactional
+    public List<ServiceAvailabilityDto> createServiceAvailabilities(List<ServiceAvailability> serviceAvailabilities) {
+        return batchInserter.insertAll(serviceAvailabilities).stream()
+                .map(ServiceAvailabilityDto::from)
+                .toList();
     }
 
-    public Optional<ServiceAvailability> getServiceAvailabilityById(Long id) {
-        return serviceAvailabilityRepository.findById(id);
+    @Transactional(readOnly = true)
+    public List<ServiceAvailabilityDto> getAllServiceAvailabilities() {
+        return serviceAvailabilityRepository.findAllDtos();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<ServiceAvailabilityDto> getServiceAvailabilitiesPage(CursorRequest request) {
+        return CursorPage.of(serviceAvailabilityRepository.findDtoPage(request.afterId(), request.limit()),
+                request, ServiceAvailabilityDto::id);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<ServiceAvailabilityDto> getServiceAvailabilityById(Long id) {
+        return serviceAvailabilityRepository.findDtoById(id);
+    }
+
+    @Transactional
     public ServiceAvailability updateServiceAvailability(Long id, ServiceAvailability serviceAvailability) {
         return serviceAvailabilityRepository.findById(id)
             .map(existingServiceAvailability -> {
@@ -46,26 +74,39 @@ public class ServiceAvailabilityService {
             .orElseThrow(() -> new RuntimeException("ServiceAvailability not found with id " + id));
     }
 
+    @Transactional
     public void deleteServiceAvailability(Long id) {
         serviceAvailabilityRepository.deleteById(id);
     }
 
-    public List<ServiceAvailability> getServiceAvailabilitiesByStatus(String status) {
-        return serviceAvailabilityRepository.findByAvailabilityStatus(status);
+    @Transactional(readOnly = true)
+    public List<ServiceAvailabilityDto> getServiceAvailabilitiesByStatus(String status) {
+        return serviceAvailabilityRepository.findDtosByAvailabilityStatus(status);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ServiceAvailabilityDto> getServiceAvailabilitiesPageByStatus(String status, CursorRequest request) {
+        return CursorPage.of(serviceAvailabilityRepository.findDtoPageByAvailabilityStatus(status, request.afterId(), request.limit()),
+                request, ServiceAvailabilityDto::id);
     }
 
-    public List<ServiceAvailability> getServiceAvailabilitiesByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return serviceAvailabilityRepository.findByAvailabilityDateBetween(startDate, endDate);
+    @Transactional(readOnly = true)
+    public List<ServiceAvailabilityDto> getServiceAvailabilitiesByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return serviceAvailabilityRepository.findDtosByAvailabilityDateBetween(startDate, endDate);
     }
 
+    @Transactional(readOnly = true)
     public long getServiceAvailabilityCount() {
         return serviceAvailabilityRepository.count();
     }
 
     public void deleteServiceAvailabilitiesByStatus(String status) {
-        serviceAvailabilityRepository.deleteByAvailabilityStatus(status);
+        IdRange range = serviceAvailabilityRepository.findIdRangeByAvailabilityStatus(status);
+        chunkedBulkExecutor.forEachIdRange(range,
+                (fromId, toId) -> serviceAvailabilityRepository.deleteByAvailabilityStatusAndIdBetween(status, fromId, toId));
     }
 
+    @Transactional
     public ServiceAvailability addServicePlanToServiceAvailability(Long serviceAvailabilityId, ServicePlan servicePlan) {
         ServiceAvailability serviceAvailability = serviceAvailabilityRepository.findById(serviceAvailabilityId)
             .orElseThrow(() -> new RuntimeException("ServiceAvailability not found with id " + serviceAvailabilityId));
@@ -73,6 +114,7 @@ public class ServiceAvailabilityService {
         return serviceAvailabilityRepository.save(serviceAvailability);
     }
 
+    @Transactional
     public ServiceAvailability addNetworkStatusToServiceAvailability(Long serviceAvailabilityId, NetworkStatus networkStatus) {
         ServiceAvailability serviceAvailability = serviceAvailabilityRepository.findById(serviceAvailabilityId)
             .orElseThrow(() -> new RuntimeException("ServiceAvailability not found with id " + serviceAvailabilityId));
@@ -80,8 +122,9 @@ public class ServiceAvailabilityService {
         return serviceAvailabilityRepository.save(serviceAvailability);
     }
 
-    public List<ServiceAvailability> getAllServiceAvailabilitiesSortedByDate() {
-        return serviceAvailabilityRepository.findAll(Sort.by(Sort.Order.asc("availabilityDate")));
+    @Transactional(readOnly = true)
+    public List<ServiceAvailabilityDto> getAllServiceAvailabilitiesSortedByDate() {
+        return serviceAvailabilityRepository.findAllDtosSortedByDate();
     }
 }
 
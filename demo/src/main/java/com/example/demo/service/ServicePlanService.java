@@ -1,16 +1,28 @@
 package com.example.demo.service;
 
+import com.example.demo.config.CacheNames;
+import com.example.demo.dto.FeedbackDto;
+import com.example.demo.dto.ServicePlanRatingDto;
+import com.example.demo.dto.ServicePlanDto;
 import com.example.demo.exception.ResourceNotFoundException;
-import com.example.demo.model.Feedback;
 import com.example.demo.model.ServiceAvailability;
 import com.example.demo.model.ServicePlan;
 import com.example.demo.model.User;
+import com.example.demo.pagination.CursorPage;
+import com.example.demo.pagination.CursorRequest;
+import com.example.demo.repository.FeedbackRepository;
 import com.example.demo.repository.ServiceAvailabilityRepository;
+import com.example.demo.repository.ServicePlanRatingRepository;
 import com.example.demo.repository.ServicePlanRepository;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.search.ServicePlanSearchIndex;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -21,32 +33,62 @@ public class ServicePlanService {
     private final ServicePlanRepository servicePlanRepository;
     private final UserRepository userRepository;
     private final ServiceAvailabilityRepository serviceAvailabilityRepository;
+    private final FeedbackRepository feedbackRepository;
+    private final ServicePlanRatingRepository servicePlanRatingRepository;
+    private final ServicePlanSearchIndex servicePlanSearchIndex;
 
     @Autowired
     public ServicePlanService(ServicePlanRepository servicePlanRepository,
                               UserRepository userRepository,
-                              ServiceAvailabilityRepository serviceAvailabilityRepository) {
+                              ServiceAvailabilityRepository serviceAvailabilityRepository,
+                              FeedbackRepository feedbackRepository,
+                              ServicePlanRatingRepository servicePlanRatingRepository,
+                              ServicePlanSearchIndex servicePlanSearchIndex) {
         this.servicePlanRepository = servicePlanRepository;
         this.userRepository = userRepository;
         this.serviceAvailabilityRepository = serviceAvailabilityRepository;
+        this.feedbackRepository = feedbackRepository;
+        this.servicePlanRatingRepository = servicePlanRatingRepository;
+        this.servicePlanSearchIndex = servicePlanSearchIndex;
     }
 
+    @CacheEvict(cacheNames = CacheNames.SERVICE_PLANS, allEntries = true)
+    @Transactional
     public ServicePlan saveServicePlan(ServicePlan servicePlan) {
-        return servicePlanRepository.save(servicePlan);
+        ServicePlan savedServicePlan = servicePlanRepository.save(servicePlan);
+        servicePlanSearchIndex.put(ServicePlanDto.from(savedServicePlan));
+        return savedServicePlan;
     }
 
-    public List<ServicePlan> getAllServicePlans() {
-        return servicePlanRepository.findAll();
+    @Cacheable(CacheNames.SERVICE_PLANS)
+    @Transactional(readOnly = true)
+    public List<ServicePlanDto> getAllServicePlans() {
+        return servicePlanRepository.findAllDtos();
     }
 
-    public Optional<ServicePlan> getServicePlanById(Long id) {
-        return servicePlanRepository.findById(id);
+    @Transactional(readOnly = true)
+    public CursorPage<ServicePlanDto> getServicePlansPage(CursorRequest request) {
+        return CursorPage.of(servicePlanRepository.findDtoPage(request.afterId(), request.limit()),
+                request, ServicePlanDto::id);
     }
 
+    @Transactional(readOnly = true)
+    public Optional<ServicePlanDto> getServicePlanById(Long id) {
+        return servicePlanRepository.findDtoById(id);
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheNames.SERVICE_PLANS, allEntries = true),
+            @CacheEvict(cacheNames = {CacheNames.SERVICE_PLAN_USER_COUNTS, CacheNames.SERVICE_PLAN_ORDER_COUNTS}, key = "#id")
+    })
+    @Transactional
     public void deleteServicePlan(Long id) {
         servicePlanRepository.deleteById(id);
+        servicePlanSearchIndex.delete(id);
     }
 
+    @CacheEvict(cacheNames = CacheNames.SERVICE_PLANS, allEntries = true)
+    @Transactional
     public ServicePlan updateServicePlan(Long id, ServicePlan updatedServicePlan) {
         Optional<ServicePlan> existingServicePlanOpt = servicePlanRepository.findById(id);
         if (existingServicePlanOpt.isPresent()) {
@@ -54,12 +96,16 @@ public class ServicePlanService {
             existingServicePlan.setName(updatedServicePlan.getName());
             existingServicePlan.setDescription(updatedServicePlan.getDescription());
             existingServicePlan.setServiceAvailabilities(updatedServicePlan.getServiceAvailabilities());
-            return servicePlanRepository.save(existingServicePlan);
+            ServicePlan savedServicePlan = servicePlanRepository.save(existingServicePlan);
+            servicePlanSearchIndex.put(ServicePlanDto.from(savedServicePlan));
+            return savedServicePlan;
         } else {
             throw new ResourceNotFoundException("ServicePlan with id " + id + " not found.");
         }
     }
 
+    @CacheEvict(cacheNames = CacheNames.SERVICE_PLAN_USER_COUNTS, key = "#servicePlanId")
+    @Transactional
     public ServicePlan addUserToServicePlan(Long servicePlanId, Long userId) {
         Optional<ServicePlan> servicePlanOpt = servicePlanRepository.findById(servicePlanId);
         Optional<User> userOpt = userRepository.findById(userId);
@@ -76,6 +122,8 @@ public class ServicePlanService {
         }
     }
 
+    @CacheEvict(cacheNames = CacheNames.SERVICE_PLAN_USER_COUNTS, key = "#servicePlanId")
+    @Transactional
     public ServicePlan removeUserFromServicePlan(Long servicePlanId, Long userId) {
         Optional<ServicePlan> servicePlanOpt = servicePlanRepository.findById(servicePlanId);
         Optional<User> userOpt = userRepository.findById(userId);
@@ -92,6 +140,7 @@ public class ServicePlanService {
         }
     }
 
+    @Transactional
     public ServicePlan addServiceAvailabilityToServicePlan(Long servicePlanId, Long serviceAvailabilityId) {
         Optional<ServicePlan> servicePlanOpt = servicePlanRepository.findById(servicePlanId);
         Optional<ServiceAvailability> serviceAvailabilityOpt = serviceAvailabilityRepository.findById(serviceAvailabilityId);
@@ -107,6 +156,7 @@ public class ServicePlanService {
         }
     }
 
+    @Transactional
     public ServicePlan removeServiceAvailabilityFromServicePlan(Long servicePlanId, Long serviceAvailabilityId) {
         Optional<ServicePlan> servicePlanOpt = servicePlanRepository.findById(servicePlanId);
         Optional<ServiceAvailability> serviceAvailabilityOpt = serviceAvailabilityRepository.findById(serviceAvailabilityId);
@@ -122,25 +172,50 @@ public class ServicePlanService {
         }
     }
 
-    public List<ServicePlan> searchServicePlans(String query) {
-        return servicePlanRepository.findByNameContainingOrDescriptionContaining(query, query);
+    public List<ServicePlanDto> searchServicePlans(String query) {
+        return servicePlanSearchIndex.search(query);
     }
 
+    @Cacheable(CacheNames.SERVICE_PLAN_USER_COUNTS)
+    @Transactional(readOnly = true)
     public long countUsersInServicePlan(Long servicePlanId) {
         return servicePlanRepository.countUsersInServicePlan(servicePlanId);
     }
 
+    @Cacheable(CacheNames.SERVICE_PLAN_ORDER_COUNTS)
+    @Transactional(readOnly = true)
     public long countOrdersInServicePlan(Long servicePlanId) {
         return servicePlanRepository.countOrdersInServicePlan(servicePlanId);
     }
 
-    public List<Feedback> getFeedbacksForServicePlan(Long servicePlanId) {
-        Optional<ServicePlan> servicePlanOpt = servicePlanRepository.findById(servicePlanId);
-        if (servicePlanOpt.isPresent()) {
-            return servicePlanOpt.get().getFeedbacks();
-        } else {
+    @Cacheable(CacheNames.SERVICE_PLAN_RATINGS)
+    @Transactional(readOnly = true)
+    public List<ServicePlanRatingDto> getRatingsForAllServicePlans() {
+        return servicePlanRatingRepository.findAllOrderByServicePlanId().stream()
+                .map(ServicePlanRatingDto::from)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<ServicePlanRatingDto> getRatingsForServicePlan(Long servicePlanId) {
+        return servicePlanRatingRepository.findById(servicePlanId).map(ServicePlanRatingDto::from);
+    }
+
+    @Transactional(readOnly = true)
+    public List<FeedbackDto> getFeedbacksForServicePlan(Long servicePlanId) {
+        if (!servicePlanRepository.existsById(servicePlanId)) {
+            throw new ResourceNotFoundException("ServicePlan with id " + servicePlanId + " not found.");
+        }
+        return feedbackRepository.findDtosByServicePlanId(servicePlanId);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<FeedbackDto> getFeedbacksPageForServicePlan(Long servicePlanId, CursorRequest request) {
+        if (!servicePlanRepository.existsById(servicePlanId)) {
             throw new ResourceNotFoundException("ServicePlan with id " + servicePlanId + " not found.");
         }
+        return CursorPage.of(feedbackRepository.findDtoPageByServicePlanId(servicePlanId, request.afterId(), request.limit()),
+                request, FeedbackDto::id);
     }
 }
 
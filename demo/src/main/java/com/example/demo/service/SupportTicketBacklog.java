@@ -0,0 +1,248 @@
+package com.example.demo.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.demo.dto.SupportTicketBacklogDto;
+import com.example.demo.dto.SupportTicketHourlyCount;
+import com.example.demo.dto.SupportTicketStatusCount;
+import com.example.demo.repository.SupportTicketRepository;
+
+/**
+ * In-process counters behind the support ticket backlog dashboard and the per-status counts, so
+ * polling them does not count the tickets table each time.
+ * <p>
+ * Each status has a {@link LongAdder}, as does each hour of the last day for tickets created in
+ * it; adders keep concurrent writers from contending on a single counter. The creation date of
+ * the oldest open ticket is kept as well. Opening an older ticket moves it back right away, while
+ * closing or deleting the oldest one marks it stale, to be looked up again on the next read. That
+ * state is guarded by a {@link ReentrantLock} rather than {@code synchronized}, since the lookup
+ * queries the database while holding it and a virtual thread blocked inside {@code synchronized}
+ * pins its carrier thread.
+ * <p>
+ * Writes through {@link SupportTicketService} are applied once their transaction commits. Writes
+ * made by other instances or directly in the database are only picked up when the counters are
+ * reconciled with the database, which happens when the application is ready and then on a
+ * schedule. A write committed while a reconcile is running may be lost until the next one. Until
+ * the first reconcile completes, counts go to the repository.
+ */
+@Component
+public class SupportTicketBacklog {
+
+    private static final Logger log = LoggerFactory.getLogger(SupportTicketBacklog.class);
+
+    static final int HOURS = 24;
+
+    private final SupportTicketRepository supportTicketRepository;
+    private final Set<String> openStatuses;
+    private final Clock clock;
+    private final Lock oldestOpenLock = new ReentrantLock();
+
+    private volatile Map<String, LongAdder> statusCounts = new ConcurrentHashMap<>();
+    private volatile Map<LocalDateTime, LongAdder> hourlyCounts = new ConcurrentHashMap<>();
+    private LocalDateTime oldestOpenCreatedDate;
+    private boolean oldestOpenStale;
+    private volatile boolean loaded;
+
+    @Autowired
+    public SupportTicketBacklog(SupportTicketRepository supportTicketRepository,
+                                @Value("${app.support-tickets.open-statuses:OPEN,IN_PROGRESS}") Set<String> openStatuses) {
+        this(supportTicketRepository, openStatuses, Clock.systemDefaultZone());
+    }
+
+    SupportTicketBacklog(SupportTicketRepository supportTicketRepository, Set<String> openStatuses, Clock clock) {
+        this.supportTicketRepository = supportTicketRepository;
+        this.openStatuses = Set.copyOf(openStatuses);
+        this.clock = clock;
+    }
+
+    /**
+     * Replaces every counter with what the database currently holds.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.support-tickets.backlog.reconcile-interval:PT1M}",
+            initialDelayString = "${app.support-tickets.backlog.reconcile-interval:PT1M}")
+    public void reconcile() {
+        Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+        for (SupportTicketStatusCount row : supportTicketRepository.countGroupByStatus()) {
+            adder(statuses, row.status()).add(row.count());
+        }
+        Map<LocalDateTime, LongAdder> hours = new ConcurrentHashMap<>();
+        for (SupportTicketHourlyCount row : supportTicketRepository.countCreatedPerHourSince(firstHour())) {
+            adder(hours, row.hour()).add(row.count());
+        }
+        statusCounts = statuses;
+        hourlyCounts = hours;
+        refreshOldestOpen();
+        loaded = true;
+        log.debug("Support ticket backlog reconciled: {}", statuses);
+    }
+
+    public long countByStatus(String status) {
+        if (!loaded) {
+            return supportTicketRepository.countByStatus(status);
+        }
+        LongAdder count = statusCounts.get(status);
+        return count == null ? 0 : count.sum();
+    }
+
+    public SupportTicketBacklogDto getBacklog() {
+        if (!loaded) {
+            reconcile();
+        }
+        Map<String, Long> statuses = new TreeMap<>();
+        statusCounts.forEach((status, count) -> statuses.put(status, count.sum()));
+
+        LocalDateTime hour = firstHour();
+        List<SupportTicketHourlyCount> createdPerHour = new ArrayList<>(HOURS);
+        for (int i = 0; i < HOURS; i++, hour = hour.plusHours(1)) {
+            LongAdder count = hourlyCounts.get(hour);
+            createdPerHour.add(new SupportTicketHourlyCount(hour, count == null ? 0 : count.sum()));
+        }
+        hourlyCounts.keySet().removeIf(createdPerHour.get(0).hour()::isAfter);
+
+        LocalDateTime oldestOpen = oldestOpenCreatedDate();
+        Long oldestOpenAge = oldestOpen == null ? null : Duration.between(oldestOpen, LocalDateTime.now(clock)).toSeconds();
+        return new SupportTicketBacklogDto(statuses, createdPerHour, oldestOpen, oldestOpenAge);
+    }
+
+    /**
+     * Counts a new ticket once the current transaction commits, or right away outside of one.
+     */
+    public void created(String status, LocalDateTime createdDate) {
+        afterCommit(() -> {
+            adder(statusCounts, status).increment();
+            adjustHour(createdDate, 1);
+            opened(status, createdDate);
+        });
+    }
+
+    /**
+     * Moves a ticket from {@code oldStatus} to {@code newStatus} once the current transaction
+     * commits, or right away outside of one.
+     */
+    public void statusChanged(String oldStatus, String newStatus, LocalDateTime createdDate) {
+        if (oldStatus.equals(newStatus)) {
+            return;
+        }
+        afterCommit(() -> {
+            adder(statusCounts, oldStatus).decrement();
+            adder(statusCounts, newStatus).increment();
+            closed(oldStatus, createdDate);
+            opened(newStatus, createdDate);
+        });
+    }
+
+    /**
+     * Stops counting a deleted ticket once the current transaction commits, or right away outside
+     * of one.
+     */
+    public void deleted(String status, LocalDateTime createdDate) {
+        afterCommit(() -> {
+            adder(statusCounts, status).decrement();
+            adjustHour(createdDate, -1);
+            closed(status, createdDate);
+        });
+    }
+
+    private void adjustHour(LocalDateTime createdDate, long delta) {
+        if (!createdDate.isBefore(firstHour())) {
+            adder(hourlyCounts, createdDate.truncatedTo(ChronoUnit.HOURS)).add(delta);
+        }
+    }
+
+    private void opened(String status, LocalDateTime createdDate) {
+        oldestOpenLock.lock();
+        try {
+            if (isOpen(status) && !oldestOpenStale
+                    && (oldestOpenCreatedDate == null || createdDate.isBefore(oldestOpenCreatedDate))) {
+                oldestOpenCreatedDate = createdDate;
+            }
+        } finally {
+            oldestOpenLock.unlock();
+        }
+    }
+
+    private void closed(String status, LocalDateTime createdDate) {
+        oldestOpenLock.lock();
+        try {
+            if (isOpen(status) && (oldestOpenCreatedDate == null || !createdDate.isAfter(oldestOpenCreatedDate))) {
+                oldestOpenStale = true;
+            }
+        } finally {
+            oldestOpenLock.unlock();
+        }
+    }
+
+    private LocalDateTime oldestOpenCreatedDate() {
+        oldestOpenLock.lock();
+        try {
+            if (oldestOpenStale) {
+                refreshOldestOpen();
+            }
+            return oldestOpenCreatedDate;
+        } finally {
+            oldestOpenLock.unlock();
+        }
+    }
+
+    private void refreshOldestOpen() {
+        oldestOpenLock.lock();
+        try {
+            oldestOpenCreatedDate = supportTicketRepository.findOldestCreatedDateByStatusIn(openStatuses).orElse(null);
+            oldestOpenStale = false;
+        } finally {
+            oldestOpenLock.unlock();
+        }
+    }
+
+    private boolean isOpen(String status) {
+        return openStatuses.contains(status);
+    }
+
+    /**
+     * Start of the earliest hour on the dashboard; the current hour is the last one.
+     */
+    private LocalDateTime firstHour() {
+        return LocalDateTime.now(clock).truncatedTo(ChronoUnit.HOURS).minusHours(HOURS - 1);
+    }
+
+    private static <K> LongAdder adder(Map<K, LongAdder> counts, K key) {
+        return counts.computeIfAbsent(key, k -> new LongAdder());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -1,10 +1,19 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.SupportTicketBacklogDto;
+import com.example.demo.dto.SupportTicketDto;
+import com.example.demo.dto.SupportTicketSearchHit;
 import com.example.demo.model.SupportTicket;
-import com.example.demo.model.User;
+import com.example.demo.pagination.CursorPage;
+import com.example.demo.pagination.CursorRequest;
+import com.example.demo.persistence.FullTextQuery;
 import com.example.demo.repository.SupportTicketRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -14,31 +23,65 @@ import java.util.Optional;
 public class SupportTicketService {
 
     private final SupportTicketRepository supportTicketRepository;
+    private final SupportTicketBacklog supportTicketBacklog;
 
     @Autowired
-    public SupportTicketService(SupportTicketRepository supportTicketRepository) {
+    public SupportTicketService(SupportTicketRepository supportTicketRepository,
+                                SupportTicketBacklog supportTicketBacklog) {
         this.supportTicketRepository = supportTicketRepository;
+        this.supportTicketBacklog = supportTicketBacklog;
     }
 
+    /**
+     * Creates the ticket, or updates it when it carries the id of an existing one. The existing
+     * status and creation date are read before saving, since merging overwrites them in the
+     * persistence context.
+     */
+    @Transactional
     public SupportTicket saveSupportTicket(SupportTicket supportTicket) {
-        return supportTicketRepository.save(supportTicket);
+        Optional<SupportTicket> existing = supportTicket.getId() == null
+                ? Optional.empty()
+                : supportTicketRepository.findById(supportTicket.getId());
+        String oldStatus = existing.map(SupportTicket::getStatus).orElse(null);
+        LocalDateTime createdDate = existing.map(SupportTicket::getCreatedDate).orElse(null);
+        SupportTicket saved = supportTicketRepository.save(supportTicket);
+        if (oldStatus == null) {
+            supportTicketBacklog.created(saved.getStatus(), saved.getCreatedDate());
+        } else {
+            supportTicketBacklog.statusChanged(oldStatus, saved.getStatus(), createdDate);
+        }
+        return saved;
     }
 
-    public List<SupportTicket> getAllSupportTickets() {
-        return supportTicketRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<SupportTicketDto> getAllSupportTickets() {
+        return supportTicketRepository.findAllDtos();
     }
 
-    public Optional<SupportTicket> getSupportTicketById(Long id) {
-        return supportTicketRepository.findById(id);
+    @Transactional(readOnly = true)
+    public CursorPage<SupportTicketDto> getSupportTicketsPage(CursorRequest request) {
+        return CursorPage.of(supportTicketRepository.findDtoPage(request.afterId(), request.limit()),
+                request, SupportTicketDto::id);
     }
 
+    @Transactional(readOnly = true)
+    public Optional<SupportTicketDto> getSupportTicketById(Long id) {
+        return supportTicketRepository.findDtoById(id);
+    }
+
+    @Transactional
     public void deleteSupportTicket(Long id) {
-        supportTicketRepository.deleteById(id);
+        supportTicketRepository.findById(id).ifPresent(ticket -> {
+            supportTicketRepository.delete(ticket);
+            supportTicketBacklog.deleted(ticket.getStatus(), ticket.getCreatedDate());
+        });
     }
 
+    @Transactional
     public SupportTicket updateSupportTicket(Long id, SupportTicket updatedTicket) {
         return supportTicketRepository.findById(id)
                 .map(ticket -> {
+                    supportTicketBacklog.statusChanged(ticket.getStatus(), updatedTicket.getStatus(), ticket.getCreatedDate());
                     ticket.setIssueDescription(updatedTicket.getIssueDescription());
                     ticket.setStatus(updatedTicket.getStatus());
                     ticket.setLastModifiedDate(LocalDateTime.now());
@@ -47,24 +90,62 @@ public class SupportTicketService {
                 .orElseThrow(() -> new RuntimeException("Support ticket not found"));
     }
 
-    public List<SupportTicket> getSupportTicketsByStatus(String status) {
-        return supportTicketRepository.findByStatus(status);
+    @Transactional(readOnly = true)
+    public List<SupportTicketDto> getSupportTicketsByStatus(String status) {
+        return supportTicketRepository.findDtosByStatus(status);
+    }
+
+    @Transactional(readOnly = true)
+    public List<SupportTicketDto> getSupportTicketsByUser(Long userId) {
+        return supportTicketRepository.findDtosByUserId(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<SupportTicketDto> getSupportTicketsPageByStatus(String status, CursorRequest request) {
+        return CursorPage.of(supportTicketRepository.findDtoPageByStatus(status, request.afterId(), request.limit()),
+                request, SupportTicketDto::id);
     }
 
-    public List<SupportTicket> getSupportTicketsByUser(User user) {
-        return supportTicketRepository.findByUser(user);
+    @Transactional(readOnly = true)
+    public CursorPage<SupportTicketDto> getSupportTicketsPageByUser(Long userId, CursorRequest request) {
+        return CursorPage.of(supportTicketRepository.findDtoPageByUserId(userId, request.afterId(), request.limit()),
+                request, SupportTicketDto::id);
     }
 
     public long countSupportTicketsByStatus(String status) {
-        return supportTicketRepository.countByStatus(status);
+        return supportTicketBacklog.countByStatus(status);
+    }
+
+    public SupportTicketBacklogDto getBacklog() {
+        return supportTicketBacklog.getBacklog();
+    }
+
+    @Transactional(readOnly = true)
+    public List<SupportTicketDto> getSupportTicketsByCreatedDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return supportTicketRepository.findDtosByCreatedDateBetween(startDate, endDate);
     }
 
-    public List<SupportTicket> getSupportTicketsByCreatedDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return supportTicketRepository.findByCreatedDateBetween(startDate, endDate);
+    @Transactional(readOnly = true)
+    public List<SupportTicketDto> searchSupportTicketsByIssueDescription(String keyword) {
+        return supportTicketRepository.findDtosByIssueDescriptionContaining(keyword);
     }
 
-    public List<SupportTicket> searchSupportTicketsByIssueDescription(String keyword) {
-        return supportTicketRepository.findByIssueDescriptionContainingIgnoreCase(keyword);
+    /**
+     * Relevance-ranked full-text search; see {@link FullTextQuery} for the query syntax. One row
+     * beyond the page is fetched to tell whether another page follows, so no count query runs.
+     */
+    @Transactional(readOnly = true)
+    public Slice<SupportTicketSearchHit> searchSupportTickets(String query, String status,
+                                                              LocalDateTime createdFrom, LocalDateTime createdTo,
+                                                              Pageable pageable) {
+        Optional<String> tsQuery = FullTextQuery.toTsQuery(query);
+        if (tsQuery.isEmpty()) {
+            return new SliceImpl<>(List.of(), pageable, false);
+        }
+        List<SupportTicketSearchHit> rows = supportTicketRepository.searchIssueDescriptions(tsQuery.get(), status,
+                createdFrom, createdTo, pageable.getOffset(), pageable.getPageSize() + 1);
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
     }
 
 }
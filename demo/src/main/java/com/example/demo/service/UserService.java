@@ -1,46 +1,88 @@
 package com.example.demo.service;
 
+import com.example.demo.config.CacheNames;
+import com.example.demo.dto.ServicePlanDto;
+import com.example.demo.dto.UserDto;
 import com.example.demo.model.ServicePlan;
 import com.example.demo.model.User;
+import com.example.demo.pagination.CursorPage;
+import com.example.demo.pagination.CursorRequest;
+import com.example.demo.persistence.LikePatterns;
+import com.example.demo.repository.ServicePlanRepository;
 import com.example.demo.repository.UserRepository;
 import com.example.demo.security.Role;
+import com.example.demo.security.TokenVersions;
 import com.example.demo.exception.ResourceNotFoundException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 
 @Service
 public class UserService {
 
     private final UserRepository userRepository;
+    private final ServicePlanRepository servicePlanRepository;
+    private final TokenVersions tokenVersions;
+    private final Limit searchLimit;
 
     @Autowired
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, ServicePlanRepository servicePlanRepository,
+                       TokenVersions tokenVersions,
+                       @Value("${app.search.result-limit:50}") int searchResultLimit) {
         this.userRepository = userRepository;
+        this.servicePlanRepository = servicePlanRepository;
+        this.tokenVersions = tokenVersions;
+        this.searchLimit = Limit.of(searchResultLimit);
     }
 
+    /**
+     * Saving over an existing user keeps its token version, which the request body never carries,
+     * and revokes its bearer tokens if the email, password or role change.
+     */
+    @Transactional
     public User saveUser(User user) {
+        if (user.getId() != null) {
+            userRepository.findById(user.getId())
+                    .ifPresent(existing -> user.setTokenVersion(nextTokenVersion(existing, user)));
+        }
         return userRepository.save(user);
     }
 
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<UserDto> getAllUsers() {
+        return userRepository.findAllDtos();
     }
 
-    public Optional<User> getUserById(Long id) {
-        return userRepository.findById(id);
+    @Transactional(readOnly = true)
+    public CursorPage<UserDto> getUsersPage(CursorRequest request) {
+        return CursorPage.of(userRepository.findDtoPage(request.afterId(), request.limit()),
+                request, UserDto::id);
     }
 
+    @Transactional(readOnly = true)
+    public Optional<UserDto> getUserById(Long id) {
+        return userRepository.findDtoById(id);
+    }
+
+    @CacheEvict(cacheNames = CacheNames.SERVICE_PLAN_USER_COUNTS, allEntries = true)
+    @Transactional
     public void deleteUser(Long id) {
         userRepository.deleteById(id);
+        tokenVersions.revoked(id);
     }
 
+    @Transactional
     public User updateUser(Long id, User userDetails) {
         return userRepository.findById(id).map(user -> {
+            user.setTokenVersion(nextTokenVersion(user, userDetails));
             user.setUsername(userDetails.getUsername());
             user.setEmail(userDetails.getEmail());
             user.setPassword(userDetails.getPassword());
@@ -50,22 +92,34 @@ public class UserService {
         }).orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
     }
 
+    @Transactional(readOnly = true)
     public boolean existsByUsername(String username) {
         return userRepository.existsByUsername(username);
     }
 
+    @Transactional(readOnly = true)
     public boolean existsByEmail(String email) {
         return userRepository.existsByEmail(email);
     }
 
-    public List<User> searchUsersByUsername(String username) {
-        return userRepository.findByUsernameContainingIgnoreCase(username);
+    @Transactional(readOnly = true)
+    public List<UserDto> searchUsersByUsername(String username) {
+        return userRepository.searchDtosByUsername(username, LikePatterns.escape(username), searchLimit);
+    }
+
+    @Transactional(readOnly = true)
+    public List<UserDto> searchUsersByRole(Role role) {
+        return userRepository.findDtosByRole(role);
     }
 
-    public List<User> searchUsersByRole(Role role) {
-        return userRepository.findByRole(role);
+    @Transactional(readOnly = true)
+    public CursorPage<UserDto> getUsersPageByRole(Role role, CursorRequest request) {
+        return CursorPage.of(userRepository.findDtoPageByRole(role, request.afterId(), request.limit()),
+                request, UserDto::id);
     }
 
+    @CacheEvict(cacheNames = CacheNames.SERVICE_PLAN_USER_COUNTS, key = "#servicePlan.id")
+    @Transactional
     public User assignServicePlan(Long userId, ServicePlan servicePlan) {
         return userRepository.findById(userId).map(user -> {
             user.getServicePlans().add(servicePlan);
@@ -73,6 +127,8 @@ public class UserService {
         }).orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
     }
 
+    @CacheEvict(cacheNames = CacheNames.SERVICE_PLAN_USER_COUNTS, key = "#servicePlan.id")
+    @Transactional
     public User removeServicePlan(Long userId, ServicePlan servicePlan) {
         return userRepository.findById(userId).map(user -> {
             user.getServicePlans().remove(servicePlan);
@@ -80,9 +136,25 @@ public class UserService {
         }).orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
     }
 
-    public Set<ServicePlan> getServicePlansForUser(Long userId) {
-        return userRepository.findById(userId)
-                .map(User::getServicePlans)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+    @Transactional(readOnly = true)
+    public List<ServicePlanDto> getServicePlansForUser(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found with id: " + userId);
+        }
+        return servicePlanRepository.findDtosByUserId(userId);
+    }
+
+    /**
+     * Changing the email, password or role revokes the user's outstanding bearer tokens, which
+     * carry the old email and role.
+     */
+    private int nextTokenVersion(User existing, User changes) {
+        if (Objects.equals(existing.getEmail(), changes.getEmail())
+                && Objects.equals(existing.getPassword(), changes.getPassword())
+                && existing.getRole() == changes.getRole()) {
+            return existing.getTokenVersion();
+        }
+        tokenVersions.revoked(existing.getId());
+        return existing.getTokenVersion() + 1;
     }
 }
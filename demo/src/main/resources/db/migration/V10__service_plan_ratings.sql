@@ -0,0 +1,77 @@
+-- Star rating distribution per service plan: how many feedbacks gave each of 1 to 5 stars, plus
+-- the sum of all ratings for the average. Row triggers on feedbacks adjust the counters in the
+-- writing transaction, and every plan gets its row when it is inserted.
+
+create table service_plan_ratings (
+    service_plan_id bigint not null,
+    rating_1_count bigint not null default 0,
+    rating_2_count bigint not null default 0,
+    rating_3_count bigint not null default 0,
+    rating_4_count bigint not null default 0,
+    rating_5_count bigint not null default 0,
+    rating_sum bigint not null default 0,
+    primary key (service_plan_id)
+);
+
+alter table if exists service_plan_ratings
+    add constraint fk_service_plan_ratings_service_plan_id foreign key (service_plan_id) references service_plans on delete cascade;
+
+create function service_plan_ratings_create() returns trigger language plpgsql as $$
+begin
+    insert into service_plan_ratings (service_plan_id) values (new.id);
+    return null;
+end;
+$$;
+
+create function service_plan_ratings_add(p_service_plan_id bigint, p_rating integer, p_delta integer)
+returns void language sql as $$
+    update service_plan_ratings
+    set rating_1_count = rating_1_count + case when p_rating = 1 then p_delta else 0 end,
+        rating_2_count = rating_2_count + case when p_rating = 2 then p_delta else 0 end,
+        rating_3_count = rating_3_count + case when p_rating = 3 then p_delta else 0 end,
+        rating_4_count = rating_4_count + case when p_rating = 4 then p_delta else 0 end,
+        rating_5_count = rating_5_count + case when p_rating = 5 then p_delta else 0 end,
+        rating_sum = rating_sum + p_rating * p_delta
+    where service_plan_id = p_service_plan_id;
+$$;
+
+create function service_plan_ratings_apply_feedback() returns trigger language plpgsql as $$
+begin
+    if tg_op in ('UPDATE', 'DELETE') then
+        perform service_plan_ratings_add(old.service_plan_id, old.rating, -1);
+    end if;
+    if tg_op in ('INSERT', 'UPDATE') then
+        perform service_plan_ratings_add(new.service_plan_id, new.rating, 1);
+    end if;
+    return null;
+end;
+$$;
+
+-- Creating the triggers locks out writes to these tables until this migration commits, so no
+-- write can fall between the backfill below and the triggers taking over.
+create trigger service_plans_service_plan_ratings_insert
+    after insert on service_plans
+    for each row execute function service_plan_ratings_create();
+
+create trigger feedbacks_service_plan_ratings_insert_delete
+    after insert or delete on feedbacks
+    for each row execute function service_plan_ratings_apply_feedback();
+
+create trigger feedbacks_service_plan_ratings_update
+    after update of service_plan_id, rating on feedbacks
+    for each row
+    when (old.service_plan_id is distinct from new.service_plan_id or old.rating is distinct from new.rating)
+    execute function service_plan_ratings_apply_feedback();
+
+insert into service_plan_ratings (service_plan_id, rating_1_count, rating_2_count, rating_3_count,
+                                  rating_4_count, rating_5_count, rating_sum)
+select sp.id,
+       count(f.id) filter (where f.rating = 1),
+       count(f.id) filter (where f.rating = 2),
+       count(f.id) filter (where f.rating = 3),
+       count(f.id) filter (where f.rating = 4),
+       count(f.id) filter (where f.rating = 5),
+       coalesce(sum(f.rating), 0)
+from service_plans sp
+left join feedbacks f on f.service_plan_id = sp.id
+group by sp.id;
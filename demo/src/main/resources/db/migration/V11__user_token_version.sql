@@ -0,0 +1,5 @@
+-- Version of the bearer tokens a user may present. Tokens carry the version they were issued
+-- with, and bumping it when the password or role changes revokes every token issued before.
+
+alter table if exists users
+    add column token_version integer not null default 0;
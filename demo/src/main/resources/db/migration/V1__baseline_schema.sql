@@ -0,0 +1,168 @@
+-- Baseline schema, equivalent to what Hibernate generated from the entity mappings.
+
+create sequence feedbacks_seq start with 1 increment by 50;
+create sequence network_statuses_seq start with 1 increment by 50;
+create sequence orders_seq start with 1 increment by 50;
+create sequence payments_seq start with 1 increment by 50;
+create sequence regions_seq start with 1 increment by 50;
+create sequence service_availabilities_seq start with 1 increment by 50;
+create sequence service_plans_seq start with 1 increment by 50;
+create sequence support_tickets_seq start with 1 increment by 50;
+create sequence users_seq start with 1 increment by 50;
+
+create table feedbacks (
+    rating integer not null,
+    created_date timestamp(6),
+    id bigint not null,
+    last_modified_date timestamp(6),
+    service_plan_id bigint not null,
+    submitted_date timestamp(6) not null,
+    user_id bigint not null,
+    feedback_text varchar(500) not null,
+    primary key (id)
+);
+
+create table network_status_service_availability (
+    network_status_id bigint not null,
+    service_availability_id bigint not null,
+    primary key (network_status_id, service_availability_id)
+);
+
+create table network_statuses (
+    created_date timestamp(6),
+    id bigint not null,
+    last_modified_date timestamp(6),
+    region_id bigint not null,
+    update_date timestamp(6) not null,
+    status varchar(100) not null,
+    primary key (id)
+);
+
+create table orders (
+    total_amount float(53) not null,
+    created_date timestamp(6),
+    id bigint not null,
+    last_modified_date timestamp(6),
+    order_date timestamp(6) not null,
+    service_plan_id bigint not null,
+    user_id bigint not null,
+    primary key (id)
+);
+
+create table payments (
+    amount float(53) not null,
+    created_date timestamp(6),
+    id bigint not null,
+    last_modified_date timestamp(6),
+    order_id bigint not null,
+    payment_date timestamp(6) not null,
+    user_id bigint not null,
+    primary key (id)
+);
+
+create table regions (
+    created_date timestamp(6),
+    id bigint not null,
+    last_modified_date timestamp(6),
+    name varchar(100) not null unique,
+    description varchar(500),
+    primary key (id)
+);
+
+create table service_availabilities (
+    availability_date timestamp(6) not null,
+    created_date timestamp(6),
+    id bigint not null,
+    last_modified_date timestamp(6),
+    availability_status varchar(100) not null,
+    primary key (id)
+);
+
+create table service_plan_availability (
+    service_availability_id bigint not null,
+    service_plan_id bigint not null,
+    primary key (service_availability_id, service_plan_id)
+);
+
+create table service_plans (
+    created_date timestamp(6),
+    id bigint not null,
+    last_modified_date timestamp(6),
+    name varchar(100) not null unique,
+    description varchar(500),
+    primary key (id)
+);
+
+create table support_tickets (
+    auditing_created_date timestamp(6),
+    created_date timestamp(6) not null,
+    id bigint not null,
+    last_modified_date timestamp(6),
+    user_id bigint not null,
+    status varchar(50) not null,
+    issue_description varchar(1000) not null,
+    primary key (id)
+);
+
+create table user_service_plans (
+    service_plan_id bigint not null,
+    user_id bigint not null,
+    primary key (service_plan_id, user_id)
+);
+
+create table users (
+    created_date timestamp(6),
+    id bigint not null,
+    last_modified_date timestamp(6),
+    region_id bigint,
+    username varchar(50) not null unique,
+    email varchar(100) not null unique,
+    password varchar(100) not null,
+    role varchar(255) check (role in ('USER','ADMIN')),
+    primary key (id)
+);
+
+alter table feedbacks
+    add constraint fk_feedbacks_service_plan_id foreign key (service_plan_id) references service_plans;
+
+alter table feedbacks
+    add constraint fk_feedbacks_user_id foreign key (user_id) references users;
+
+alter table network_status_service_availability
+    add constraint fk_network_status_service_availability_service_availability_id foreign key (service_availability_id) references service_availabilities;
+
+alter table network_status_service_availability
+    add constraint fk_network_status_service_availability_network_status_id foreign key (network_status_id) references network_statuses;
+
+alter table network_statuses
+    add constraint fk_network_statuses_region_id foreign key (region_id) references regions;
+
+alter table orders
+    add constraint fk_orders_service_plan_id foreign key (service_plan_id) references service_plans;
+
+alter table orders
+    add constraint fk_orders_user_id foreign key (user_id) references users;
+
+alter table payments
+    add constraint fk_payments_order_id foreign key (order_id) references orders;
+
+alter table payments
+    add constraint fk_payments_user_id foreign key (user_id) references users;
+
+alter table service_plan_availability
+    add constraint fk_service_plan_availability_service_availability_id foreign key (service_availability_id) references service_availabilities;
+
+alter table service_plan_availability
+    add constraint fk_service_plan_availability_service_plan_id foreign key (service_plan_id) references service_plans;
+
+alter table support_tickets
+    add constraint fk_support_tickets_user_id foreign key (user_id) references users;
+
+alter table user_service_plans
+    add constraint fk_user_service_plans_service_plan_id foreign key (service_plan_id) references service_plans;
+
+alter table user_service_plans
+    add constraint fk_user_service_plans_user_id foreign key (user_id) references users;
+
+alter table users
+    add constraint fk_users_region_id foreign key (region_id) references regions;
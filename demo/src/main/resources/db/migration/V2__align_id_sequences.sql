@@ -0,0 +1,23 @@
+-- Databases that predate Flyway are baselined at version 1, so V1 never runs there. Their id
+-- sequences may be missing, or may still be behind ids written before the pooled sequences existed.
+-- Create any missing ones and move each past the current max id. On a fresh schema this is a no-op.
+
+create sequence if not exists feedbacks_seq start with 1 increment by 50;
+create sequence if not exists network_statuses_seq start with 1 increment by 50;
+create sequence if not exists orders_seq start with 1 increment by 50;
+create sequence if not exists payments_seq start with 1 increment by 50;
+create sequence if not exists regions_seq start with 1 increment by 50;
+create sequence if not exists service_availabilities_seq start with 1 increment by 50;
+create sequence if not exists service_plans_seq start with 1 increment by 50;
+create sequence if not exists support_tickets_seq start with 1 increment by 50;
+create sequence if not exists users_seq start with 1 increment by 50;
+
+select setval('feedbacks_seq', (select coalesce(max(id), 0) + 1 from feedbacks), false);
+select setval('network_statuses_seq', (select coalesce(max(id), 0) + 1 from network_statuses), false);
+select setval('orders_seq', (select coalesce(max(id), 0) + 1 from orders), false);
+select setval('payments_seq', (select coalesce(max(id), 0) + 1 from payments), false);
+select setval('regions_seq', (select coalesce(max(id), 0) + 1 from regions), false);
+select setval('service_availabilities_seq', (select coalesce(max(id), 0) + 1 from service_availabilities), false);
+select setval('service_plans_seq', (select coalesce(max(id), 0) + 1 from service_plans), false);
+select setval('support_tickets_seq', (select coalesce(max(id), 0) + 1 from support_tickets), false);
+select setval('users_seq', (select coalesce(max(id), 0) + 1 from users), false);
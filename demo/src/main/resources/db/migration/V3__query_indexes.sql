@@ -0,0 +1,58 @@
+-- Indexes for the repository queries. Foreign key filters that page or sort by id are indexed as
+-- (fk, id) so both the list query and its keyset page are answered in index order without a sort.
+-- Date and amount filters are range scans and get single-column indexes.
+-- Every statement builds concurrently so the migration does not block writes on a live table;
+-- Flyway runs this script outside a transaction because of that.
+
+-- FeedbackRepository: findDtos[Page]ByUserId, findDtos[Page]ByServicePlanId, findDtosByRating[Between]
+create index concurrently if not exists idx_feedbacks_user_id_id on feedbacks (user_id, id);
+create index concurrently if not exists idx_feedbacks_service_plan_id_id on feedbacks (service_plan_id, id);
+create index concurrently if not exists idx_feedbacks_rating_id on feedbacks (rating, id);
+
+-- NetworkStatusRepository: findDtos[Page]ByRegionId, findDtosByUpdateDateBetween
+create index concurrently if not exists idx_network_statuses_region_id_id on network_statuses (region_id, id);
+create index concurrently if not exists idx_network_statuses_update_date on network_statuses (update_date);
+
+-- findDtosByServiceAvailabilityId and the availability bulk delete look links up by the second key
+-- column of the primary key.
+create index concurrently if not exists idx_network_status_service_availability_sa_id
+    on network_status_service_availability (service_availability_id, network_status_id);
+
+-- OrderRepository: findDtos[Page]ByUserId, sumTotalAmountByUserId (index-only), findDtos[Page]ByServicePlanId,
+-- findDtosByOrderDateBetween
+create index concurrently if not exists idx_orders_user_id_id on orders (user_id, id) include (total_amount);
+create index concurrently if not exists idx_orders_service_plan_id_id on orders (service_plan_id, id);
+create index concurrently if not exists idx_orders_order_date on orders (order_date);
+
+-- PaymentRepository: findDtos[Page]ByUserId, findDtos[Page]ByOrderId, findDtosByPaymentDateBetween,
+-- findDtosByAmountBetween
+create index concurrently if not exists idx_payments_user_id_id on payments (user_id, id);
+create index concurrently if not exists idx_payments_order_id_id on payments (order_id, id);
+create index concurrently if not exists idx_payments_payment_date on payments (payment_date);
+create index concurrently if not exists idx_payments_amount on payments (amount);
+
+-- ServiceAvailabilityRepository: findDtos[Page]ByAvailabilityStatus, findIdRangeByAvailabilityStatus,
+-- deleteRows, findDtosByAvailabilityDateBetween, findAllDtosSortedByDate
+create index concurrently if not exists idx_service_availabilities_status_id
+    on service_availabilities (availability_status, id);
+create index concurrently if not exists idx_service_availabilities_availability_date
+    on service_availabilities (availability_date);
+
+-- ServicePlan.serviceAvailabilities is loaded by plan id, the second key column of the primary key.
+create index concurrently if not exists idx_service_plan_availability_sp_id
+    on service_plan_availability (service_plan_id, service_availability_id);
+
+-- SupportTicketRepository: countByStatus, findDtos[Page]ByStatus, findDtos[Page]ByUserId,
+-- findDtosByCreatedDateBetween
+create index concurrently if not exists idx_support_tickets_status_id on support_tickets (status, id);
+create index concurrently if not exists idx_support_tickets_user_id_id on support_tickets (user_id, id);
+create index concurrently if not exists idx_support_tickets_created_date on support_tickets (created_date);
+
+-- ServicePlanRepository.findDtosByUserId and User.servicePlans look plans up by user id, the second
+-- key column of the primary key.
+create index concurrently if not exists idx_user_service_plans_user_id
+    on user_service_plans (user_id, service_plan_id);
+
+-- UserRepository: findDtos[Page]ByRole; region_id backs the foreign key from users to regions.
+create index concurrently if not exists idx_users_role_id on users (role, id);
+create index concurrently if not exists idx_users_region_id on users (region_id);
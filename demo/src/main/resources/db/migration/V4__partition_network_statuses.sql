@@ -0,0 +1,54 @@
+-- Rebuilds network_statuses as a table range-partitioned by month of update_date. Date-bounded
+-- queries then scan only the months they cover, and old months are dropped as whole partitions
+-- instead of deleted row by row. Partitions ahead of the current month and retention are handled
+-- at runtime by NetworkStatusPartitionManager; this script only covers the rows that exist today.
+--
+-- The primary key of a partitioned table must include the partition key, so it becomes
+-- (id, update_date). A foreign key can only reference a unique key, so the link table loses its
+-- foreign key to network_statuses; the partition manager removes links together with a partition.
+
+alter table network_statuses rename to network_statuses_unpartitioned;
+alter index network_statuses_pkey rename to network_statuses_unpartitioned_pkey;
+drop index if exists idx_network_statuses_region_id_id;
+drop index if exists idx_network_statuses_update_date;
+
+alter table network_status_service_availability
+    drop constraint if exists fk_network_status_service_availability_network_status_id;
+
+create table network_statuses (
+    created_date timestamp(6),
+    id bigint not null,
+    last_modified_date timestamp(6),
+    region_id bigint not null,
+    update_date timestamp(6) not null,
+    status varchar(100) not null,
+    primary key (id, update_date)
+) partition by range (update_date);
+
+do $$
+declare
+    first_month date := date_trunc('month', coalesce((select min(update_date) from network_statuses_unpartitioned), now()));
+    last_month date := date_trunc('month', greatest((select max(update_date) from network_statuses_unpartitioned), now() + interval '3 months'));
+    month date := first_month;
+begin
+    while month <= last_month loop
+        execute format('create table %I partition of network_statuses for values from (%L) to (%L)',
+                'network_statuses_p' || to_char(month, 'YYYY_MM'), month, month + interval '1 month');
+        month := month + interval '1 month';
+    end loop;
+end $$;
+
+insert into network_statuses (created_date, id, last_modified_date, region_id, update_date, status)
+select created_date, id, last_modified_date, region_id, update_date, status
+from network_statuses_unpartitioned;
+
+drop table network_statuses_unpartitioned;
+
+alter table network_statuses
+    add constraint fk_network_statuses_region_id foreign key (region_id) references regions;
+
+-- Declared on the parent, so every partition created later gets the same indexes.
+create index idx_network_statuses_region_id_id on network_statuses (region_id, id);
+create index idx_network_statuses_update_date on network_statuses (update_date);
+
+analyze network_statuses;
@@ -0,0 +1,8 @@
+-- Full-text search over support ticket descriptions. The tsvector is a stored generated column,
+-- so it is computed once per write instead of once per row on every search, and the GIN index
+-- answers @@ matches without scanning the table. Writing it rewrites support_tickets once.
+
+alter table support_tickets
+    add column issue_search tsvector generated always as (to_tsvector('english', issue_description)) stored;
+
+create index idx_support_tickets_issue_search on support_tickets using gin (issue_search);
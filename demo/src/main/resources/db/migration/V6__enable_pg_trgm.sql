@@ -0,0 +1,4 @@
+-- Trigram matching for the fuzzy user, region and service plan searches. pg_trgm is a trusted
+-- extension, so the database owner can create it without superuser rights.
+
+create extension if not exists pg_trgm;
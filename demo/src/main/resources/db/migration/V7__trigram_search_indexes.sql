@@ -0,0 +1,9 @@
+-- Trigram GIN indexes for the name and description searches. Each one serves both the
+-- case-insensitive substring match (ilike '%q%') and the typo-tolerant word similarity match
+-- (q <% column), so neither needs a sequential scan. Built concurrently; see V3.
+
+create index concurrently if not exists idx_users_username_trgm on users using gin (username gin_trgm_ops);
+create index concurrently if not exists idx_regions_name_trgm on regions using gin (name gin_trgm_ops);
+create index concurrently if not exists idx_regions_description_trgm on regions using gin (description gin_trgm_ops);
+create index concurrently if not exists idx_service_plans_name_trgm on service_plans using gin (name gin_trgm_ops);
+create index concurrently if not exists idx_service_plans_description_trgm on service_plans using gin (description gin_trgm_ops);
@@ -0,0 +1,103 @@
+-- Per-user running totals of orders and payments, kept current by row triggers so every write
+-- path (JPA, batched inserts, cascades, manual SQL) updates them in the writing transaction.
+-- Sums are numeric so that adding and subtracting amounts in any order gives exactly what a fresh
+-- aggregate over the source rows gives.
+
+create table user_order_totals (
+    user_id bigint not null,
+    order_count bigint not null default 0,
+    order_total numeric not null default 0,
+    payment_total numeric not null default 0,
+    last_order_date timestamp(6),
+    primary key (user_id)
+);
+
+alter table if exists user_order_totals
+    add constraint fk_user_order_totals_user_id foreign key (user_id) references users on delete cascade;
+
+-- Removals only update an existing row, so they never recreate the row of a user that is being
+-- deleted. last_order_date is recomputed only when the removed order was the latest one.
+create function user_order_totals_apply_order() returns trigger language plpgsql as $$
+begin
+    if tg_op in ('UPDATE', 'DELETE') then
+        update user_order_totals t
+        set order_count = t.order_count - 1,
+            order_total = t.order_total - old.total_amount::numeric,
+            last_order_date = case
+                when old.order_date < t.last_order_date then t.last_order_date
+                else (select max(o.order_date) from orders o where o.user_id = old.user_id)
+            end
+        where t.user_id = old.user_id;
+    end if;
+    if tg_op in ('INSERT', 'UPDATE') then
+        insert into user_order_totals as t (user_id, order_count, order_total, last_order_date)
+        values (new.user_id, 1, new.total_amount::numeric, new.order_date)
+        on conflict (user_id) do update
+        set order_count = t.order_count + 1,
+            order_total = t.order_total + excluded.order_total,
+            last_order_date = greatest(t.last_order_date, excluded.last_order_date);
+    end if;
+    return null;
+end;
+$$;
+
+create function user_order_totals_apply_payment() returns trigger language plpgsql as $$
+begin
+    if tg_op in ('UPDATE', 'DELETE') then
+        update user_order_totals t
+        set payment_total = t.payment_total - old.amount::numeric
+        where t.user_id = old.user_id;
+    end if;
+    if tg_op in ('INSERT', 'UPDATE') then
+        insert into user_order_totals as t (user_id, payment_total)
+        values (new.user_id, new.amount::numeric)
+        on conflict (user_id) do update
+        set payment_total = t.payment_total + excluded.payment_total;
+    end if;
+    return null;
+end;
+$$;
+
+-- Creating the triggers locks out writes to both tables until this migration commits, so no
+-- write can fall between the backfill below and the triggers taking over.
+create trigger orders_user_order_totals_insert_delete
+    after insert or delete on orders
+    for each row execute function user_order_totals_apply_order();
+
+create trigger orders_user_order_totals_update
+    after update of user_id, total_amount, order_date on orders
+    for each row
+    when (old.user_id is distinct from new.user_id
+        or old.total_amount is distinct from new.total_amount
+        or old.order_date is distinct from new.order_date)
+    execute function user_order_totals_apply_order();
+
+create trigger payments_user_order_totals_insert_delete
+    after insert or delete on payments
+    for each row execute function user_order_totals_apply_payment();
+
+create trigger payments_user_order_totals_update
+    after update of user_id, amount on payments
+    for each row
+    when (old.user_id is distinct from new.user_id or old.amount is distinct from new.amount)
+    execute function user_order_totals_apply_payment();
+
+insert into user_order_totals (user_id, order_count, order_total, payment_total, last_order_date)
+select u.id,
+       coalesce(o.order_count, 0),
+       coalesce(o.order_total, 0),
+       coalesce(p.payment_total, 0),
+       o.last_order_date
+from users u
+left join (
+    select user_id, count(*) as order_count, sum(total_amount::numeric) as order_total,
+           max(order_date) as last_order_date
+    from orders
+    group by user_id
+) o on o.user_id = u.id
+left join (
+    select user_id, sum(amount::numeric) as payment_total
+    from payments
+    group by user_id
+) p on p.user_id = u.id
+where o.user_id is not null or p.user_id is not null;
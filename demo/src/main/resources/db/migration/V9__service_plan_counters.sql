@@ -0,0 +1,71 @@
+-- Subscriber and order counts per service plan, kept as counters instead of counting the join
+-- table and orders on every read. Row triggers apply each membership and order change with an
+-- atomic "count = count + 1" in the writing transaction, whichever code path made the change.
+-- Every plan gets its counter row when it is inserted, so the triggers only ever update.
+
+create table service_plan_counters (
+    service_plan_id bigint not null,
+    user_count bigint not null default 0,
+    order_count bigint not null default 0,
+    primary key (service_plan_id)
+);
+
+alter table if exists service_plan_counters
+    add constraint fk_service_plan_counters_service_plan_id foreign key (service_plan_id) references service_plans on delete cascade;
+
+create function service_plan_counters_create() returns trigger language plpgsql as $$
+begin
+    insert into service_plan_counters (service_plan_id) values (new.id);
+    return null;
+end;
+$$;
+
+create function service_plan_counters_apply_user() returns trigger language plpgsql as $$
+begin
+    if tg_op in ('UPDATE', 'DELETE') then
+        update service_plan_counters set user_count = user_count - 1 where service_plan_id = old.service_plan_id;
+    end if;
+    if tg_op in ('INSERT', 'UPDATE') then
+        update service_plan_counters set user_count = user_count + 1 where service_plan_id = new.service_plan_id;
+    end if;
+    return null;
+end;
+$$;
+
+create function service_plan_counters_apply_order() returns trigger language plpgsql as $$
+begin
+    if tg_op in ('UPDATE', 'DELETE') then
+        update service_plan_counters set order_count = order_count - 1 where service_plan_id = old.service_plan_id;
+    end if;
+    if tg_op in ('INSERT', 'UPDATE') then
+        update service_plan_counters set order_count = order_count + 1 where service_plan_id = new.service_plan_id;
+    end if;
+    return null;
+end;
+$$;
+
+-- Creating the triggers locks out writes to these tables until this migration commits, so no
+-- write can fall between the backfill below and the triggers taking over.
+create trigger service_plans_service_plan_counters_insert
+    after insert on service_plans
+    for each row execute function service_plan_counters_create();
+
+create trigger user_service_plans_service_plan_counters
+    after insert or update or delete on user_service_plans
+    for each row execute function service_plan_counters_apply_user();
+
+create trigger orders_service_plan_counters_insert_delete
+    after insert or delete on orders
+    for each row execute function service_plan_counters_apply_order();
+
+create trigger orders_service_plan_counters_update
+    after update of service_plan_id on orders
+    for each row
+    when (old.service_plan_id is distinct from new.service_plan_id)
+    execute function service_plan_counters_apply_order();
+
+insert into service_plan_counters (service_plan_id, user_count, order_count)
+select sp.id,
+       (select count(*) from user_service_plans usp where usp.service_plan_id = sp.id),
+       (select count(*) from orders o where o.service_plan_id = sp.id)
+from service_plans sp;
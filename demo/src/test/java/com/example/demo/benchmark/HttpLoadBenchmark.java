@@ -0,0 +1,131 @@
+package com.example.demo.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop HTTP load generator for comparing the platform-thread and {@code virtual-threads}
+ * profiles: {@code concurrency} clients each send the next GET as soon as the previous one
+ * returns, for {@code seconds}, and the run reports throughput, the 503 share and latency
+ * percentiles. Not a test; start the application in the profile under test, then run
+ * <pre>
+ * java -cp target/test-classes com.example.demo.benchmark.HttpLoadBenchmark \
+ *     http://localhost:8080 /api/service-plans 400 30
+ * </pre>
+ * It registers a throwaway user first and sends its token with every request, unless a token is
+ * passed as a fifth argument.
+ */
+public final class HttpLoadBenchmark {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args[0];
+        String path = args[1];
+        int concurrency = Integer.parseInt(args[2]);
+        int seconds = Integer.parseInt(args[3]);
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newFixedThreadPool(Math.max(4, concurrency / 8)))
+                .build();
+        String token = args.length > 4 ? args[4] : register(client, baseUrl);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .build();
+
+        // Warm up the JIT and the connection pool before measuring.
+        run(client, request, concurrency, System.nanoTime() + Duration.ofSeconds(5).toNanos());
+        long start = System.nanoTime();
+        List<Result> results = run(client, request, concurrency, start + Duration.ofSeconds(seconds).toNanos());
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        long[] latencies = results.stream().flatMapToLong(result -> Arrays.stream(result.latencies())).sorted().toArray();
+        long ok = results.stream().mapToLong(Result::ok).sum();
+        long rejected = results.stream().mapToLong(Result::rejected).sum();
+        long failed = results.stream().mapToLong(Result::failed).sum();
+        System.out.printf("requests/s=%.0f ok=%d rejected(503)=%d failed=%d p50=%.1fms p99=%.1fms max=%.1fms%n",
+                ok / elapsedSeconds, ok, rejected, failed,
+                percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 1.0));
+        System.exit(0);
+    }
+
+    private static String register(HttpClient client, String baseUrl) throws Exception {
+        String username = "load-" + UUID.randomUUID().toString().substring(0, 8);
+        String body = "{\"username\":\"" + username + "\",\"email\":\"" + username + "@example.com\",\"password\":\"secret\"}";
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/auth/register"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = TOKEN.matcher(response.body());
+        if (!matcher.find()) {
+            throw new IllegalStateException("Registration failed: " + response.statusCode() + " " + response.body());
+        }
+        return matcher.group(1);
+    }
+
+    private static List<Result> run(HttpClient client, HttpRequest request, int concurrency, long deadline)
+            throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<Result>> futures = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(workers.submit(() -> {
+                long[] latencies = new long[1024];
+                int count = 0;
+                long ok = 0;
+                long rejected = 0;
+                long failed = 0;
+                while (System.nanoTime() < deadline) {
+                    long sent = System.nanoTime();
+                    int status;
+                    try {
+                        status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (Exception e) {
+                        status = -1;
+                    }
+                    if (status == 200) {
+                        ok++;
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - sent;
+                    } else if (status == 503) {
+                        rejected++;
+                    } else {
+                        failed++;
+                    }
+                }
+                return new Result(Arrays.copyOf(latencies, count), ok, rejected, failed);
+            }));
+        }
+        List<Result> results = new ArrayList<>();
+        for (Future<Result> future : futures) {
+            results.add(future.get());
+        }
+        workers.shutdown();
+        return results;
+    }
+
+    private static double percentile(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1e6;
+    }
+
+    private record Result(long[] latencies, long ok, long rejected, long failed) {
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.demo.benchmark;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.example.demo.model.User;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.security.JwtAuthenticationFilter;
+import com.example.demo.security.JwtService;
+import com.example.demo.security.JwtVerifier;
+import com.example.demo.security.Role;
+import com.example.demo.security.TokenVersions;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Per-request cost of bearer token authentication. The filter builds its principal from the
+ * token's claims, and its revocation check is answered from the token version cache after the
+ * first call. {@code perCallParserThreeParses} repeats what the filter used to do per request:
+ * decode the secret, build a key and a parser, and parse the token three times. Not a test;
+ * run it with
+ * <pre>
+ * java -cp target/test-classes:$(cat classpath.txt) com.example.demo.benchmark.JwtAuthenticationBenchmark
+ * </pre>
+ * where {@code classpath.txt} comes from {@code mvn dependency:build-classpath -Dmdep.outputFile=classpath.txt}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationBenchmark {
+
+    private static final String PER_CALL_SECRET = "635266556A576E5A7234753778214125UIJBVVSJSJ273";
+
+    private String token;
+    private String perCallToken;
+    private JwtVerifier jwtVerifier;
+    private JwtAuthenticationFilter filter;
+
+    @Setup
+    public void setUp() {
+        User user = new User(1L, "bench@example.com", "bench@example.com", "secret", Role.USER);
+        token = JwtService.generateToken(user);
+        perCallToken = Jwts.builder()
+                .setSubject(user.getUsername())
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(PER_CALL_SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+        jwtVerifier = new JwtVerifier(10_000);
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0));
+        filter = new JwtAuthenticationFilter(jwtVerifier, new TokenVersions(userRepository, 10_000, Duration.ofMinutes(1)));
+    }
+
+    @Benchmark
+    public boolean perCallParserThreeParses() {
+        String username = perCallParse(perCallToken).getSubject();
+        return username.equals(perCallParse(perCallToken).getSubject())
+                && !perCallParse(perCallToken).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public String sharedParserParseOnce() {
+        return JwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public Claims cachedVerification() {
+        return jwtVerifier.verify(token);
+    }
+
+    @Benchmark
+    public Object filterWithCachedVerification() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/network-statuses");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+
+    private static Claims perCallParse(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(PER_CALL_SECRET)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtAuthenticationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
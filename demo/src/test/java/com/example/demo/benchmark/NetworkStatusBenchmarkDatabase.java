@@ -0,0 +1,132 @@
+package com.example.demo.benchmark;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Properties;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan.Filter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import com.example.demo.export.NdjsonWriter;
+import com.example.demo.persistence.BatchInserter;
+import com.example.demo.persistence.ChunkedBulkExecutor;
+import com.example.demo.repository.NetworkStatusRepository;
+import com.example.demo.service.NetworkStatusService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * An embedded PostgreSQL with the Flyway migrations applied and one region in it, with the network
+ * status write path on top: Hibernate configured as in {@code application.properties} (second-level
+ * cache aside), {@link NetworkStatusRepository}, {@link BatchInserter}, {@link ChunkedBulkExecutor}
+ * and {@link NetworkStatusService}. Shared by the persistence benchmarks.
+ */
+final class NetworkStatusBenchmarkDatabase implements AutoCloseable {
+
+    static final long REGION_ID = 1L;
+
+    private final EmbeddedPostgres postgres;
+    private final PGSimpleDataSource dataSource;
+    private final AnnotationConfigApplicationContext context;
+
+    NetworkStatusBenchmarkDatabase(int jdbcBatchSize) throws IOException, SQLException {
+        postgres = EmbeddedPostgres.start();
+        dataSource = new PGSimpleDataSource();
+        dataSource.setServerNames(new String[] {"localhost"});
+        dataSource.setPortNumbers(new int[] {postgres.getPort()});
+        dataSource.setDatabaseName("postgres");
+        dataSource.setUser("postgres");
+        dataSource.setReWriteBatchedInserts(true);
+        Flyway.configure()
+                .dataSource(dataSource)
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+        execute("insert into regions (id, name) values (" + REGION_ID + ", 'Benchmark region')");
+
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark",
+                Map.of("spring.jpa.properties.hibernate.jdbc.batch_size", jdbcBatchSize)));
+        context.registerBean(DataSource.class, () -> dataSource);
+        context.register(Persistence.class);
+        context.refresh();
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    void execute(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    @EnableJpaRepositories(basePackageClasses = NetworkStatusRepository.class,
+            includeFilters = @Filter(type = FilterType.ASSIGNABLE_TYPE, classes = NetworkStatusRepository.class))
+    @Import({BatchInserter.class, ChunkedBulkExecutor.class, NetworkStatusService.class})
+    static class Persistence {
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(
+                DataSource dataSource, @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}") int jdbcBatchSize) {
+            Properties properties = new Properties();
+            properties.put("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect");
+            properties.put("hibernate.boot.allow_jdbc_metadata_access", "false");
+            properties.put("hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName());
+            properties.put("hibernate.implicit_naming_strategy", SpringImplicitNamingStrategy.class.getName());
+            properties.put("hibernate.id.optimizer.pooled.preferred", "pooled-lo");
+            properties.put("hibernate.jdbc.batch_size", String.valueOf(jdbcBatchSize));
+            properties.put("hibernate.order_inserts", "true");
+            properties.put("hibernate.order_updates", "true");
+            properties.put("hibernate.jdbc.batch_versioned_data", "true");
+            properties.put("hibernate.cache.use_second_level_cache", "false");
+            LocalContainerEntityManagerFactoryBean entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
+            entityManagerFactory.setDataSource(dataSource);
+            entityManagerFactory.setPackagesToScan("com.example.demo.model");
+            entityManagerFactory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            entityManagerFactory.setJpaProperties(properties);
+            return entityManagerFactory;
+        }
+
+        @Bean
+        JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+
+        @Bean
+        NdjsonWriter ndjsonWriter() {
+            return new NdjsonWriter(new ObjectMapper());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.demo.benchmark;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.model.NetworkStatus;
+import com.example.demo.repository.NetworkStatusRepository;
+import com.example.demo.service.NetworkStatusService;
+
+/**
+ * Time to set a new status on {@code rows} network statuses. {@code loadAndSaveAll} does what the
+ * bulk update used to: load every entity in one transaction, change it and {@code saveAll}. The
+ * other two go through {@link NetworkStatusService} and the chunked set-based statements, with the
+ * default chunk of 1000 ids: {@code chunkedSameStatus} gives every row the same status and
+ * {@code chunkedStatusPerId} sends a status per id through {@code UPDATE ... FROM (VALUES ...)}.
+ * The statuses live in an embedded PostgreSQL. Not a test; run it with
+ * <pre>
+ * java -cp target/test-classes:target/classes:$(cat classpath.txt) com.example.demo.benchmark.NetworkStatusBulkUpdateBenchmark
+ * </pre>
+ * where {@code classpath.txt} comes from {@code mvn dependency:build-classpath -Dmdep.outputFile=classpath.txt}.
+ * Pass {@code -p rows=100000} for the size of an incident update.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NetworkStatusBulkUpdateBenchmark {
+
+    private static final int JDBC_BATCH_SIZE = 50;
+
+    @Param({"10000"})
+    private int rows;
+
+    private NetworkStatusBenchmarkDatabase database;
+    private NetworkStatusService networkStatusService;
+    private NetworkStatusRepository networkStatusRepository;
+    private TransactionTemplate transactionTemplate;
+    private List<Long> ids;
+    private int round;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        database = new NetworkStatusBenchmarkDatabase(JDBC_BATCH_SIZE);
+        database.execute("insert into network_statuses (id, region_id, update_date, status)"
+                + " select id, " + NetworkStatusBenchmarkDatabase.REGION_ID + ", now(), 'OPERATIONAL'"
+                + " from generate_series(1, " + rows + ") id");
+        database.execute("analyze network_statuses");
+        networkStatusService = database.getBean(NetworkStatusService.class);
+        networkStatusRepository = database.getBean(NetworkStatusRepository.class);
+        transactionTemplate = new TransactionTemplate(database.getBean(PlatformTransactionManager.class));
+        ids = LongStream.rangeClosed(1, rows).boxed().toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        database.close();
+    }
+
+    @Benchmark
+    public List<NetworkStatus> loadAndSaveAll() {
+        String status = nextStatus();
+        return transactionTemplate.execute(transaction -> {
+            List<NetworkStatus> networkStatuses = networkStatusRepository.findAllById(ids);
+            networkStatuses.forEach(networkStatus -> networkStatus.setStatus(status));
+            return networkStatusRepository.saveAll(networkStatuses);
+        });
+    }
+
+    @Benchmark
+    public void chunkedSameStatus() {
+        networkStatusService.bulkUpdateNetworkStatuses(ids, nextStatus());
+    }
+
+    @Benchmark
+    public void chunkedStatusPerId() {
+        String status = nextStatus();
+        Map<Long, String> statusesById = new LinkedHashMap<>();
+        for (Long id : ids) {
+            statusesById.put(id, id % 10 == 0 ? "MAINTENANCE" : status);
+        }
+        networkStatusService.bulkUpdateNetworkStatuses(statusesById);
+    }
+
+    private String nextStatus() {
+        return round++ % 2 == 0 ? "DEGRADED" : "OPERATIONAL";
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(NetworkStatusBulkUpdateBenchmark.class.getSimpleName()).build()).run();
+    }
+}
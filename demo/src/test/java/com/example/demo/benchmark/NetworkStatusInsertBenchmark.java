@@ -0,0 +1,92 @@
+package com.example.demo.benchmark;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.example.demo.dto.NetworkStatusDto;
+import com.example.demo.model.NetworkStatus;
+import com.example.demo.model.Region;
+import com.example.demo.service.NetworkStatusService;
+
+/**
+ * Rows per second written by {@link NetworkStatusService#createNetworkStatuses}, the path behind
+ * {@code POST /api/network-statuses/batch}, with JDBC batching on ({@code jdbcBatchSize=50}, the
+ * configured size) and off ({@code jdbcBatchSize=1}, one INSERT round trip per row as under
+ * {@code IDENTITY} ids). Each invocation inserts {@value #ROWS} statuses into an embedded
+ * PostgreSQL with the driver's {@code reWriteBatchedInserts} on. Not a test; run it with
+ * <pre>
+ * java -cp target/test-classes:target/classes:$(cat classpath.txt) com.example.demo.benchmark.NetworkStatusInsertBenchmark
+ * </pre>
+ * where {@code classpath.txt} comes from {@code mvn dependency:build-classpath -Dmdep.outputFile=classpath.txt}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NetworkStatusInsertBenchmark {
+
+    private static final int ROWS = 1000;
+
+    @Param({"1", "50"})
+    private int jdbcBatchSize;
+
+    private NetworkStatusBenchmarkDatabase database;
+    private NetworkStatusService networkStatusService;
+    private Region region;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        database = new NetworkStatusBenchmarkDatabase(jdbcBatchSize);
+        networkStatusService = database.getBean(NetworkStatusService.class);
+        region = new Region();
+        region.setId(NetworkStatusBenchmarkDatabase.REGION_ID);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        database.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<NetworkStatusDto> createNetworkStatuses() {
+        LocalDateTime updateDate = LocalDateTime.now();
+        List<NetworkStatus> networkStatuses = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            NetworkStatus networkStatus = new NetworkStatus();
+            networkStatus.setStatus(i % 10 == 0 ? "DEGRADED" : "OPERATIONAL");
+            networkStatus.setUpdateDate(updateDate);
+            networkStatus.setRegion(region);
+            networkStatuses.add(networkStatus);
+        }
+        return networkStatusService.createNetworkStatuses(networkStatuses);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(NetworkStatusInsertBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.demo.benchmark;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.example.demo.dto.ServicePlanDto;
+import com.example.demo.persistence.LikePatterns;
+import com.example.demo.repository.ServicePlanRepository;
+import com.example.demo.search.ServicePlanSearchIndex;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Service plan search served by {@link ServicePlanSearchIndex} against the same search sent to
+ * PostgreSQL. The database side starts an embedded PostgreSQL, applies the Flyway migrations so
+ * the {@code pg_trgm} indexes are in place, and runs the SQL that
+ * {@link ServicePlanRepository#searchDtos} renders as a prepared statement over one connection, so
+ * it measures the query and its round trip without Hibernate on top. Both sides search the same
+ * catalog of {@value #PLANS} plans. Not a test; run it with
+ * <pre>
+ * java -cp target/test-classes:target/classes:$(cat classpath.txt) com.example.demo.benchmark.ServicePlanSearchIndexBenchmark
+ * </pre>
+ * where {@code classpath.txt} comes from {@code mvn dependency:build-classpath -Dmdep.outputFile=classpath.txt}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServicePlanSearchIndexBenchmark {
+
+    private static final int PLANS = 200;
+    private static final int RESULT_LIMIT = 50;
+
+    private static final String SEARCH_SQL = "select sp.id, sp.name, sp.description from service_plans sp"
+            + " where sp.name ilike ('%' || ? || '%') escape '\\'"
+            + " or sp.description ilike ('%' || ? || '%') escape '\\'"
+            + " or ? <% sp.name or ? <% sp.description"
+            + " order by greatest(word_similarity(?, sp.name), word_similarity(?, sp.description)) desc, sp.id"
+            + " limit ?";
+
+    @Param({"plan-12", "pla", "descripton 7"})
+    private String query;
+
+    private EmbeddedPostgres postgres;
+    private Connection connection;
+    private PreparedStatement search;
+    private ServicePlanSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        List<ServicePlanDto> plans = new ArrayList<>();
+        for (long id = 1; id <= PLANS; id++) {
+            plans.add(new ServicePlanDto(id, "Plan-" + id,
+                    "Description " + id + " of a " + (id % 2 == 0 ? "fiber" : "copper") + " service plan"));
+        }
+
+        ServicePlanRepository servicePlanRepository = mock(ServicePlanRepository.class);
+        when(servicePlanRepository.findAllDtos()).thenReturn(plans);
+        index = new ServicePlanSearchIndex(servicePlanRepository, RESULT_LIMIT);
+        index.reload();
+
+        postgres = EmbeddedPostgres.start();
+        Flyway.configure()
+                .dataSource(postgres.getPostgresDatabase())
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+        connection = postgres.getPostgresDatabase().getConnection();
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into service_plans (id, name, description) values (?, ?, ?)")) {
+            for (ServicePlanDto plan : plans) {
+                insert.setLong(1, plan.id());
+                insert.setString(2, plan.name());
+                insert.setString(3, plan.description());
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        try (PreparedStatement analyze = connection.prepareStatement("analyze service_plans")) {
+            analyze.execute();
+        }
+        search = connection.prepareStatement(SEARCH_SQL);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, SQLException {
+        search.close();
+        connection.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public List<ServicePlanDto> index() {
+        return index.search(query);
+    }
+
+    @Benchmark
+    public List<ServicePlanDto> repositoryQuery() throws SQLException {
+        String escapedQuery = LikePatterns.escape(query);
+        search.setString(1, escapedQuery);
+        search.setString(2, escapedQuery);
+        for (int parameter = 3; parameter <= 6; parameter++) {
+            search.setString(parameter, query);
+        }
+        search.setInt(7, RESULT_LIMIT);
+        List<ServicePlanDto> plans = new ArrayList<>();
+        try (ResultSet rows = search.executeQuery()) {
+            while (rows.next()) {
+                plans.add(new ServicePlanDto(rows.getLong(1), rows.getString(2), rows.getString(3)));
+            }
+        }
+        return plans;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ServicePlanSearchIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.FeedbackDto;
 import com.example.demo.model.Feedback;
 import com.example.demo.service.FeedbackService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -89,15 +90,8 @@ class FeedbackControllerTest {
 
     @Test
     void testGetAllFeedbacks() throws Exception {
-        Feedback feedback1 = new Feedback();
-        feedback1.setFeedbackText("Great service!");
-        feedback1.setRating(5);
-        feedback1.setSubmittedDate(LocalDateTime.of(2023, 12, 18, 14, 30));
-
-        Feedback feedback2 = new Feedback();
-        feedback2.setFeedbackText("Good, but could improve.");
-        feedback2.setRating(3);
-        feedback2.setSubmittedDate(LocalDateTime.of(2023, 12, 18, 14, 30));
+        FeedbackDto feedback1 = new FeedbackDto(1L, "Great service!", 5, LocalDateTime.of(2023, 12, 18, 14, 30), 1L, 1L);
+        FeedbackDto feedback2 = new FeedbackDto(2L, "Good, but could improve.", 3, LocalDateTime.of(2023, 12, 18, 14, 30), 2L, 1L);
 
         when(feedbackService.getAllFeedbacks()).thenReturn(Arrays.asList(feedback1, feedback2));
 
@@ -111,10 +105,7 @@ class FeedbackControllerTest {
 
     @Test
     void testGetFeedbackById() throws Exception {
-        Feedback feedback = new Feedback();
-        feedback.setFeedbackText("Great service!");
-        feedback.setRating(5);
-        feedback.setSubmittedDate(LocalDateTime.of(2023, 12, 18, 14, 30));
+        FeedbackDto feedback = new FeedbackDto(1L, "Great service!", 5, LocalDateTime.of(2023, 12, 18, 14, 30), 1L, 1L);
 
         when(feedbackService.getFeedbackById(1L)).thenReturn(Optional.of(feedback));
 
@@ -122,7 +113,9 @@ class FeedbackControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.feedbackText").value("Great service!"))
                 .andExpect(jsonPath("$.rating").value(5))
-                .andExpect(jsonPath("$.submittedDate").value("2023-12-18T14:30:00"));
+                .andExpect(jsonPath("$.submittedDate").value("2023-12-18T14:30:00"))
+                .andExpect(jsonPath("$.userId").value(1))
+                .andExpect(jsonPath("$.user").doesNotExist());
 
         verify(feedbackService, times(1)).getFeedbackById(1L);
     }
@@ -149,10 +142,7 @@ class FeedbackControllerTest {
 
     @Test
     void testGetFeedbacksByRating() throws Exception {
-        Feedback feedback = new Feedback();
-        feedback.setFeedbackText("Great service!");
-        feedback.setRating(5);
-        feedback.setSubmittedDate(LocalDateTime.of(2023, 12, 18, 14, 30));
+        FeedbackDto feedback = new FeedbackDto(1L, "Great service!", 5, LocalDateTime.of(2023, 12, 18, 14, 30), 1L, 1L);
 
         when(feedbackService.getFeedbacksByRating(5)).thenReturn(Collections.singletonList(feedback));
 
@@ -166,10 +156,7 @@ class FeedbackControllerTest {
 
     @Test
     void testGetFeedbacksByRatingRange() throws Exception {
-        Feedback feedback = new Feedback();
-        feedback.setFeedbackText("Good service!");
-        feedback.setRating(4);
-        feedback.setSubmittedDate(LocalDateTime.of(2023, 12, 18, 14, 30));
+        FeedbackDto feedback = new FeedbackDto(1L, "Good service!", 4, LocalDateTime.of(2023, 12, 18, 14, 30), 1L, 1L);
 
         when(feedbackService.getFeedbacksByRatingRange(3, 5)).thenReturn(Collections.singletonList(feedback));
 
@@ -1,7 +1,12 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.NetworkStatusDto;
 import com.example.demo.exception.ResourceNotFoundException;
+import com.example.demo.exception.InvalidNetworkStatusException;
+import com.example.demo.exception.UpdateDateOutOfRangeException;
 import com.example.demo.model.NetworkStatus;
+import com.example.demo.pagination.CursorPage;
+import com.example.demo.pagination.CursorRequest;
 import com.example.demo.service.NetworkStatusService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -12,9 +17,13 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.mockito.Mockito.*;
@@ -64,6 +73,45 @@ class NetworkStatusControllerTest {
         verify(networkStatusService, times(1)).saveNetworkStatus(any(NetworkStatus.class));
     }
 
+    @Test
+    void testCreateNetworkStatusOutsideStoredMonths() throws Exception {
+        NetworkStatus networkStatus = new NetworkStatus();
+        networkStatus.setStatus("Active");
+        networkStatus.setUpdateDate(LocalDateTime.of(2003, 12, 17, 14, 30));
+
+        when(networkStatusService.saveNetworkStatus(any(NetworkStatus.class)))
+                .thenThrow(new UpdateDateOutOfRangeException("Update date 2003-12-17T14:30 is outside the stored months"));
+
+        mockMvc.perform(post("/api/network-statuses")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(networkStatus)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testCreateNetworkStatuses() throws Exception {
+        NetworkStatus networkStatus1 = new NetworkStatus();
+        networkStatus1.setStatus("Active");
+        networkStatus1.setUpdateDate(LocalDateTime.of(2023, 12, 17, 14, 30));
+
+        NetworkStatus networkStatus2 = new NetworkStatus();
+        networkStatus2.setStatus("Inactive");
+        networkStatus2.setUpdateDate(LocalDateTime.of(2023, 12, 16, 10, 15));
+
+        when(networkStatusService.createNetworkStatuses(anyList())).thenReturn(Arrays.asList(
+                new NetworkStatusDto(1L, "Active", LocalDateTime.of(2023, 12, 17, 14, 30), 1L),
+                new NetworkStatusDto(2L, "Inactive", LocalDateTime.of(2023, 12, 16, 10, 15), 1L)));
+
+        mockMvc.perform(post("/api/network-statuses/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Arrays.asList(networkStatus1, networkStatus2))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[1].status").value("Inactive"));
+
+        verify(networkStatusService, times(1)).createNetworkStatuses(anyList());
+    }
+
     @Test
     void testUpdateNetworkStatus() throws Exception {
         NetworkStatus networkStatus = new NetworkStatus();
@@ -101,13 +149,9 @@ class NetworkStatusControllerTest {
 
     @Test
     void testGetAllNetworkStatuses() throws Exception {
-        NetworkStatus networkStatus1 = new NetworkStatus();
-        networkStatus1.setStatus("Active");
-        networkStatus1.setUpdateDate(LocalDateTime.of(2023, 12, 17, 14, 30));
+        NetworkStatusDto networkStatus1 = new NetworkStatusDto(null, "Active", LocalDateTime.of(2023, 12, 17, 14, 30), null);
 
-        NetworkStatus networkStatus2 = new NetworkStatus();
-        networkStatus2.setStatus("Inactive");
-        networkStatus2.setUpdateDate(LocalDateTime.of(2023, 12, 16, 10, 15));
+        NetworkStatusDto networkStatus2 = new NetworkStatusDto(null, "Inactive", LocalDateTime.of(2023, 12, 16, 10, 15), null);
 
         when(networkStatusService.getAllNetworkStatuses()).thenReturn(Arrays.asList(networkStatus1, networkStatus2));
 
@@ -121,9 +165,7 @@ class NetworkStatusControllerTest {
 
     @Test
     void testGetNetworkStatusById() throws Exception {
-        NetworkStatus networkStatus = new NetworkStatus();
-        networkStatus.setStatus("Active");
-        networkStatus.setUpdateDate(LocalDateTime.of(2023, 12, 17, 14, 30));
+        NetworkStatusDto networkStatus = new NetworkStatusDto(null, "Active", LocalDateTime.of(2023, 12, 17, 14, 30), null);
 
         when(networkStatusService.getNetworkStatusById(1L)).thenReturn(Optional.of(networkStatus));
 
@@ -147,9 +189,7 @@ class NetworkStatusControllerTest {
 
     @Test
     void testGetNetworkStatusesByRegion() throws Exception {
-        NetworkStatus networkStatus1 = new NetworkStatus();
-        networkStatus1.setStatus("Active");
-        networkStatus1.setUpdateDate(LocalDateTime.of(2023, 12, 17, 14, 30));
+        NetworkStatusDto networkStatus1 = new NetworkStatusDto(null, "Active", LocalDateTime.of(2023, 12, 17, 14, 30), null);
 
         when(networkStatusService.getNetworkStatusesByRegion(1L)).thenReturn(Arrays.asList(networkStatus1));
 
@@ -160,11 +200,25 @@ class NetworkStatusControllerTest {
         verify(networkStatusService, times(1)).getNetworkStatusesByRegion(1L);
     }
 
+    @Test
+    void testGetNetworkStatusesByRegionSince() throws Exception {
+        NetworkStatusDto networkStatus1 = new NetworkStatusDto(null, "Active", LocalDateTime.of(2023, 12, 17, 14, 30), null);
+        LocalDateTime since = LocalDateTime.of(2023, 12, 1, 0, 0);
+
+        when(networkStatusService.getNetworkStatusesByRegion(1L, since)).thenReturn(Arrays.asList(networkStatus1));
+
+        mockMvc.perform(get("/api/network-statuses/region/1")
+                        .param("since", "2023-12-01T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("Active"));
+
+        verify(networkStatusService, times(1)).getNetworkStatusesByRegion(1L, since);
+        verify(networkStatusService, never()).getNetworkStatusesByRegion(1L);
+    }
+
     @Test
     void testGetNetworkStatusesByDateRange() throws Exception {
-        NetworkStatus networkStatus1 = new NetworkStatus();
-        networkStatus1.setStatus("Active");
-        networkStatus1.setUpdateDate(LocalDateTime.of(2023, 12, 17, 14, 30));
+        NetworkStatusDto networkStatus1 = new NetworkStatusDto(null, "Active", LocalDateTime.of(2023, 12, 17, 14, 30), null);
 
         when(networkStatusService.getNetworkStatusesByDateRange(any(LocalDateTime.class), any(LocalDateTime.class)))
                 .thenReturn(Arrays.asList(networkStatus1));
@@ -180,9 +234,7 @@ class NetworkStatusControllerTest {
 
     @Test
     void testGetNetworkStatusesByServiceAvailability() throws Exception {
-        NetworkStatus networkStatus1 = new NetworkStatus();
-        networkStatus1.setStatus("Active");
-        networkStatus1.setUpdateDate(LocalDateTime.of(2023, 12, 17, 14, 30));
+        NetworkStatusDto networkStatus1 = new NetworkStatusDto(null, "Active", LocalDateTime.of(2023, 12, 17, 14, 30), null);
 
         when(networkStatusService.getNetworkStatusesByServiceAvailability(1L)).thenReturn(Arrays.asList(networkStatus1));
 
@@ -205,6 +257,29 @@ class NetworkStatusControllerTest {
         verify(networkStatusService, times(1)).bulkUpdateNetworkStatuses(anyList(), anyString());
     }
 
+    @Test
+    void testBulkUpdateNetworkStatusesPerId() throws Exception {
+        doNothing().when(networkStatusService).bulkUpdateNetworkStatuses(anyMap());
+
+        mockMvc.perform(put("/api/network-statuses/bulk-update/statuses")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"1\": \"Inactive\", \"2\": \"Maintenance\"}"))
+                .andExpect(status().isOk());
+
+        verify(networkStatusService, times(1)).bulkUpdateNetworkStatuses(Map.of(1L, "Inactive", 2L, "Maintenance"));
+    }
+
+    @Test
+    void testBulkUpdateNetworkStatusesPerIdWithMissingStatus() throws Exception {
+        doThrow(new InvalidNetworkStatusException("Status of network status 2 must be 3 to 100 characters long"))
+                .when(networkStatusService).bulkUpdateNetworkStatuses(anyMap());
+
+        mockMvc.perform(put("/api/network-statuses/bulk-update/statuses")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"1\": \"Inactive\", \"2\": null}"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testDeleteNetworkStatus() throws Exception {
         doNothing().when(networkStatusService).deleteNetworkStatus(1L);
@@ -214,4 +289,36 @@ class NetworkStatusControllerTest {
 
         verify(networkStatusService, times(1)).deleteNetworkStatus(1L);
     }
+
+    @Test
+    void testScrollNetworkStatusesByRegion() throws Exception {
+        NetworkStatusDto networkStatus = new NetworkStatusDto(1L, "Active", LocalDateTime.of(2023, 12, 17, 14, 30), null);
+
+        when(networkStatusService.getNetworkStatusesPageByRegion(1L, CursorRequest.first(CursorRequest.DEFAULT_PAGE_SIZE)))
+                .thenReturn(new CursorPage<>(List.of(networkStatus), 1, false, null));
+
+        mockMvc.perform(get("/api/network-statuses/region/1/scroll"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].status").value("Active"))
+                .andExpect(jsonPath("$.hasNext").value(false));
+
+        verify(networkStatusService, times(1))
+                .getNetworkStatusesPageByRegion(1L, CursorRequest.first(CursorRequest.DEFAULT_PAGE_SIZE));
+    }
+
+    @Test
+    void testExportNetworkStatuses() throws Exception {
+        when(networkStatusService.exportNetworkStatuses(any(OutputStream.class))).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        });
+
+        mockMvc.perform(get("/api/network-statuses/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+
+        verify(networkStatusService, times(1)).exportNetworkStatuses(any(OutputStream.class));
+    }
 }
@@ -1,6 +1,10 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.OrderDto;
+import com.example.demo.dto.UserOrderTotalsDto;
 import com.example.demo.model.Order;
+import com.example.demo.pagination.CursorPage;
+import com.example.demo.pagination.CursorRequest;
 import com.example.demo.service.OrderService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -11,9 +15,13 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.Mockito.*;
@@ -64,13 +72,9 @@ class OrderControllerTest {
 
     @Test
     void testGetAllOrders() throws Exception {
-        Order order1 = new Order();
-        order1.setOrderDate(LocalDateTime.of(2023, 12, 17, 14, 30));
-        order1.setTotalAmount(100.0);
+        OrderDto order1 = new OrderDto(null, LocalDateTime.of(2023, 12, 17, 14, 30), 100.0, null, null);
 
-        Order order2 = new Order();
-        order2.setOrderDate(LocalDateTime.of(2023, 12, 16, 10, 15));
-        order2.setTotalAmount(200.0);
+        OrderDto order2 = new OrderDto(null, LocalDateTime.of(2023, 12, 16, 10, 15), 200.0, null, null);
 
         when(orderService.getAllOrders()).thenReturn(Arrays.asList(order1, order2));
 
@@ -84,9 +88,7 @@ class OrderControllerTest {
 
     @Test
     void testGetOrderById() throws Exception {
-        Order order = new Order();
-        order.setOrderDate(LocalDateTime.of(2023, 12, 17, 14, 30));
-        order.setTotalAmount(100.0);
+        OrderDto order = new OrderDto(null, LocalDateTime.of(2023, 12, 17, 14, 30), 100.0, null, null);
 
         when(orderService.getOrderById(1L)).thenReturn(Optional.of(order));
 
@@ -117,4 +119,77 @@ class OrderControllerTest {
 
         verify(orderService, times(1)).deleteOrder(1L);
     }
+
+    @Test
+    void testGetOrderTotalsForUser() throws Exception {
+        UserOrderTotalsDto totals = new UserOrderTotalsDto(7L, 2, new BigDecimal("150.50"), new BigDecimal("100.00"),
+                LocalDateTime.of(2023, 12, 17, 14, 30));
+
+        when(orderService.getOrderTotalsForUser(7L)).thenReturn(totals);
+
+        mockMvc.perform(get("/api/orders/user/7/totals"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderCount").value(2))
+                .andExpect(jsonPath("$.orderTotal").value(150.5))
+                .andExpect(jsonPath("$.paymentTotal").value(100.0))
+                .andExpect(jsonPath("$.lastOrderDate").value("2023-12-17T14:30:00"));
+
+        verify(orderService, times(1)).getOrderTotalsForUser(7L);
+    }
+
+    @Test
+    void testScrollOrders() throws Exception {
+        OrderDto order = new OrderDto(3L, LocalDateTime.of(2023, 12, 17, 14, 30), 100.0, null, null);
+
+        when(orderService.getOrdersPage(new CursorRequest(2L, 1)))
+                .thenReturn(new CursorPage<>(List.of(order), 1, true, "aWQ6Mw"));
+
+        mockMvc.perform(get("/api/orders/scroll")
+                        .param("cursor", "aWQ6Mg")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].totalAmount").value(100.0))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").value("aWQ6Mw"));
+
+        verify(orderService, times(1)).getOrdersPage(new CursorRequest(2L, 1));
+    }
+
+    @Test
+    void testScrollOrders_SizeIsCapped() throws Exception {
+        when(orderService.getOrdersPage(any(CursorRequest.class)))
+                .thenReturn(new CursorPage<>(List.of(), 0, false, null));
+
+        mockMvc.perform(get("/api/orders/scroll")
+                        .param("size", "100000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext").value(false));
+
+        verify(orderService, times(1)).getOrdersPage(new CursorRequest(0L, CursorRequest.MAX_PAGE_SIZE));
+    }
+
+    @Test
+    void testScrollOrders_InvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/orders/scroll")
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+
+        verify(orderService, never()).getOrdersPage(any(CursorRequest.class));
+    }
+
+    @Test
+    void testExportOrders() throws Exception {
+        when(orderService.exportOrders(any(OutputStream.class))).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        });
+
+        mockMvc.perform(get("/api/orders/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+
+        verify(orderService, times(1)).exportOrders(any(OutputStream.class));
+    }
 }
@@ -1,5 +1,6 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.PaymentDto;
 import com.example.demo.model.Payment;
 import com.example.demo.service.PaymentService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -11,6 +12,8 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -63,14 +66,34 @@ class PaymentControllerTest {
     }
 
     @Test
-    void testGetAllPayments() throws Exception {
+    void testCreatePayments() throws Exception {
         Payment payment1 = new Payment();
         payment1.setAmount(250.0);
-        payment1.setPaymentDate(LocalDateTime.of(2023, 12, 17, 14, 30));  
+        payment1.setPaymentDate(LocalDateTime.of(2023, 12, 17, 14, 30));
 
         Payment payment2 = new Payment();
         payment2.setAmount(150.0);
-        payment2.setPaymentDate(LocalDateTime.of(2023, 12, 16, 10, 15));  
+        payment2.setPaymentDate(LocalDateTime.of(2023, 12, 16, 10, 15));
+
+        when(paymentService.createPayments(anyList())).thenReturn(Arrays.asList(
+                new PaymentDto(1L, 250.0, LocalDateTime.of(2023, 12, 17, 14, 30), 1L, 1L),
+                new PaymentDto(2L, 150.0, LocalDateTime.of(2023, 12, 16, 10, 15), 1L, 1L)));
+
+        mockMvc.perform(post("/api/payments/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Arrays.asList(payment1, payment2))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[1].amount").value(150.0));
+
+        verify(paymentService, times(1)).createPayments(anyList());
+    }
+
+    @Test
+    void testGetAllPayments() throws Exception {
+        PaymentDto payment1 = new PaymentDto(null, 250.0, LocalDateTime.of(2023, 12, 17, 14, 30), null, null);
+
+        PaymentDto payment2 = new PaymentDto(null, 150.0, LocalDateTime.of(2023, 12, 16, 10, 15), null, null);
 
         when(paymentService.getAllPayments()).thenReturn(Arrays.asList(payment1, payment2));
 
@@ -86,9 +109,7 @@ class PaymentControllerTest {
 
     @Test
     void testGetPaymentById() throws Exception {
-        Payment payment = new Payment();
-        payment.setAmount(250.0);
-        payment.setPaymentDate(LocalDateTime.of(2023, 12, 17, 14, 30));  
+        PaymentDto payment = new PaymentDto(null, 250.0, LocalDateTime.of(2023, 12, 17, 14, 30), null, null);
 
         when(paymentService.getPaymentById(1L)).thenReturn(Optional.of(payment));
 
@@ -119,4 +140,20 @@ class PaymentControllerTest {
 
         verify(paymentService, times(1)).deletePayment(1L);
     }
+
+    @Test
+    void testExportPayments() throws Exception {
+        when(paymentService.exportPayments(any(OutputStream.class))).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        });
+
+        mockMvc.perform(get("/api/payments/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+
+        verify(paymentService, times(1)).exportPayments(any(OutputStream.class));
+    }
 }
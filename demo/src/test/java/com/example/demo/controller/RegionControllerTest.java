@@ -1,5 +1,6 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.RegionDto;
 import com.example.demo.model.Region;
 import com.example.demo.service.RegionService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -56,13 +57,9 @@ class RegionControllerTest {
 
     @Test
     void testGetAllRegions() throws Exception {
-        Region region1 = new Region();
-        region1.setName("North America");
-        region1.setDescription("Region including USA, Canada, Mexico");
+        RegionDto region1 = new RegionDto(null, "North America", "Region including USA, Canada, Mexico");
 
-        Region region2 = new Region();
-        region2.setName("Europe");
-        region2.setDescription("Region including UK, Germany, France");
+        RegionDto region2 = new RegionDto(null, "Europe", "Region including UK, Germany, France");
 
         when(regionService.getAllRegions()).thenReturn(Arrays.asList(region1, region2));
 
@@ -76,9 +73,7 @@ class RegionControllerTest {
 
     @Test
     void testGetRegionById() throws Exception {
-        Region region = new Region();
-        region.setName("North America");
-        region.setDescription("Region including USA, Canada, Mexico");
+        RegionDto region = new RegionDto(null, "North America", "Region including USA, Canada, Mexico");
 
         when(regionService.getRegionById(1L)).thenReturn(Optional.of(region));
 
@@ -163,13 +158,9 @@ class RegionControllerTest {
 
     @Test
     void testSearchRegionsByName() throws Exception {
-        Region region1 = new Region();
-        region1.setName("North America");
-        region1.setDescription("Region including USA, Canada, Mexico");
+        RegionDto region1 = new RegionDto(null, "North America", "Region including USA, Canada, Mexico");
 
-        Region region2 = new Region();
-        region2.setName("South America");
-        region2.setDescription("Region including Brazil, Argentina, Chile");
+        RegionDto region2 = new RegionDto(null, "South America", "Region including Brazil, Argentina, Chile");
 
         when(regionService.searchRegionsByName("America")).thenReturn(Arrays.asList(region1, region2));
 
@@ -184,13 +175,9 @@ class RegionControllerTest {
 
     @Test
     void testFilterRegionsByDescription() throws Exception {
-        Region region1 = new Region();
-        region1.setName("North America");
-        region1.setDescription("Region including USA, Canada, Mexico");
+        RegionDto region1 = new RegionDto(null, "North America", "Region including USA, Canada, Mexico");
 
-        Region region2 = new Region();
-        region2.setName("Europe");
-        region2.setDescription("Region including UK, Germany, France");
+        RegionDto region2 = new RegionDto(null, "Europe", "Region including UK, Germany, France");
 
         when(regionService.filterRegionsByDescription("USA")).thenReturn(Arrays.asList(region1));
 
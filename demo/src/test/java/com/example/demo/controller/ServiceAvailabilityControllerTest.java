@@ -1,5 +1,6 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.ServiceAvailabilityDto;
 import com.example.demo.model.ServiceAvailability;
 import com.example.demo.service.ServiceAvailabilityService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -63,15 +64,30 @@ class ServiceAvailabilityControllerTest {
         verify(serviceAvailabilityService, times(1)).saveServiceAvailability(any(ServiceAvailability.class));
     }
 
+    @Test
+    void testCreateServiceAvailabilities() throws Exception {
+        ServiceAvailability serviceAvailability = new ServiceAvailability();
+        serviceAvailability.setAvailabilityStatus("Available");
+        serviceAvailability.setAvailabilityDate(LocalDateTime.of(2023, 12, 17, 14, 30));
+
+        when(serviceAvailabilityService.createServiceAvailabilities(anyList())).thenReturn(Arrays.asList(
+                new ServiceAvailabilityDto(1L, "Available", LocalDateTime.of(2023, 12, 17, 14, 30))));
+
+        mockMvc.perform(post("/api/service-availabilities/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Arrays.asList(serviceAvailability))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].availabilityDate").value("2023-12-17T14:30:00"));
+
+        verify(serviceAvailabilityService, times(1)).createServiceAvailabilities(anyList());
+    }
+
     @Test
     void testGetAllServiceAvailabilities() throws Exception {
-        ServiceAvailability serviceAvailability1 = new ServiceAvailability();
-        serviceAvailability1.setAvailabilityStatus("Available");
-        serviceAvailability1.setAvailabilityDate(LocalDateTime.of(2023, 12, 17, 14, 30));
+        ServiceAvailabilityDto serviceAvailability1 = new ServiceAvailabilityDto(null, "Available", LocalDateTime.of(2023, 12, 17, 14, 30));
 
-        ServiceAvailability serviceAvailability2 = new ServiceAvailability();
-        serviceAvailability2.setAvailabilityStatus("Not Available");
-        serviceAvailability2.setAvailabilityDate(LocalDateTime.of(2023, 12, 18, 9, 0));
+        ServiceAvailabilityDto serviceAvailability2 = new ServiceAvailabilityDto(null, "Not Available", LocalDateTime.of(2023, 12, 18, 9, 0));
 
         when(serviceAvailabilityService.getAllServiceAvailabilities()).thenReturn(Arrays.asList(serviceAvailability1, serviceAvailability2));
 
@@ -87,9 +103,7 @@ class ServiceAvailabilityControllerTest {
 
     @Test
     void testGetServiceAvailabilityById() throws Exception {
-        ServiceAvailability serviceAvailability = new ServiceAvailability();
-        serviceAvailability.setAvailabilityStatus("Available");
-        serviceAvailability.setAvailabilityDate(LocalDateTime.of(2023, 12, 17, 14, 30));
+        ServiceAvailabilityDto serviceAvailability = new ServiceAvailabilityDto(null, "Available", LocalDateTime.of(2023, 12, 17, 14, 30));
 
         when(serviceAvailabilityService.getServiceAvailabilityById(1L)).thenReturn(Optional.of(serviceAvailability));
 
@@ -115,9 +129,7 @@ class ServiceAvailabilityControllerTest {
 
     @Test
     void testGetServiceAvailabilitiesByStatus() throws Exception {
-        ServiceAvailability serviceAvailability = new ServiceAvailability();
-        serviceAvailability.setAvailabilityStatus("Available");
-        serviceAvailability.setAvailabilityDate(LocalDateTime.of(2023, 12, 17, 14, 30));
+        ServiceAvailabilityDto serviceAvailability = new ServiceAvailabilityDto(null, "Available", LocalDateTime.of(2023, 12, 17, 14, 30));
 
         when(serviceAvailabilityService.getServiceAvailabilitiesByStatus("Available"))
                 .thenReturn(Arrays.asList(serviceAvailability));
@@ -132,9 +144,7 @@ class ServiceAvailabilityControllerTest {
 
     @Test
     void testGetServiceAvailabilitiesByDateRange() throws Exception {
-        ServiceAvailability serviceAvailability = new ServiceAvailability();
-        serviceAvailability.setAvailabilityStatus("Available");
-        serviceAvailability.setAvailabilityDate(LocalDateTime.of(2023, 12, 17, 14, 30));
+        ServiceAvailabilityDto serviceAvailability = new ServiceAvailabilityDto(null, "Available", LocalDateTime.of(2023, 12, 17, 14, 30));
 
         when(serviceAvailabilityService.getServiceAvailabilitiesByDateRange(any(), any()))
                 .thenReturn(Arrays.asList(serviceAvailability));
@@ -1,6 +1,12 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.FeedbackDto;
+import com.example.demo.dto.ServicePlanDto;
+import com.example.demo.dto.ServicePlanRatingDto;
+import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.model.ServicePlan;
+import com.example.demo.pagination.CursorPage;
+import com.example.demo.pagination.CursorRequest;
 import com.example.demo.service.ServicePlanService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +16,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.Mockito.*;
@@ -57,13 +64,9 @@ class ServicePlanControllerTest {
 
     @Test
     void testGetAllServicePlans() throws Exception {
-        ServicePlan servicePlan1 = new ServicePlan();
-        servicePlan1.setName("Basic Plan");
-        servicePlan1.setDescription("Basic Service Plan");
+        ServicePlanDto servicePlan1 = new ServicePlanDto(null, "Basic Plan", "Basic Service Plan");
 
-        ServicePlan servicePlan2 = new ServicePlan();
-        servicePlan2.setName("Premium Plan");
-        servicePlan2.setDescription("Premium Service Plan with extra features");
+        ServicePlanDto servicePlan2 = new ServicePlanDto(null, "Premium Plan", "Premium Service Plan with extra features");
 
         when(servicePlanService.getAllServicePlans()).thenReturn(Arrays.asList(servicePlan1, servicePlan2));
 
@@ -77,9 +80,7 @@ class ServicePlanControllerTest {
 
     @Test
     void testGetServicePlanById() throws Exception {
-        ServicePlan servicePlan = new ServicePlan();
-        servicePlan.setName("Basic Plan");
-        servicePlan.setDescription("Basic Service Plan");
+        ServicePlanDto servicePlan = new ServicePlanDto(null, "Basic Plan", "Basic Service Plan");
 
         when(servicePlanService.getServicePlanById(1L)).thenReturn(Optional.of(servicePlan));
 
@@ -174,13 +175,9 @@ class ServicePlanControllerTest {
 
     @Test
     void testSearchServicePlans() throws Exception {
-        ServicePlan servicePlan1 = new ServicePlan();
-        servicePlan1.setName("Basic Plan");
-        servicePlan1.setDescription("Basic Service Plan");
+        ServicePlanDto servicePlan1 = new ServicePlanDto(null, "Basic Plan", "Basic Service Plan");
 
-        ServicePlan servicePlan2 = new ServicePlan();
-        servicePlan2.setName("Premium Plan");
-        servicePlan2.setDescription("Premium Service Plan");
+        ServicePlanDto servicePlan2 = new ServicePlanDto(null, "Premium Plan", "Premium Service Plan");
 
         when(servicePlanService.searchServicePlans("Plan")).thenReturn(Arrays.asList(servicePlan1, servicePlan2));
 
@@ -191,4 +188,50 @@ class ServicePlanControllerTest {
 
         verify(servicePlanService, times(1)).searchServicePlans("Plan");
     }
+
+    @Test
+    void testGetRatingsForAllServicePlans() throws Exception {
+        ServicePlanRatingDto rating = new ServicePlanRatingDto(1L, 4, 4.25, List.of(0L, 0L, 1L, 1L, 2L));
+
+        when(servicePlanService.getRatingsForAllServicePlans()).thenReturn(List.of(rating));
+
+        mockMvc.perform(get("/api/service-plans/ratings"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].servicePlanId").value(1))
+                .andExpect(jsonPath("$[0].averageRating").value(4.25))
+                .andExpect(jsonPath("$[0].ratingCounts[4]").value(2));
+
+        verify(servicePlanService, times(1)).getRatingsForAllServicePlans();
+    }
+
+    @Test
+    void testGetRatingsForServicePlan_NotFound() throws Exception {
+        when(servicePlanService.getRatingsForServicePlan(1L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/service-plans/1/ratings"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testScrollFeedbacksForServicePlan() throws Exception {
+        FeedbackDto feedback = new FeedbackDto(7L, "Great service!", 5, null, null, null);
+
+        when(servicePlanService.getFeedbacksPageForServicePlan(eq(1L), any(CursorRequest.class)))
+                .thenReturn(new CursorPage<>(List.of(feedback), 1, false, null));
+
+        mockMvc.perform(get("/api/service-plans/1/feedbacks/scroll"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].feedbackText").value("Great service!"));
+
+        verify(servicePlanService, times(1)).getFeedbacksPageForServicePlan(eq(1L), any(CursorRequest.class));
+    }
+
+    @Test
+    void testScrollFeedbacksForServicePlan_NotFound() throws Exception {
+        when(servicePlanService.getFeedbacksPageForServicePlan(eq(1L), any(CursorRequest.class)))
+                .thenThrow(new ResourceNotFoundException("ServicePlan not found"));
+
+        mockMvc.perform(get("/api/service-plans/1/feedbacks/scroll"))
+                .andExpect(status().isNotFound());
+    }
 }
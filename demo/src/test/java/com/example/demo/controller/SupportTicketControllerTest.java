@@ -1,5 +1,9 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.SupportTicketBacklogDto;
+import com.example.demo.dto.SupportTicketDto;
+import com.example.demo.dto.SupportTicketHourlyCount;
+import com.example.demo.dto.SupportTicketSearchHit;
 import com.example.demo.model.SupportTicket;
 import com.example.demo.service.SupportTicketService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -7,6 +11,8 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -14,6 +20,8 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.mockito.Mockito.*;
@@ -65,15 +73,9 @@ class SupportTicketControllerTest {
 
     @Test
     void testGetAllSupportTickets() throws Exception {
-        SupportTicket ticket1 = new SupportTicket();
-        ticket1.setIssueDescription("Issue with login");
-        ticket1.setStatus("Resolved");
-        ticket1.setCreatedDate(LocalDateTime.of(2023, 12, 15, 9, 30));
+        SupportTicketDto ticket1 = new SupportTicketDto(null, "Issue with login", "Resolved", LocalDateTime.of(2023, 12, 15, 9, 30), null);
 
-        SupportTicket ticket2 = new SupportTicket();
-        ticket2.setIssueDescription("Network connectivity issue");
-        ticket2.setStatus("Open");
-        ticket2.setCreatedDate(LocalDateTime.of(2023, 12, 16, 14, 45));
+        SupportTicketDto ticket2 = new SupportTicketDto(null, "Network connectivity issue", "Open", LocalDateTime.of(2023, 12, 16, 14, 45), null);
 
         when(supportTicketService.getAllSupportTickets()).thenReturn(Arrays.asList(ticket1, ticket2));
 
@@ -89,10 +91,7 @@ class SupportTicketControllerTest {
 
     @Test
     void testGetSupportTicketById() throws Exception {
-        SupportTicket supportTicket = new SupportTicket();
-        supportTicket.setIssueDescription("Issue with service");
-        supportTicket.setStatus("Open");
-        supportTicket.setCreatedDate(LocalDateTime.of(2023, 12, 17, 10, 0));
+        SupportTicketDto supportTicket = new SupportTicketDto(null, "Issue with service", "Open", LocalDateTime.of(2023, 12, 17, 10, 0), null);
 
         when(supportTicketService.getSupportTicketById(1L)).thenReturn(Optional.of(supportTicket));
 
@@ -127,10 +126,7 @@ class SupportTicketControllerTest {
 
     @Test
     void testGetSupportTicketsByStatus() throws Exception {
-        SupportTicket ticket = new SupportTicket();
-        ticket.setIssueDescription("Issue with login");
-        ticket.setStatus("Open");
-        ticket.setCreatedDate(LocalDateTime.of(2023, 12, 15, 9, 30));
+        SupportTicketDto ticket = new SupportTicketDto(null, "Issue with login", "Open", LocalDateTime.of(2023, 12, 15, 9, 30), null);
 
         when(supportTicketService.getSupportTicketsByStatus("Open")).thenReturn(Arrays.asList(ticket));
 
@@ -154,12 +150,27 @@ class SupportTicketControllerTest {
         verify(supportTicketService, times(1)).countSupportTicketsByStatus("Open");
     }
 
+    @Test
+    void testGetBacklog() throws Exception {
+        SupportTicketBacklogDto backlog = new SupportTicketBacklogDto(Map.of("OPEN", 3L, "CLOSED", 10L),
+                List.of(new SupportTicketHourlyCount(LocalDateTime.of(2023, 12, 15, 9, 0), 2L)),
+                LocalDateTime.of(2023, 12, 1, 8, 0), 1_300_000L);
+        when(supportTicketService.getBacklog()).thenReturn(backlog);
+
+        mockMvc.perform(get("/api/support-tickets/backlog"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.statusCounts.OPEN").value(3))
+                .andExpect(jsonPath("$.createdPerHour[0].hour").value("2023-12-15T09:00:00"))
+                .andExpect(jsonPath("$.createdPerHour[0].count").value(2))
+                .andExpect(jsonPath("$.oldestOpenCreatedDate").value("2023-12-01T08:00:00"))
+                .andExpect(jsonPath("$.oldestOpenAgeSeconds").value(1_300_000));
+
+        verify(supportTicketService, times(1)).getBacklog();
+    }
+
     @Test
     void testGetSupportTicketsByCreatedDateRange() throws Exception {
-        SupportTicket ticket = new SupportTicket();
-        ticket.setIssueDescription("Issue with login");
-        ticket.setStatus("Open");
-        ticket.setCreatedDate(LocalDateTime.of(2023, 12, 15, 9, 30));
+        SupportTicketDto ticket = new SupportTicketDto(null, "Issue with login", "Open", LocalDateTime.of(2023, 12, 15, 9, 30), null);
 
         when(supportTicketService.getSupportTicketsByCreatedDateRange(any(), any()))
                 .thenReturn(Arrays.asList(ticket));
@@ -175,10 +186,7 @@ class SupportTicketControllerTest {
 
     @Test
     void testSearchSupportTicketsByIssueDescription() throws Exception {
-        SupportTicket ticket = new SupportTicket();
-        ticket.setIssueDescription("Issue with login");
-        ticket.setStatus("Open");
-        ticket.setCreatedDate(LocalDateTime.of(2023, 12, 15, 9, 30));
+        SupportTicketDto ticket = new SupportTicketDto(null, "Issue with login", "Open", LocalDateTime.of(2023, 12, 15, 9, 30), null);
 
         when(supportTicketService.searchSupportTicketsByIssueDescription("login")).thenReturn(Arrays.asList(ticket));
 
@@ -189,4 +197,42 @@ class SupportTicketControllerTest {
 
         verify(supportTicketService, times(1)).searchSupportTicketsByIssueDescription("login");
     }
+
+    @Test
+    void testFullTextSearchSupportTickets() throws Exception {
+        SupportTicketSearchHit hit = new SupportTicketSearchHit(7L, "Router keeps dropping the connection", "Open",
+                LocalDateTime.of(2023, 12, 15, 9, 30), 3L, 0.4);
+        PageRequest pageRequest = PageRequest.of(1, 10);
+
+        when(supportTicketService.searchSupportTickets("router drop*", "Open",
+                LocalDateTime.of(2023, 12, 1, 0, 0), null, pageRequest))
+                .thenReturn(new SliceImpl<>(List.of(hit), pageRequest, true));
+
+        mockMvc.perform(get("/api/support-tickets/full-text-search")
+                        .param("q", "router drop*")
+                        .param("status", "Open")
+                        .param("createdFrom", "2023-12-01T00:00:00")
+                        .param("page", "1")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(7))
+                .andExpect(jsonPath("$.content[0].rank").value(0.4))
+                .andExpect(jsonPath("$.last").value(false));
+
+        verify(supportTicketService, times(1)).searchSupportTickets("router drop*", "Open",
+                LocalDateTime.of(2023, 12, 1, 0, 0), null, pageRequest);
+    }
+
+    @Test
+    void testFullTextSearchSupportTicketsClampsPageSize() throws Exception {
+        when(supportTicketService.searchSupportTickets(anyString(), isNull(), isNull(), isNull(), any()))
+                .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 100), false));
+
+        mockMvc.perform(get("/api/support-tickets/full-text-search")
+                        .param("q", "outage")
+                        .param("size", "5000"))
+                .andExpect(status().isOk());
+
+        verify(supportTicketService, times(1)).searchSupportTickets("outage", null, null, null, PageRequest.of(0, 100));
+    }
 }
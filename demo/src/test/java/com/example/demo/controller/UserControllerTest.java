@@ -1,5 +1,6 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.UserDto;
 import com.example.demo.model.ServicePlan;
 import com.example.demo.model.User;
 import com.example.demo.service.UserService;
@@ -58,13 +59,9 @@ class UserControllerTest {
 
     @Test
     void testGetAllUsers() throws Exception {
-        User user1 = new User();
-        user1.setUsername("johnatan");
-        user1.setEmail("johnatan33@example.com");
+        UserDto user1 = new UserDto(null, "johnatan", "johnatan33@example.com", null, null);
 
-        User user2 = new User();
-        user2.setUsername("jack");
-        user2.setEmail("jack33@example.com");
+        UserDto user2 = new UserDto(null, "jack", "jack33@example.com", null, null);
 
         when(userService.getAllUsers()).thenReturn(Arrays.asList(user1, user2));
 
@@ -78,9 +75,7 @@ class UserControllerTest {
 
     @Test
     void testGetUserById() throws Exception {
-        User user = new User();
-        user.setUsername("johnatan");
-        user.setEmail("johnatan33@example.com");
+        UserDto user = new UserDto(null, "johnatan", "johnatan33@example.com", null, null);
 
         when(userService.getUserById(1L)).thenReturn(Optional.of(user));
 
@@ -154,9 +149,7 @@ class UserControllerTest {
 
     @Test
     void testSearchUsersByUsername() throws Exception {
-        User user = new User();
-        user.setUsername("johnatan");
-        user.setEmail("johnatan33@example.com");
+        UserDto user = new UserDto(null, "johnatan", "johnatan33@example.com", null, null);
 
         when(userService.searchUsersByUsername("john")).thenReturn(Collections.singletonList(user));
 
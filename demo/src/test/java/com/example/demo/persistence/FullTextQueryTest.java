@@ -0,0 +1,47 @@
+package com.example.demo.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FullTextQueryTest {
+
+    @Test
+    void testWordsMustAllMatch() {
+        assertEquals(Optional.of("router & outage"), FullTextQuery.toTsQuery("Router  outage"));
+    }
+
+    @Test
+    void testQuotedWordsFormAPhrase() {
+        assertEquals(Optional.of("(no <-> dial <-> tone) & modem"), FullTextQuery.toTsQuery("\"no dial tone\" modem"));
+    }
+
+    @Test
+    void testUnterminatedQuoteRunsToTheEnd() {
+        assertEquals(Optional.of("(no <-> dial <-> tone)"), FullTextQuery.toTsQuery("\"no dial tone"));
+    }
+
+    @Test
+    void testTrailingStarMatchesPrefix() {
+        assertEquals(Optional.of("connect:* & fail"), FullTextQuery.toTsQuery("connect* fail"));
+    }
+
+    @Test
+    void testLeadingMinusExcludesTerm() {
+        assertEquals(Optional.of("billing & !refund & !(late <-> fee)"),
+                FullTextQuery.toTsQuery("billing -refund -\"late fee\""));
+    }
+
+    @Test
+    void testPunctuationCannotBreakTheQuery() {
+        assertEquals(Optional.of("(wi <-> fi) & drop"), FullTextQuery.toTsQuery("wi-fi drop!&|):"));
+    }
+
+    @Test
+    void testNoSearchableWords() {
+        assertEquals(Optional.empty(), FullTextQuery.toTsQuery("  \"\" -- * "));
+        assertEquals(Optional.empty(), FullTextQuery.toTsQuery(null));
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.demo.persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.demo.config.GroupCommitProperties;
+import com.example.demo.exception.GroupCommitUnavailableException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class GroupCommitterTest {
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+    private GroupCommitter<String> committer;
+
+    @AfterEach
+    void tearDown() {
+        committer.stop();
+    }
+
+    @Test
+    void testCreatesQueuedDuringACommitShareTheNextOne() throws Exception {
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+        committer = start(batch -> {
+            if (batches.isEmpty()) {
+                firstBatchStarted.countDown();
+                await(releaseFirstBatch);
+            }
+            batches.add(List.copyOf(batch));
+            return batch.stream().map(String::toUpperCase).toList();
+        }, 4, 64);
+
+        CompletableFuture<String> first = committer.submit("a");
+        assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+        List<CompletableFuture<String>> queued = new ArrayList<>();
+        for (String item : List.of("b", "c", "d", "e", "f")) {
+            queued.add(committer.submit(item));
+        }
+        releaseFirstBatch.countDown();
+
+        assertEquals("A", first.get(5, TimeUnit.SECONDS));
+        assertEquals("F", queued.get(4).get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of("a"), List.of("b", "c", "d", "e", "f")), batches);
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void testFailedBatchIsRetriedOneItemAtATime() throws Exception {
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+        committer = start(batch -> {
+            if (batches.isEmpty()) {
+                batches.add(List.copyOf(batch));
+                firstBatchStarted.countDown();
+                await(releaseFirstBatch);
+                return batch;
+            }
+            batches.add(List.copyOf(batch));
+            if (batch.contains("bad")) {
+                throw new IllegalArgumentException("bad item");
+            }
+            return batch;
+        }, 4, 64);
+
+        committer.submit("first");
+        assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> good = committer.submit("good");
+        CompletableFuture<String> bad = committer.submit("bad");
+        CompletableFuture<String> other = committer.submit("other");
+        releaseFirstBatch.countDown();
+
+        assertEquals("good", good.get(5, TimeUnit.SECONDS));
+        assertEquals("other", other.get(5, TimeUnit.SECONDS));
+        assertThrows(IllegalArgumentException.class, () -> committer.write("bad"));
+        assertTrue(bad.isCompletedExceptionally());
+        assertEquals(List.of("good", "bad", "other"), batches.get(1));
+        assertEquals(List.of(List.of("good"), List.of("bad"), List.of("other")), batches.subList(2, 5));
+    }
+
+    @Test
+    void testBatchSizeShrinksWhenSlowAndGrowsWhenFullAndFast() {
+        committer = new GroupCommitter<>("test", transactionManager, UnaryOperator.identity(), properties(16, 256));
+        assertEquals(256, committer.batchSize());
+
+        committer.adapt(256, Duration.ofMillis(50).toNanos());
+        assertEquals(128, committer.batchSize());
+        committer.adapt(10, Duration.ofMillis(5).toNanos());
+        assertEquals(128, committer.batchSize());
+        committer.adapt(128, Duration.ofMillis(5).toNanos());
+        assertEquals(144, committer.batchSize());
+
+        for (int i = 0; i < 10; i++) {
+            committer.adapt(committer.batchSize(), Duration.ofMillis(50).toNanos());
+        }
+        assertEquals(16, committer.batchSize());
+        for (int i = 0; i < 100; i++) {
+            committer.adapt(committer.batchSize(), Duration.ofMillis(5).toNanos());
+        }
+        assertEquals(256, committer.batchSize());
+    }
+
+    @Test
+    void testStopWritesQueuedItemsAndRejectsNewOnes() throws Exception {
+        committer = start(batch -> {
+            batches.add(List.copyOf(batch));
+            return batch;
+        }, 4, 64);
+        CompletableFuture<String> queued = committer.submit("a");
+
+        committer.stop();
+
+        assertEquals("a", queued.get(5, TimeUnit.SECONDS));
+        assertThrows(IllegalStateException.class, () -> committer.write("b"));
+    }
+
+    @Test
+    void testBatchWriterReturningTooFewItemsFailsItsCallers() {
+        committer = start(batch -> List.of(), 4, 64);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> committer.write("a"));
+        assertEquals("Group commit test wrote 0 of 1 items", e.getMessage());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void testErrorInABatchFailsItAndTheWriterCarriesOn() throws Exception {
+        committer = start(batch -> {
+            batches.add(List.copyOf(batch));
+            if (batch.contains("fatal")) {
+                throw new AssertionError("writer broke");
+            }
+            return batch;
+        }, 4, 64);
+
+        CompletableFuture<String> fatal = committer.submit("fatal");
+        ExecutionException e = assertThrows(ExecutionException.class, () -> fatal.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(AssertionError.class, e.getCause());
+
+        assertEquals("next", committer.write("next"));
+    }
+
+    @Test
+    void testWriteGivesUpWhenItsBatchDoesNotCommitInTime() {
+        CountDownLatch release = new CountDownLatch(1);
+        committer = start(batch -> {
+            await(release);
+            return batch;
+        }, properties(4, 64, Duration.ofMillis(100)));
+
+        try {
+            assertThrows(GroupCommitUnavailableException.class, () -> committer.write("slow"));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testDeadWriterFailsQueuedItemsAndRejectsNewOnes() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        committer = start(batch -> {
+            started.countDown();
+            // Spins rather than blocks, so the interrupt is only seen by the writer's next poll.
+            while (release.getCount() > 0) {
+                Thread.onSpinWait();
+            }
+            return batch;
+        }, 4, 64);
+        CompletableFuture<String> inFlight = committer.submit("in-flight");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = committer.submit("queued");
+
+        Thread writer = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("group-commit-test"))
+                .findFirst()
+                .orElseThrow();
+        writer.interrupt();
+        release.countDown();
+        writer.join(5000);
+
+        assertEquals("in-flight", inFlight.get(5, TimeUnit.SECONDS));
+        ExecutionException e = assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(GroupCommitUnavailableException.class, e.getCause());
+        assertThrows(GroupCommitUnavailableException.class, () -> committer.write("late"));
+    }
+
+    private GroupCommitter<String> start(UnaryOperator<List<String>> batchWriter, int minBatchSize, int maxBatchSize) {
+        return start(batchWriter, properties(minBatchSize, maxBatchSize));
+    }
+
+    private GroupCommitter<String> start(UnaryOperator<List<String>> batchWriter, GroupCommitProperties properties) {
+        GroupCommitter<String> started = new GroupCommitter<>("test", transactionManager, batchWriter, properties);
+        started.start();
+        return started;
+    }
+
+    private static GroupCommitProperties properties(int minBatchSize, int maxBatchSize) {
+        return properties(minBatchSize, maxBatchSize, Duration.ofSeconds(5));
+    }
+
+    private static GroupCommitProperties properties(int minBatchSize, int maxBatchSize, Duration writeTimeout) {
+        return new GroupCommitProperties(true, 100, Duration.ofMillis(20), minBatchSize, maxBatchSize, Duration.ofMillis(20),
+                writeTimeout);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.demo.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LikePatternsTest {
+
+    @Test
+    void testWildcardsAndEscapeCharacterAreEscaped() {
+        assertEquals("100\\% a\\_b c\\\\d", LikePatterns.escape("100% a_b c\\d"));
+    }
+
+    @Test
+    void testPlainTextIsUnchanged() {
+        assertEquals("North Carolina", LikePatterns.escape("North Carolina"));
+    }
+}
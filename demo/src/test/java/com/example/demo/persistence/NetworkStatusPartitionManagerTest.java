@@ -0,0 +1,111 @@
+package com.example.demo.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.demo.config.NetworkStatusPartitionProperties;
+import com.example.demo.config.NetworkStatusPartitionProperties.RetentionAction;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class NetworkStatusPartitionManagerTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+    }
+
+    @Test
+    void testCreatesMissingPartitionsAhead() {
+        givenPartitions("network_statuses_p2024_03");
+
+        List<String> created = manager(2, 0, RetentionAction.DROP).createPartitions(YearMonth.of(2024, 3));
+
+        assertEquals(List.of("network_statuses_p2024_04", "network_statuses_p2024_05"), created);
+        verify(jdbcTemplate).execute("create table if not exists network_statuses_p2024_04 partition of network_statuses"
+                + " for values from ('2024-04-01') to ('2024-05-01')");
+        verify(jdbcTemplate).execute("create table if not exists network_statuses_p2024_05 partition of network_statuses"
+                + " for values from ('2024-05-01') to ('2024-06-01')");
+        verify(jdbcTemplate, never()).execute(contains("network_statuses_p2024_03"));
+    }
+
+    @Test
+    void testCreatesMissingPartitionsBackThroughRetention() {
+        givenPartitions("network_statuses_p2024_03");
+
+        List<String> created = manager(0, 2, RetentionAction.DROP).createPartitions(YearMonth.of(2024, 3));
+
+        assertEquals(List.of("network_statuses_p2024_01", "network_statuses_p2024_02"), created);
+        verify(jdbcTemplate).execute("create table if not exists network_statuses_p2024_01 partition of network_statuses"
+                + " for values from ('2024-01-01') to ('2024-02-01')");
+    }
+
+    @Test
+    void testCoversOnlyTheCreatedWindow() {
+        givenPartitions();
+        NetworkStatusPartitionManager manager = manager(1, 2, RetentionAction.DROP);
+        assertTrue(manager.covers(LocalDateTime.of(2000, 1, 1, 0, 0)));
+
+        manager.createPartitions(YearMonth.of(2024, 3));
+
+        assertTrue(manager.covers(LocalDateTime.of(2024, 1, 1, 0, 0)));
+        assertTrue(manager.covers(LocalDateTime.of(2024, 4, 30, 23, 59)));
+        assertFalse(manager.covers(LocalDateTime.of(2023, 12, 31, 23, 59)));
+        assertFalse(manager.covers(LocalDateTime.of(2024, 5, 1, 0, 0)));
+    }
+
+    @Test
+    void testDropsPartitionsOutsideRetention() {
+        givenPartitions("network_statuses_p2023_01", "network_statuses_p2023_02", "network_statuses_p2023_03",
+                "network_statuses_p2024_03");
+
+        List<String> expired = manager(3, 12, RetentionAction.DROP).expirePartitions(YearMonth.of(2024, 3));
+
+        assertEquals(List.of("network_statuses_p2023_01", "network_statuses_p2023_02"), expired);
+        verify(jdbcTemplate).update("delete from network_status_service_availability l using network_statuses_p2023_01 n"
+                + " where l.network_status_id = n.id");
+        verify(jdbcTemplate).execute("drop table network_statuses_p2023_01");
+        verify(jdbcTemplate).execute("drop table network_statuses_p2023_02");
+        verify(jdbcTemplate, never()).execute("drop table network_statuses_p2023_03");
+    }
+
+    @Test
+    void testDetachesPartitionsOutsideRetention() {
+        givenPartitions("network_statuses_p2023_02", "network_statuses_p2024_03");
+
+        manager(3, 12, RetentionAction.DETACH).expirePartitions(YearMonth.of(2024, 3));
+
+        verify(jdbcTemplate).execute("alter table network_statuses detach partition network_statuses_p2023_02");
+        verify(jdbcTemplate, never()).execute(startsWith("drop table"));
+    }
+
+    @Test
+    void testIgnoresPartitionsNotNamedByMonth() {
+        givenPartitions("network_statuses_archive", "network_statuses_p2024_03");
+
+        List<String> expired = manager(3, 0, RetentionAction.DROP).expirePartitions(YearMonth.of(2024, 3));
+
+        assertEquals(List.of(), expired);
+    }
+
+    private void givenPartitions(String... names) {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any())).thenReturn(List.of(names));
+    }
+
+    private NetworkStatusPartitionManager manager(int premakeMonths, int retentionMonths, RetentionAction action) {
+        return new NetworkStatusPartitionManager(jdbcTemplate, mock(PlatformTransactionManager.class),
+                new NetworkStatusPartitionProperties(true, premakeMonths, retentionMonths, action), Clock.systemUTC());
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.demo.persistence;
+
+import com.example.demo.config.NetworkStatusPartitionProperties;
+import com.example.demo.config.NetworkStatusPartitionProperties.RetentionAction;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY;
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseType.POSTGRES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs against an embedded PostgreSQL migrated by Flyway, where the migration only partitions the
+ * months from today on.
+ */
+@JdbcTest
+@AutoConfigureEmbeddedDatabase(type = POSTGRES, provider = ZONKY)
+class NetworkStatusPartitionWindowTest {
+
+    @Configuration
+    static class Config {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private NetworkStatusPartitionManager manager;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("insert into regions (id, name) values (1, 'North')");
+        manager = new NetworkStatusPartitionManager(jdbcTemplate, transactionManager,
+                new NetworkStatusPartitionProperties(true, 3, 12, RetentionAction.DROP), Clock.systemDefaultZone());
+    }
+
+    @Test
+    void testLateReadingForLastMonthFindsItsPartition() {
+        LocalDateTime lastMonth = LocalDateTime.now().minusMonths(1);
+
+        manager.maintainPartitions();
+
+        assertTrue(manager.covers(lastMonth));
+        assertEquals(1, insert(1, lastMonth));
+    }
+
+    @Test
+    void testReadingOutsideTheWindowIsNotCovered() {
+        LocalDateTime beforeRetention = LocalDateTime.now().minusMonths(14);
+        LocalDateTime beyondPremake = LocalDateTime.now().plusMonths(5);
+
+        manager.maintainPartitions();
+
+        assertFalse(manager.covers(beforeRetention));
+        assertFalse(manager.covers(beyondPremake));
+        assertThrows(DataAccessException.class, () -> insert(2, beforeRetention));
+    }
+
+    private int insert(long id, LocalDateTime updateDate) {
+        return jdbcTemplate.update("insert into network_statuses (id, region_id, update_date, status) values (?, 1, ?, 'Active')",
+                id, updateDate);
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.demo.persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate readWriteTransaction;
+
+    @BeforeEach
+    void setUp() {
+        ReplicaDataSource replicaA = new ReplicaDataSource("replica-a", node("replica-a"));
+        ReplicaDataSource replicaB = new ReplicaDataSource("replica-b", node("replica-b"));
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(node("primary"), List.of(replicaA, replicaB), ReplicaSelector.roundRobin()));
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadWriteRoutingDataSource.clearPrimaryPin();
+    }
+
+    @Test
+    void testReadOnlyTransactionsRotateAcrossReplicas() {
+        assertEquals("replica-a", readOnlyTransaction.execute(status -> currentNode()));
+        assertEquals("replica-b", readOnlyTransaction.execute(status -> currentNode()));
+        assertEquals("replica-a", readOnlyTransaction.execute(status -> currentNode()));
+    }
+
+    @Test
+    void testReadWriteTransactionUsesPrimary() {
+        assertEquals("primary", readWriteTransaction.execute(status -> currentNode()));
+    }
+
+    @Test
+    void testWorkOutsideTransactionUsesPrimary() {
+        assertEquals("primary", currentNode());
+    }
+
+    @Test
+    void testReadsAfterWriteStayOnPrimaryUntilPinCleared() {
+        ReadWriteRoutingDataSource.beginRequest();
+        readWriteTransaction.executeWithoutResult(status -> currentNode());
+
+        assertEquals("primary", readOnlyTransaction.execute(status -> currentNode()));
+
+        ReadWriteRoutingDataSource.clearPrimaryPin();
+        assertEquals("replica-a", readOnlyTransaction.execute(status -> currentNode()));
+    }
+
+    @Test
+    void testWriteOutsideRequestPinsOnlyItsOwnTransaction() {
+        readWriteTransaction.executeWithoutResult(status -> {
+            currentNode();
+            assertEquals("primary", readOnlyTransaction.execute(inner -> currentNode()));
+        });
+
+        assertEquals("replica-a", readOnlyTransaction.execute(status -> currentNode()));
+    }
+
+    @Test
+    void testLeastLatencyPrefersFastestReplica() {
+        ReplicaDataSource fast = new ReplicaDataSource("fast", node("fast"));
+        ReplicaDataSource slow = new ReplicaDataSource("slow", new DelegatingDataSource(node("slow")) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.getConnection();
+            }
+        });
+        fast.probe();
+        slow.probe();
+
+        assertEquals(fast, ReplicaSelector.leastLatency().select(List.of(slow, fast)));
+    }
+
+    @Test
+    void testLeastLatencyAvoidsReplicaWhoseProbeFails() {
+        ReplicaDataSource healthy = new ReplicaDataSource("healthy", node("healthy"));
+        ReplicaDataSource down = new ReplicaDataSource("down", new DelegatingDataSource(node("down")) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                throw new SQLException("Connection refused");
+            }
+        });
+        healthy.probe();
+        down.probe();
+
+        assertEquals(healthy, ReplicaSelector.leastLatency().select(List.of(down, healthy)));
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private static DataSource node(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists node (name varchar(20))");
+        jdbcTemplate.update("delete from node");
+        jdbcTemplate.update("insert into node (name) values (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.demo.persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Routes through JPA the way a request does without open-session-in-view: each transaction gets
+ * its own connection, so a read-only call followed by a write in the same request reads from a
+ * replica and writes to the primary.
+ */
+class ReadWriteRoutingJpaTest {
+
+    @Entity(name = "RoutingNode")
+    @Table(name = "routing_node")
+    static class RoutingNode {
+
+        @Id
+        private Long id;
+
+        private String name;
+
+        protected RoutingNode() {
+        }
+
+        RoutingNode(Long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    private DataSource primary;
+    private DataSource replica;
+    private LocalContainerEntityManagerFactoryBean entityManagerFactory;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate readWriteTransaction;
+
+    @BeforeEach
+    void setUp() {
+        primary = node("jpa-primary");
+        replica = node("jpa-replica");
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary,
+                List.of(new ReplicaDataSource("replica", replica)), ReplicaSelector.roundRobin()));
+
+        entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactory.setDataSource(dataSource);
+        entityManagerFactory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        entityManagerFactory.setManagedTypes(PersistenceManagedTypes.of(RoutingNode.class.getName()));
+        entityManagerFactory.afterPropertiesSet();
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory.getObject());
+
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory.getObject());
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadWriteRoutingDataSource.clearPrimaryPin();
+        entityManagerFactory.destroy();
+    }
+
+    @Test
+    void testReadOnlyCallThenWriteInOneRequest() {
+        ReadWriteRoutingDataSource.beginRequest();
+
+        assertEquals(List.of("jpa-replica"), readOnlyTransaction.execute(status -> names()));
+        readWriteTransaction.executeWithoutResult(status -> entityManager.persist(new RoutingNode(2L, "written")));
+        assertEquals(List.of("jpa-primary", "written"), readOnlyTransaction.execute(status -> names()));
+
+        assertEquals(2, count(primary));
+        assertEquals(1, count(replica));
+    }
+
+    @Test
+    void testOpenSessionInViewIsDisabled() throws Exception {
+        assertEquals("false", PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"))
+                .getProperty("spring.jpa.open-in-view"));
+    }
+
+    private List<String> names() {
+        return entityManager.createQuery("select n.name from RoutingNode n order by n.id", String.class)
+                .getResultList();
+    }
+
+    private static int count(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForObject("select count(*) from routing_node", Integer.class);
+    }
+
+    private static DataSource node(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists routing_node (id bigint primary key, name varchar(20))");
+        jdbcTemplate.update("delete from routing_node");
+        jdbcTemplate.update("insert into routing_node (id, name) values (1, ?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.demo.reactive;
+
+import com.example.demo.config.NetworkStatusStreamProperties;
+import com.example.demo.dto.NetworkStatusDto;
+import com.example.demo.exception.SlowConsumerException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NetworkStatusBroadcasterTest {
+
+    private final NetworkStatusBroadcaster broadcaster = new NetworkStatusBroadcaster(
+            new NetworkStatusStreamProperties(100, 2, Duration.ofSeconds(15)));
+    private final List<Disposable> subscriptions = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        subscriptions.forEach(Disposable::dispose);
+        broadcaster.stop();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testChangesReachOnlyTheSubscribersOfTheirRegion() {
+        List<NetworkStatusDto> region1 = subscribe(1L);
+        List<NetworkStatusDto> alsoRegion1 = subscribe(1L);
+        List<NetworkStatusDto> region2 = subscribe(2L);
+
+        broadcaster.dispatch(change(10L, 1L));
+        broadcaster.dispatch(change(11L, 2L));
+        broadcaster.dispatch(change(12L, 3L));
+
+        assertEquals(List.of(change(10L, 1L)), region1);
+        assertEquals(List.of(change(10L, 1L)), alsoRegion1);
+        assertEquals(List.of(change(11L, 2L)), region2);
+    }
+
+    @Test
+    void testSlowSubscriberIsEvictedWithoutHoldingUpTheOthers() {
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        broadcaster.subscribe(1L).subscribe(new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                // never requests anything
+            }
+
+            @Override
+            protected void hookOnError(Throwable throwable) {
+                errors.add(throwable);
+            }
+        });
+        List<NetworkStatusDto> fast = subscribe(1L);
+
+        broadcaster.dispatch(change(1L, 1L));
+        broadcaster.dispatch(change(2L, 1L));
+        assertTrue(errors.isEmpty());
+
+        broadcaster.dispatch(change(3L, 1L));
+        assertEquals(1, errors.size());
+        assertInstanceOf(SlowConsumerException.class, errors.get(0));
+        assertEquals(3, fast.size());
+        assertEquals(1, broadcaster.subscriberCount(1L));
+    }
+
+    @Test
+    void testCancelledSubscriptionsAreDropped() {
+        subscribe(1L);
+        assertTrue(broadcaster.hasSubscribers());
+
+        subscriptions.forEach(Disposable::dispose);
+
+        assertEquals(0, broadcaster.subscriberCount(1L));
+        assertFalse(broadcaster.hasSubscribers());
+    }
+
+    @Test
+    void testStopCompletesOpenStreams() {
+        List<Boolean> completed = new CopyOnWriteArrayList<>();
+        subscriptions.add(broadcaster.subscribe(1L).subscribe(change -> { }, error -> { }, () -> completed.add(true)));
+        broadcaster.start();
+
+        broadcaster.stop();
+
+        assertEquals(List.of(true), completed);
+    }
+
+    @Test
+    void testChangesArePublishedAfterCommit() throws Exception {
+        List<NetworkStatusDto> received = subscribe(1L);
+        broadcaster.start();
+        TransactionSynchronizationManager.initSynchronization();
+
+        broadcaster.publish(change(10L, 1L));
+        Thread.sleep(300);
+        assertTrue(received.isEmpty());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (received.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(List.of(change(10L, 1L)), received);
+    }
+
+    @Test
+    void testMovedStatusAlsoReachesThePreviousRegion() throws Exception {
+        List<NetworkStatusDto> previousRegion = subscribe(1L);
+        List<NetworkStatusDto> newRegion = subscribe(2L);
+        List<NetworkStatusDto> otherRegion = subscribe(3L);
+        broadcaster.start();
+
+        broadcaster.publish(change(10L, 2L), 1L);
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while ((previousRegion.isEmpty() || newRegion.isEmpty()) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(List.of(change(10L, 2L)), previousRegion);
+        assertEquals(List.of(change(10L, 2L)), newRegion);
+        assertTrue(otherRegion.isEmpty());
+    }
+
+    private List<NetworkStatusDto> subscribe(Long regionId) {
+        List<NetworkStatusDto> received = new CopyOnWriteArrayList<>();
+        subscriptions.add(broadcaster.subscribe(regionId).subscribe(received::add));
+        return received;
+    }
+
+    private static NetworkStatusDto change(Long id, Long regionId) {
+        return new NetworkStatusDto(id, "DOWN", LocalDateTime.of(2024, 3, 2, 10, 30), regionId);
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.demo.reactive;
+
+import com.example.demo.config.NetworkStatusStreamProperties;
+import com.example.demo.dto.NetworkStatusDto;
+import com.example.demo.model.User;
+import com.example.demo.security.JwtService;
+import com.example.demo.security.JwtVerifier;
+import com.example.demo.security.Role;
+import com.example.demo.security.TokenVersions;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import reactor.core.publisher.Flux;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class NetworkStatusHandlerTest {
+
+    private static final LocalDateTime SINCE = LocalDateTime.of(2023, 12, 17, 0, 0);
+
+    private ReactiveNetworkStatusRepository repository;
+    private NetworkStatusBroadcaster broadcaster;
+    private TokenVersions tokenVersions;
+    private WebTestClient client;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ReactiveNetworkStatusRepository.class);
+        broadcaster = new NetworkStatusBroadcaster(new NetworkStatusStreamProperties(100, 16, Duration.ofMinutes(1)));
+        broadcaster.start();
+        tokenVersions = mock(TokenVersions.class);
+        when(tokenVersions.isCurrent(1L, 0)).thenReturn(true);
+        client = WebTestClient.bindToRouterFunction(new NetworkStatusHandler(repository, broadcaster,
+                new JwtVerifier(100), tokenVersions, Duration.ofMinutes(1)).routes()).build();
+        token = JwtService.generateToken(new User(1L, "monitor", "monitor@example.com", "secret", Role.USER));
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.stop();
+    }
+
+    @Test
+    void testGetNetworkStatusesByRegion() {
+        when(repository.findDtosByRegionId(1L)).thenReturn(Flux.just(
+                new NetworkStatusDto(1L, "Active", LocalDateTime.of(2023, 12, 17, 14, 30), 1L),
+                new NetworkStatusDto(2L, "Inactive", LocalDateTime.of(2023, 12, 18, 9, 0), 1L)));
+
+        client.get().uri("/api/network-statuses/region/1")
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].status").isEqualTo("Active")
+                .jsonPath("$[0].updateDate").isEqualTo("2023-12-17T14:30:00")
+                .jsonPath("$[1].regionId").isEqualTo(1);
+    }
+
+    @Test
+    void testGetNetworkStatusesByRegionSinceStreamsNdjson() {
+        when(repository.findDtosByRegionIdSince(1L, SINCE)).thenReturn(Flux.just(
+                new NetworkStatusDto(1L, "Active", LocalDateTime.of(2023, 12, 17, 14, 30), 1L),
+                new NetworkStatusDto(2L, "Inactive", LocalDateTime.of(2023, 12, 18, 9, 0), 1L)));
+
+        client.get().uri("/api/network-statuses/region/1?since=2023-12-17T00:00:00")
+                .header("Authorization", "Bearer " + token)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .isEqualTo("{\"id\":1,\"status\":\"Active\",\"updateDate\":\"2023-12-17T14:30:00\",\"regionId\":1}\n"
+                        + "{\"id\":2,\"status\":\"Inactive\",\"updateDate\":\"2023-12-18T09:00:00\",\"regionId\":1}\n");
+
+        verify(repository, never()).findDtosByRegionId(anyLong());
+    }
+
+    @Test
+    void testGetNetworkStatusesByDateRange() {
+        LocalDateTime endDate = LocalDateTime.of(2023, 12, 31, 23, 59);
+        when(repository.findDtosByUpdateDateBetween(SINCE, endDate)).thenReturn(Flux.just(
+                new NetworkStatusDto(1L, "Active", LocalDateTime.of(2023, 12, 17, 14, 30), 1L)));
+
+        client.get().uri("/api/network-statuses/date-range?startDate=2023-12-17T00:00:00&endDate=2023-12-31T23:59:00")
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo(1);
+    }
+
+    @Test
+    void testStreamPushesChangesOfTheRegion() throws Exception {
+        Flux<ServerSentEvent<NetworkStatusDto>> events = client.get().uri("/api/network-statuses/stream?regionId=1")
+                .header("Authorization", "Bearer " + token)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<NetworkStatusDto>>() {
+                })
+                .getResponseBody();
+        CompletableFuture<ServerSentEvent<NetworkStatusDto>> first = events
+                .filter(event -> event.data() != null)
+                .next()
+                .toFuture();
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (broadcaster.subscriberCount(1L) == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        NetworkStatusDto change = new NetworkStatusDto(7L, "DOWN", LocalDateTime.of(2023, 12, 17, 14, 30), 1L);
+        broadcaster.publish(new NetworkStatusDto(8L, "UP", LocalDateTime.of(2023, 12, 17, 14, 31), 2L));
+        broadcaster.publish(change);
+
+        ServerSentEvent<NetworkStatusDto> event = first.get(5, TimeUnit.SECONDS);
+        assertEquals(NetworkStatusHandler.CHANGE_EVENT, event.event());
+        assertEquals("7", event.id());
+        assertEquals(change, event.data());
+    }
+
+    @Test
+    void testStreamPushesRemovalOfStatusesMovedToAnotherRegion() throws Exception {
+        Flux<ServerSentEvent<NetworkStatusDto>> events = client.get().uri("/api/network-statuses/stream?regionId=1")
+                .header("Authorization", "Bearer " + token)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<NetworkStatusDto>>() {
+                })
+                .getResponseBody();
+        CompletableFuture<ServerSentEvent<NetworkStatusDto>> first = events
+                .filter(event -> event.data() != null)
+                .next()
+                .toFuture();
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (broadcaster.subscriberCount(1L) == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        NetworkStatusDto moved = new NetworkStatusDto(7L, "DOWN", LocalDateTime.of(2023, 12, 17, 14, 30), 2L);
+        broadcaster.publish(moved, 1L);
+
+        ServerSentEvent<NetworkStatusDto> event = first.get(5, TimeUnit.SECONDS);
+        assertEquals(NetworkStatusHandler.REMOVAL_EVENT, event.event());
+        assertEquals(moved, event.data());
+    }
+
+    @Test
+    void testInvalidParametersAreRejected() {
+        client.get().uri("/api/network-statuses/date-range?startDate=2023-12-17T00:00:00")
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isBadRequest();
+        client.get().uri("/api/network-statuses/region/1?since=yesterday")
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isBadRequest();
+        client.get().uri("/api/network-statuses/stream")
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void testRequestsWithoutAValidTokenAreRejected() {
+        client.get().uri("/api/network-statuses/region/1")
+                .exchange()
+                .expectStatus().isUnauthorized();
+        client.get().uri("/api/network-statuses/region/1")
+                .header("Authorization", "Bearer " + token + "x")
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void testRevokedTokenIsRejected() {
+        when(tokenVersions.isCurrent(1L, 0)).thenReturn(false);
+
+        client.get().uri("/api/network-statuses/region/1")
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        verifyNoInteractions(repository);
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.Order;
+import com.example.demo.model.ServicePlan;
+import com.example.demo.model.User;
+import com.example.demo.security.Role;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.time.LocalDateTime;
+
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY;
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseType.POSTGRES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs against an embedded PostgreSQL migrated by Flyway, since the counters are maintained by
+ * triggers that only exist there.
+ */
+@DataJpaTest
+@AutoConfigureEmbeddedDatabase(type = POSTGRES, provider = ZONKY)
+class ServicePlanCountersTest {
+
+    @Configuration
+    @EntityScan(basePackageClasses = ServicePlan.class)
+    @EnableJpaRepositories(basePackageClasses = ServicePlanRepository.class,
+            includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                    classes = {ServicePlanRepository.class, ServicePlanCountersRepository.class}))
+    static class Config {
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ServicePlanRepository servicePlanRepository;
+
+    @Autowired
+    private ServicePlanCountersRepository servicePlanCountersRepository;
+
+    private ServicePlan fiber;
+    private ServicePlan dsl;
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        fiber = servicePlan("Fiber");
+        dsl = servicePlan("DSL");
+        alice = user("alice");
+        bob = user("bob");
+        entityManager.flush();
+    }
+
+    @Test
+    void testNewPlanStartsAtZero() {
+        assertEquals(0, servicePlanRepository.countUsersInServicePlan(fiber.getId()));
+        assertEquals(0, servicePlanRepository.countOrdersInServicePlan(fiber.getId()));
+    }
+
+    @Test
+    void testMembershipChangesUpdateUserCount() {
+        alice.getServicePlans().add(fiber);
+        bob.getServicePlans().add(fiber);
+        entityManager.flush();
+        assertEquals(2, servicePlanRepository.countUsersInServicePlan(fiber.getId()));
+
+        alice.getServicePlans().add(fiber);
+        bob.getServicePlans().remove(fiber);
+        entityManager.flush();
+        assertEquals(1, servicePlanRepository.countUsersInServicePlan(fiber.getId()));
+    }
+
+    @Test
+    void testOrderChangesUpdateOrderCount() {
+        Order first = order(fiber);
+        Order second = order(fiber);
+        entityManager.flush();
+        assertEquals(2, servicePlanRepository.countOrdersInServicePlan(fiber.getId()));
+
+        second.setServicePlan(dsl);
+        entityManager.remove(first);
+        entityManager.flush();
+        assertEquals(0, servicePlanRepository.countOrdersInServicePlan(fiber.getId()));
+        assertEquals(1, servicePlanRepository.countOrdersInServicePlan(dsl.getId()));
+    }
+
+    @Test
+    void testRepairCorrectsDriftedAndMissingCounters() {
+        alice.getServicePlans().add(fiber);
+        order(dsl);
+        entityManager.flush();
+        entityManager.getEntityManager().createNativeQuery(
+                "update service_plan_counters set user_count = 42 where service_plan_id = :servicePlanId")
+                .setParameter("servicePlanId", fiber.getId())
+                .executeUpdate();
+        entityManager.getEntityManager().createNativeQuery(
+                "delete from service_plan_counters where service_plan_id = :servicePlanId")
+                .setParameter("servicePlanId", dsl.getId())
+                .executeUpdate();
+
+        long fromServicePlanId = Math.min(fiber.getId(), dsl.getId());
+        long toServicePlanId = Math.max(fiber.getId(), dsl.getId());
+        assertEquals(2, servicePlanCountersRepository.repairCounters(fromServicePlanId, toServicePlanId));
+        assertEquals(0, servicePlanCountersRepository.repairCounters(fromServicePlanId, toServicePlanId));
+
+        assertEquals(1, servicePlanRepository.countUsersInServicePlan(fiber.getId()));
+        assertEquals(1, servicePlanRepository.countOrdersInServicePlan(dsl.getId()));
+    }
+
+    private ServicePlan servicePlan(String name) {
+        ServicePlan servicePlan = new ServicePlan();
+        servicePlan.setName(name);
+        servicePlan.setDescription(name);
+        return entityManager.persist(servicePlan);
+    }
+
+    private User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("secret");
+        user.setRole(Role.USER);
+        return entityManager.persist(user);
+    }
+
+    private Order order(ServicePlan servicePlan) {
+        Order order = new Order();
+        order.setUser(alice);
+        order.setServicePlan(servicePlan);
+        order.setTotalAmount(10.0);
+        order.setOrderDate(LocalDateTime.of(2024, 3, 1, 9, 0));
+        return entityManager.persist(order);
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.ServicePlanRatingDto;
+import com.example.demo.model.Feedback;
+import com.example.demo.model.ServicePlan;
+import com.example.demo.model.User;
+import com.example.demo.security.Role;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY;
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseType.POSTGRES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs against an embedded PostgreSQL migrated by Flyway, since the rating distribution is
+ * maintained by triggers that only exist there.
+ */
+@DataJpaTest
+@AutoConfigureEmbeddedDatabase(type = POSTGRES, provider = ZONKY)
+class ServicePlanRatingTest {
+
+    @Configuration
+    @EntityScan(basePackageClasses = ServicePlan.class)
+    @EnableJpaRepositories(basePackageClasses = ServicePlanRatingRepository.class,
+            includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                    classes = ServicePlanRatingRepository.class))
+    static class Config {
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ServicePlanRatingRepository servicePlanRatingRepository;
+
+    private ServicePlan fiber;
+    private ServicePlan dsl;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        fiber = servicePlan("Fiber");
+        dsl = servicePlan("DSL");
+        user = new User();
+        user.setUsername("alice");
+        user.setEmail("alice@example.com");
+        user.setPassword("secret");
+        user.setRole(Role.USER);
+        entityManager.persist(user);
+        entityManager.flush();
+    }
+
+    @Test
+    void testNewPlanHasNoRatings() {
+        assertEquals(new ServicePlanRatingDto(fiber.getId(), 0, null, List.of(0L, 0L, 0L, 0L, 0L)), rating(fiber));
+    }
+
+    @Test
+    void testFeedbacksBuildTheDistribution() {
+        feedback(fiber, 5);
+        feedback(fiber, 5);
+        feedback(fiber, 4);
+        feedback(fiber, 1);
+        entityManager.flush();
+
+        assertEquals(new ServicePlanRatingDto(fiber.getId(), 4, 3.75, List.of(1L, 0L, 0L, 1L, 2L)), rating(fiber));
+    }
+
+    @Test
+    void testUpdatesAndDeletesMoveRatings() {
+        Feedback changed = feedback(fiber, 2);
+        Feedback moved = feedback(fiber, 3);
+        Feedback deleted = feedback(fiber, 4);
+        entityManager.flush();
+
+        changed.setRating(5);
+        moved.setServicePlan(dsl);
+        entityManager.remove(deleted);
+        entityManager.flush();
+
+        assertEquals(new ServicePlanRatingDto(fiber.getId(), 1, 5.0, List.of(0L, 0L, 0L, 0L, 1L)), rating(fiber));
+        assertEquals(new ServicePlanRatingDto(dsl.getId(), 1, 3.0, List.of(0L, 0L, 1L, 0L, 0L)), rating(dsl));
+    }
+
+    private ServicePlanRatingDto rating(ServicePlan servicePlan) {
+        entityManager.clear();
+        return servicePlanRatingRepository.findById(servicePlan.getId()).map(ServicePlanRatingDto::from).orElseThrow();
+    }
+
+    private ServicePlan servicePlan(String name) {
+        ServicePlan servicePlan = new ServicePlan();
+        servicePlan.setName(name);
+        servicePlan.setDescription(name);
+        return entityManager.persist(servicePlan);
+    }
+
+    private Feedback feedback(ServicePlan servicePlan, int rating) {
+        Feedback feedback = new Feedback();
+        feedback.setUser(user);
+        feedback.setServicePlan(servicePlan);
+        feedback.setRating(rating);
+        feedback.setFeedbackText("Rated " + rating);
+        feedback.setSubmittedDate(LocalDateTime.of(2024, 3, 1, 9, 0));
+        return entityManager.persist(feedback);
+    }
+}
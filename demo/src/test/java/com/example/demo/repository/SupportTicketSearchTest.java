@@ -0,0 +1,132 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.SupportTicketSearchHit;
+import com.example.demo.model.SupportTicket;
+import com.example.demo.model.User;
+import com.example.demo.persistence.FullTextQuery;
+import com.example.demo.security.Role;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY;
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseType.POSTGRES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs against an embedded PostgreSQL migrated by Flyway, since the tsvector column and the GIN
+ * index only exist there.
+ */
+@DataJpaTest
+@AutoConfigureEmbeddedDatabase(type = POSTGRES, provider = ZONKY)
+class SupportTicketSearchTest {
+
+    @Configuration
+    @EntityScan(basePackageClasses = SupportTicket.class)
+    @EnableJpaRepositories(basePackageClasses = SupportTicketRepository.class,
+            includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                    classes = SupportTicketRepository.class))
+    static class Config {
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private SupportTicketRepository supportTicketRepository;
+
+    private long routerTicketId;
+    private long routerDropTicketId;
+    private long closedRouterTicketId;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("agent");
+        user.setEmail("agent@example.com");
+        user.setPassword("secret");
+        user.setRole(Role.USER);
+        entityManager.persist(user);
+
+        routerTicketId = ticket(user, "The router reboots every night", "OPEN", LocalDateTime.of(2024, 3, 1, 9, 0));
+        routerDropTicketId = ticket(user, "Router drops the connection, router lights blink, connection lost again",
+                "OPEN", LocalDateTime.of(2024, 3, 5, 9, 0));
+        closedRouterTicketId = ticket(user, "Router replaced", "CLOSED", LocalDateTime.of(2024, 2, 1, 9, 0));
+        ticket(user, "No dial tone on the landline", "OPEN", LocalDateTime.of(2024, 3, 2, 9, 0));
+        ticket(user, "Dial plan has no tone options", "OPEN", LocalDateTime.of(2024, 3, 3, 9, 0));
+        entityManager.flush();
+    }
+
+    @Test
+    void testRanksBestMatchFirst() {
+        List<Long> ids = ids(search("router", null, null, null, 0, 10));
+
+        assertEquals(routerDropTicketId, ids.get(0));
+        assertEquals(3, ids.size());
+    }
+
+    @Test
+    void testMatchesAllTermsWithStemming() {
+        assertEquals(List.of(routerDropTicketId), ids(search("router dropped connections", null, null, null, 0, 10)));
+    }
+
+    @Test
+    void testMatchesPrefix() {
+        assertEquals(List.of(routerTicketId), ids(search("reboot*", null, null, null, 0, 10)));
+    }
+
+    @Test
+    void testMatchesPhraseOnlyInOrder() {
+        List<SupportTicketSearchHit> hits = search("\"no dial tone\"", null, null, null, 0, 10);
+
+        assertEquals(1, hits.size());
+        assertEquals("No dial tone on the landline", hits.get(0).issueDescription());
+    }
+
+    @Test
+    void testFiltersByStatusAndCreatedDate() {
+        assertEquals(List.of(closedRouterTicketId), ids(search("router", "CLOSED", null, null, 0, 10)));
+        assertEquals(List.of(routerTicketId),
+                ids(search("router", "OPEN", LocalDateTime.of(2024, 3, 1, 0, 0), LocalDateTime.of(2024, 3, 2, 0, 0), 0, 10)));
+    }
+
+    @Test
+    void testPagesThroughResults() {
+        List<Long> all = ids(search("router", null, null, null, 0, 10));
+
+        assertEquals(all.subList(0, 2), ids(search("router", null, null, null, 0, 2)));
+        assertEquals(all.subList(2, 3), ids(search("router", null, null, null, 2, 2)));
+    }
+
+    private long ticket(User user, String description, String status, LocalDateTime createdDate) {
+        SupportTicket ticket = new SupportTicket();
+        ticket.setUser(user);
+        ticket.setIssueDescription(description);
+        ticket.setStatus(status);
+        ticket.setCreatedDate(createdDate);
+        return entityManager.persistAndGetId(ticket, Long.class);
+    }
+
+    private List<SupportTicketSearchHit> search(String input, String status, LocalDateTime from, LocalDateTime to,
+                                                long offset, int limit) {
+        return supportTicketRepository.searchIssueDescriptions(FullTextQuery.toTsQuery(input).orElseThrow(),
+                status, from, to, offset, limit);
+    }
+
+    private static List<Long> ids(List<SupportTicketSearchHit> hits) {
+        return hits.stream().map(SupportTicketSearchHit::id).toList();
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.RegionDto;
+import com.example.demo.dto.ServicePlanDto;
+import com.example.demo.dto.UserDto;
+import com.example.demo.model.Region;
+import com.example.demo.model.ServicePlan;
+import com.example.demo.model.User;
+import com.example.demo.persistence.LikePatterns;
+import com.example.demo.security.Role;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.util.List;
+
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY;
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseType.POSTGRES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs against an embedded PostgreSQL migrated by Flyway, since {@code pg_trgm} only exists there.
+ */
+@DataJpaTest
+@AutoConfigureEmbeddedDatabase(type = POSTGRES, provider = ZONKY)
+class TrigramSearchTest {
+
+    @Configuration
+    @EntityScan(basePackageClasses = User.class)
+    @EnableJpaRepositories(basePackageClasses = UserRepository.class,
+            includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                    classes = {UserRepository.class, RegionRepository.class, ServicePlanRepository.class}))
+    static class Config {
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RegionRepository regionRepository;
+
+    @Autowired
+    private ServicePlanRepository servicePlanRepository;
+
+    @BeforeEach
+    void setUp() {
+        user("jonathan.smith");
+        user("jon.smithers");
+        user("mary.jones");
+        user("smithfield");
+        region("North Carolina", "Piedmont and coastal plain");
+        region("South Carolina", "Lowcountry");
+        region("Montana", "Northern Rockies");
+        servicePlan("Fiber Unlimited", "Symmetric gigabit fiber");
+        servicePlan("Basic DSL", "Entry level copper plan");
+        servicePlan("Business Fibre", "Static addresses");
+        entityManager.flush();
+    }
+
+    @Test
+    void testUsernameSearchToleratesTypos() {
+        assertEquals(List.of("jonathan.smith"), usernames(userRepository.searchDtosByUsername("jonatan", "jonatan", Limit.of(10))));
+    }
+
+    @Test
+    void testUsernameSearchRanksClosestMatchFirst() {
+        List<String> usernames = usernames(userRepository.searchDtosByUsername("smith", "smith", Limit.of(10)));
+
+        assertEquals("jonathan.smith", usernames.get(0));
+        assertEquals(3, usernames.size());
+    }
+
+    @Test
+    void testUsernameSearchKeepsSubstringMatches() {
+        assertEquals(List.of("jon.smithers"), usernames(userRepository.searchDtosByUsername("MITHER", "MITHER", Limit.of(10))));
+    }
+
+    @Test
+    void testUsernameSearchAppliesLimit() {
+        assertEquals(1, userRepository.searchDtosByUsername("smith", "smith", Limit.of(1)).size());
+    }
+
+    @Test
+    void testRegionNameSearchToleratesTypos() {
+        List<String> names = regionNames(regionRepository.searchDtosByName("carolna", "carolna", Limit.of(10)));
+
+        assertEquals(List.of("North Carolina", "South Carolina"), names);
+    }
+
+    @Test
+    void testRegionDescriptionSearchToleratesTypos() {
+        List<String> names = regionNames(regionRepository.searchDtosByDescription("rocky", "rocky", Limit.of(10)));
+
+        assertEquals(List.of("Montana"), names);
+    }
+
+    @Test
+    void testServicePlanSearchToleratesTyposInEitherColumn() {
+        assertEquals(List.of("Business Fibre", "Fiber Unlimited"),
+                servicePlanNames(servicePlanRepository.searchDtos("fibr", "fibr", Limit.of(10))));
+        assertEquals(List.of("Fiber Unlimited"), servicePlanNames(servicePlanRepository.searchDtos("gigabt", "gigabt", Limit.of(10))));
+    }
+
+    @Test
+    void testServicePlanSearchIgnoresCase() {
+        assertEquals(List.of("Basic DSL"), servicePlanNames(servicePlanRepository.searchDtos("COPPER", "COPPER", Limit.of(10))));
+    }
+
+    @Test
+    void testWildcardsInTheQueryMatchOnlyThemselves() {
+        user("a_b");
+        user("axb");
+        region("100% Fiber", "Half_price");
+        region("Fiber Zone", "Half-price");
+        servicePlan("Ultra 100%", "Plan_one");
+        entityManager.flush();
+
+        assertEquals(List.of("a_b"), usernames(userRepository.searchDtosByUsername("a_b", LikePatterns.escape("a_b"), Limit.of(10))));
+        assertEquals(List.of(), usernames(userRepository.searchDtosByUsername("%", LikePatterns.escape("%"), Limit.of(10))));
+        assertEquals(List.of("100% Fiber"), regionNames(regionRepository.searchDtosByName("0%", LikePatterns.escape("0%"), Limit.of(10))));
+        assertEquals(List.of("100% Fiber"),
+                regionNames(regionRepository.searchDtosByDescription("f_p", LikePatterns.escape("f_p"), Limit.of(10))));
+        assertEquals(List.of("Ultra 100%"),
+                servicePlanNames(servicePlanRepository.searchDtos("%", LikePatterns.escape("%"), Limit.of(10))));
+    }
+
+    private void user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("secret");
+        user.setRole(Role.USER);
+        entityManager.persist(user);
+    }
+
+    private void region(String name, String description) {
+        Region region = new Region();
+        region.setName(name);
+        region.setDescription(description);
+        entityManager.persist(region);
+    }
+
+    private void servicePlan(String name, String description) {
+        ServicePlan servicePlan = new ServicePlan();
+        servicePlan.setName(name);
+        servicePlan.setDescription(description);
+        entityManager.persist(servicePlan);
+    }
+
+    private static List<String> usernames(List<UserDto> users) {
+        return users.stream().map(UserDto::username).toList();
+    }
+
+    private static List<String> regionNames(List<RegionDto> regions) {
+        return regions.stream().map(RegionDto::name).toList();
+    }
+
+    private static List<String> servicePlanNames(List<ServicePlanDto> servicePlans) {
+        return servicePlans.stream().map(ServicePlanDto::name).toList();
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.UserOrderTotalsDto;
+import com.example.demo.model.Order;
+import com.example.demo.model.Payment;
+import com.example.demo.model.ServicePlan;
+import com.example.demo.model.User;
+import com.example.demo.security.Role;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY;
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseType.POSTGRES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs against an embedded PostgreSQL migrated by Flyway, since the totals are maintained by
+ * triggers that only exist there.
+ */
+@DataJpaTest
+@AutoConfigureEmbeddedDatabase(type = POSTGRES, provider = ZONKY)
+class UserOrderTotalsTest {
+
+    @Configuration
+    @EntityScan(basePackageClasses = User.class)
+    @EnableJpaRepositories(basePackageClasses = UserOrderTotalsRepository.class,
+            includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                    classes = UserOrderTotalsRepository.class))
+    static class Config {
+    }
+
+    private static final LocalDateTime MARCH = LocalDateTime.of(2024, 3, 1, 9, 0);
+    private static final LocalDateTime APRIL = LocalDateTime.of(2024, 4, 1, 9, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserOrderTotalsRepository userOrderTotalsRepository;
+
+    private User alice;
+    private User bob;
+    private ServicePlan servicePlan;
+
+    @BeforeEach
+    void setUp() {
+        alice = user("alice");
+        bob = user("bob");
+        servicePlan = new ServicePlan();
+        servicePlan.setName("Fiber");
+        servicePlan.setDescription("Fiber");
+        entityManager.persist(servicePlan);
+    }
+
+    @Test
+    void testOrderAndPaymentWritesUpdateTotals() {
+        Order march = order(alice, 10.10, MARCH);
+        order(alice, 20.20, APRIL);
+        payment(alice, march, 10.10);
+        entityManager.flush();
+
+        assertEquals(new UserOrderTotalsDto(alice.getId(), 2, new BigDecimal("30.3"), new BigDecimal("10.1"), APRIL),
+                totals(alice));
+    }
+
+    @Test
+    void testUpdatingAnOrderMovesItsAmount() {
+        Order order = order(alice, 10.0, MARCH);
+        entityManager.flush();
+
+        order.setUser(bob);
+        order.setTotalAmount(15.0);
+        entityManager.flush();
+
+        assertEquals(new UserOrderTotalsDto(alice.getId(), 0, new BigDecimal("0"), new BigDecimal("0"), null),
+                totals(alice));
+        assertEquals(new UserOrderTotalsDto(bob.getId(), 1, new BigDecimal("15"), new BigDecimal("0"), MARCH),
+                totals(bob));
+    }
+
+    @Test
+    void testDeletingTheLatestOrderRecomputesLastOrderDate() {
+        order(alice, 10.0, MARCH);
+        Order april = order(alice, 20.0, APRIL);
+        entityManager.flush();
+
+        entityManager.remove(april);
+        entityManager.flush();
+
+        assertEquals(new UserOrderTotalsDto(alice.getId(), 1, new BigDecimal("10"), new BigDecimal("0"), MARCH),
+                totals(alice));
+    }
+
+    @Test
+    void testRebuildCorrectsDriftedAndMissingRows() {
+        order(alice, 10.0, MARCH);
+        order(bob, 20.0, APRIL);
+        entityManager.flush();
+        entityManager.getEntityManager().createNativeQuery(
+                "update user_order_totals set order_total = 999 where user_id = :userId")
+                .setParameter("userId", alice.getId())
+                .executeUpdate();
+        entityManager.getEntityManager().createNativeQuery("delete from user_order_totals where user_id = :userId")
+                .setParameter("userId", bob.getId())
+                .executeUpdate();
+
+        long fromUserId = Math.min(alice.getId(), bob.getId());
+        long toUserId = Math.max(alice.getId(), bob.getId());
+        assertEquals(2, userOrderTotalsRepository.rebuildTotals(fromUserId, toUserId));
+        assertEquals(0, userOrderTotalsRepository.rebuildTotals(fromUserId, toUserId));
+
+        assertEquals(new BigDecimal("10"), totals(alice).orderTotal());
+        assertEquals(new UserOrderTotalsDto(bob.getId(), 1, new BigDecimal("20"), new BigDecimal("0"), APRIL),
+                totals(bob));
+    }
+
+    private UserOrderTotalsDto totals(User user) {
+        entityManager.clear();
+        return userOrderTotalsRepository.findDtoByUserId(user.getId()).orElseThrow();
+    }
+
+    private User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("secret");
+        user.setRole(Role.USER);
+        return entityManager.persist(user);
+    }
+
+    private Order order(User user, double amount, LocalDateTime orderDate) {
+        Order order = new Order();
+        order.setUser(user);
+        order.setServicePlan(servicePlan);
+        order.setTotalAmount(amount);
+        order.setOrderDate(orderDate);
+        return entityManager.persist(order);
+    }
+
+    private void payment(User user, Order order, double amount) {
+        Payment payment = new Payment();
+        payment.setUser(user);
+        payment.setOrder(order);
+        payment.setAmount(amount);
+        payment.setPaymentDate(order.getOrderDate());
+        entityManager.persist(payment);
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.demo.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.demo.dto.ServicePlanDto;
+import com.example.demo.repository.ServicePlanRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class ServicePlanSearchIndexTest {
+
+    private ServicePlanRepository servicePlanRepository;
+    private ServicePlanSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        servicePlanRepository = mock(ServicePlanRepository.class);
+        when(servicePlanRepository.findAllDtos()).thenReturn(List.of(
+                new ServicePlanDto(1L, "Fiber Unlimited", "Symmetric gigabit fiber"),
+                new ServicePlanDto(2L, "Basic DSL", "Entry level copper plan"),
+                new ServicePlanDto(3L, "Business Fibre", null),
+                new ServicePlanDto(4L, "Database Hosting", "Managed backups")));
+        index = new ServicePlanSearchIndex(servicePlanRepository, 10);
+        index.reload();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testMatchesSubstringIgnoringCase() {
+        assertEquals(List.of(2L), ids(index.search("COPPER")));
+        assertEquals(List.of(1L), ids(index.search("metric giga")));
+    }
+
+    @Test
+    void testRanksWordPrefixBeforeInfix() {
+        assertEquals(List.of(2L, 4L), ids(index.search("bas")));
+    }
+
+    @Test
+    void testToleratesTypos() {
+        assertEquals(List.of(3L, 1L), ids(index.search("fibr")));
+    }
+
+    @Test
+    void testShortQueriesScanEveryPlan() {
+        assertEquals(List.of(1L, 2L, 3L, 4L), ids(index.search("s")));
+    }
+
+    @Test
+    void testAppliesResultLimit() {
+        ServicePlanSearchIndex limited = new ServicePlanSearchIndex(servicePlanRepository, 1);
+        limited.reload();
+
+        assertEquals(1, limited.search("s").size());
+    }
+
+    @Test
+    void testPutReplacesPreviousText() {
+        index.put(new ServicePlanDto(2L, "Basic Cable", "Coax"));
+
+        assertEquals(List.of(), ids(index.search("copper")));
+        assertEquals(List.of(2L), ids(index.search("coax")));
+    }
+
+    @Test
+    void testDeleteRemovesPlan() {
+        index.delete(1L);
+
+        assertEquals(List.of(3L), ids(index.search("fibr")));
+    }
+
+    @Test
+    void testWritesWaitForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        index.put(new ServicePlanDto(5L, "Satellite", null));
+
+        assertEquals(List.of(), ids(index.search("satellite")));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(List.of(5L), ids(index.search("satellite")));
+    }
+
+    @Test
+    void testReloadKeepsChangesCommittedWhileItReads() {
+        when(servicePlanRepository.findAllDtos()).thenAnswer(invocation -> {
+            index.put(new ServicePlanDto(5L, "Satellite", null));
+            index.delete(1L);
+            index.put(new ServicePlanDto(2L, "Basic Cable", "Coax"));
+            return List.of(
+                    new ServicePlanDto(1L, "Fiber Unlimited", "Symmetric gigabit fiber"),
+                    new ServicePlanDto(2L, "Basic DSL", "Entry level copper plan"),
+                    new ServicePlanDto(3L, "Business Fibre", null));
+        });
+
+        index.reload();
+
+        assertEquals(List.of(5L), ids(index.search("satellite")));
+        assertEquals(List.of(3L), ids(index.search("fibr")));
+        assertEquals(List.of(), ids(index.search("copper")));
+        assertEquals(List.of(2L), ids(index.search("coax")));
+    }
+
+    @Test
+    void testChangesAfterReloadAreNotReplayedByTheNext() {
+        index.put(new ServicePlanDto(5L, "Satellite", null));
+        index.reload();
+
+        assertEquals(List.of(), ids(index.search("satellite")));
+    }
+
+    @Test
+    void testSearchesRepositoryUntilLoaded() {
+        ServicePlanSearchIndex unloaded = new ServicePlanSearchIndex(servicePlanRepository, 10);
+        List<ServicePlanDto> plans = List.of(new ServicePlanDto(1L, "Fiber Unlimited", null));
+        when(servicePlanRepository.searchDtos("fiber", "fiber", Limit.of(10))).thenReturn(plans);
+
+        assertEquals(plans, unloaded.search("fiber"));
+    }
+
+    private static List<Long> ids(List<ServicePlanDto> plans) {
+        return plans.stream().map(ServicePlanDto::id).toList();
+    }
+}
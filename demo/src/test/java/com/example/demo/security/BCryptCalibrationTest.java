@@ -0,0 +1,32 @@
+package com.example.demo.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BCryptCalibrationTest {
+
+    /** Strength 10 takes 40ms, and each step up doubles it. */
+    private final List<Integer> measured = new ArrayList<>();
+    private final IntToLongFunction hashNanos = strength -> {
+        measured.add(strength);
+        return Duration.ofMillis(40).toNanos() << (strength - 10);
+    };
+
+    @Test
+    void testHighestStrengthWithinTheTargetIsChosen() {
+        assertEquals(11, BCryptCalibration.strength(Duration.ofMillis(100), 10, 16, hashNanos));
+        assertEquals(List.of(10, 10, 11), measured);
+    }
+
+    @Test
+    void testStrengthStaysWithinItsBounds() {
+        assertEquals(10, BCryptCalibration.strength(Duration.ofMillis(10), 10, 16, hashNanos));
+        assertEquals(12, BCryptCalibration.strength(Duration.ofSeconds(10), 10, 12, hashNanos));
+    }
+}
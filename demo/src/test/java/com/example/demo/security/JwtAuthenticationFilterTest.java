@@ -0,0 +1,87 @@
+package com.example.demo.security;
+
+import com.example.demo.model.User;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationFilterTest {
+
+    private final TokenVersions tokenVersions = mock(TokenVersions.class);
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(new JwtVerifier(100), tokenVersions);
+    private final User user = new User(1L, "monitor", "monitor@example.com", "secret", Role.ADMIN);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testValidTokenAuthenticatesTheRequestFromItsClaims() throws Exception {
+        when(tokenVersions.isCurrent(1L, 0)).thenReturn(true);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("Bearer " + JwtService.generateToken(user)), new MockHttpServletResponse(), chain);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertEquals(new AuthenticatedUser(1L, "monitor@example.com", Role.ADMIN, 0), authentication.getPrincipal());
+        assertEquals("monitor@example.com", authentication.getName());
+        assertEquals(List.of("ROLE_ADMIN"),
+                authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void testRevokedTokenContinuesUnauthenticated() throws Exception {
+        user.setTokenVersion(3);
+        when(tokenVersions.isCurrent(1L, 3)).thenReturn(false);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("Bearer " + JwtService.generateToken(user)), new MockHttpServletResponse(), chain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void testTokenWithoutUserClaimsContinuesUnauthenticated() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("Bearer " + JwtService.generateToken(Map.of(), user)), new MockHttpServletResponse(), chain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertNotNull(chain.getRequest());
+        verifyNoInteractions(tokenVersions);
+    }
+
+    @Test
+    void testInvalidTokenContinuesUnauthenticated() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("Bearer not-a-token"), new MockHttpServletResponse(), chain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertNotNull(chain.getRequest());
+        verifyNoInteractions(tokenVersions);
+    }
+
+    private static MockHttpServletRequest request(String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/network-statuses");
+        request.addHeader("Authorization", authorization);
+        return request;
+    }
+}
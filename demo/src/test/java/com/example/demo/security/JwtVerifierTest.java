@@ -0,0 +1,44 @@
+package com.example.demo.security;
+
+import com.example.demo.model.User;
+
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtVerifierTest {
+
+    private final JwtVerifier jwtVerifier = new JwtVerifier(100);
+
+    @Test
+    void testRepeatedTokenIsParsedOnce() {
+        String token = JwtService.generateToken(user("monitor@example.com"));
+
+        Claims claims = jwtVerifier.verify(token);
+
+        assertEquals("monitor@example.com", claims.getSubject());
+        assertSame(claims, jwtVerifier.verify(token));
+    }
+
+    @Test
+    void testTamperedTokenIsRejected() {
+        String token = JwtService.generateToken(user("monitor@example.com"));
+        String other = JwtService.generateToken(user("other@example.com"));
+        String[] parts = token.split("\\.");
+        String forged = parts[0] + "." + other.split("\\.")[1] + "." + parts[2];
+
+        jwtVerifier.verify(token);
+
+        assertThrows(JwtException.class, () -> jwtVerifier.verify(forged));
+        assertThrows(JwtException.class, () -> jwtVerifier.verify(token + "x"));
+    }
+
+    private static User user(String email) {
+        return new User(1L, email, email, "secret", Role.USER);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.demo.security;
+
+import com.example.demo.config.PasswordHashingProperties;
+import com.example.demo.exception.PasswordHashingRejectedException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHashingExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PasswordHashingExecutor executor = new PasswordHashingExecutor(
+            new PasswordHashingProperties(1, 1, Duration.ofSeconds(2), Duration.ofMillis(100), 4, 4), meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    void testHashingIsTimedPerEndpoint() {
+        assertEquals("hash", executor.execute("register", () -> "hash"));
+
+        assertEquals(1, meterRegistry.get("password.hashing.queue.wait").tag("endpoint", "register").timer().count());
+        assertEquals(1, meterRegistry.get("password.hashing.duration").tag("endpoint", "register").timer().count());
+    }
+
+    @Test
+    void testFailureIsRethrownToTheCaller() {
+        assertThrows(BadCredentialsException.class, () -> executor.execute("authenticate", () -> {
+            throw new BadCredentialsException("Bad credentials");
+        }));
+    }
+
+    @Test
+    void testWorkBeyondTheQueueIsRejected() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> executor.execute("authenticate", () -> {
+            started.countDown();
+            await(release);
+            return "first";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> executor.execute("authenticate", () -> "second"));
+        while (meterRegistry.get("executor.queued").tag("name", "passwordHashing").gauge().value() < 1) {
+            Thread.sleep(10);
+        }
+
+        PasswordHashingRejectedException rejected = assertThrows(PasswordHashingRejectedException.class,
+                () -> executor.execute("authenticate", () -> "third"));
+        release.countDown();
+
+        assertEquals(Duration.ofSeconds(2), rejected.getRetryAfter());
+        assertEquals("first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("second", queued.get(5, TimeUnit.SECONDS));
+        assertEquals(1, meterRegistry.get("password.hashing.rejected").tag("endpoint", "authenticate").counter().count());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.demo.security;
+
+import com.example.demo.repository.UserRepository;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class TokenVersionsTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final TokenVersions tokenVersions = new TokenVersions(userRepository, 100, Duration.ofMinutes(1));
+
+    @Test
+    void testCurrentVersionIsReadOncePerUser() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(2));
+
+        assertTrue(tokenVersions.isCurrent(1L, 2));
+        assertFalse(tokenVersions.isCurrent(1L, 1));
+        assertTrue(tokenVersions.isCurrent(1L, 2));
+
+        verify(userRepository, times(1)).findTokenVersionById(1L);
+    }
+
+    @Test
+    void testRevokedUserIsReadAgain() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0), Optional.of(1));
+        assertTrue(tokenVersions.isCurrent(1L, 0));
+
+        tokenVersions.revoked(1L);
+
+        assertFalse(tokenVersions.isCurrent(1L, 0));
+        assertTrue(tokenVersions.isCurrent(1L, 1));
+        verify(userRepository, times(2)).findTokenVersionById(1L);
+    }
+
+    @Test
+    void testDeletedUserIsNeverCurrent() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.empty());
+
+        assertFalse(tokenVersions.isCurrent(1L, 0));
+        assertFalse(tokenVersions.isCurrent(1L, 0));
+
+        verify(userRepository, times(1)).findTokenVersionById(1L);
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.example.demo.dto.NetworkStatusDto;
+import com.example.demo.exception.InvalidNetworkStatusException;
+import com.example.demo.exception.UpdateDateOutOfRangeException;
+import com.example.demo.export.NdjsonWriter;
+import com.example.demo.model.NetworkStatus;
+import com.example.demo.model.Region;
+import com.example.demo.persistence.BatchInserter;
+import com.example.demo.persistence.ChunkedBulkExecutor;
+import com.example.demo.persistence.NetworkStatusPartitionManager;
+import com.example.demo.reactive.NetworkStatusBroadcaster;
+import com.example.demo.repository.NetworkStatusRepository;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+class NetworkStatusServiceTest {
+
+    private static final LocalDateTime IN_WINDOW = LocalDateTime.of(2024, 3, 2, 10, 30);
+    private static final LocalDateTime OUT_OF_WINDOW = LocalDateTime.of(2022, 3, 2, 10, 30);
+
+    private NetworkStatusRepository networkStatusRepository;
+    private BatchInserter batchInserter;
+    private ChunkedBulkExecutor chunkedBulkExecutor;
+    private NetworkStatusPartitionManager partitionManager;
+    private NetworkStatusService service;
+
+    @BeforeEach
+    void setUp() {
+        networkStatusRepository = mock(NetworkStatusRepository.class);
+        batchInserter = mock(BatchInserter.class);
+        chunkedBulkExecutor = mock(ChunkedBulkExecutor.class);
+        partitionManager = mock(NetworkStatusPartitionManager.class);
+        when(partitionManager.covers(IN_WINDOW)).thenReturn(true);
+        service = new NetworkStatusService(networkStatusRepository, mock(NdjsonWriter.class), batchInserter,
+                chunkedBulkExecutor, provider(null), provider(null), provider(partitionManager));
+    }
+
+    @Test
+    void testCreateOutsideThePartitionedMonthsIsRejected() {
+        assertThrows(UpdateDateOutOfRangeException.class, () -> service.saveNetworkStatus(networkStatus(OUT_OF_WINDOW)));
+        assertThrows(UpdateDateOutOfRangeException.class,
+                () -> service.createNetworkStatuses(List.of(networkStatus(IN_WINDOW), networkStatus(OUT_OF_WINDOW))));
+        assertThrows(UpdateDateOutOfRangeException.class, () -> service.updateNetworkStatus(1L, networkStatus(OUT_OF_WINDOW)));
+
+        verifyNoInteractions(networkStatusRepository, batchInserter);
+    }
+
+    @Test
+    void testCreateInsideThePartitionedMonthsIsSaved() {
+        NetworkStatus networkStatus = networkStatus(IN_WINDOW);
+        when(networkStatusRepository.save(networkStatus)).thenReturn(networkStatus);
+
+        service.saveNetworkStatus(networkStatus);
+
+        verify(networkStatusRepository).save(networkStatus);
+    }
+
+    @Test
+    void testUpdateThatMovesRegionIsPublishedToThePreviousRegion() {
+        NetworkStatusBroadcaster broadcaster = mock(NetworkStatusBroadcaster.class);
+        service = new NetworkStatusService(networkStatusRepository, mock(NdjsonWriter.class), batchInserter,
+                chunkedBulkExecutor, provider(null), provider(broadcaster), provider(partitionManager));
+        NetworkStatus existing = networkStatus(IN_WINDOW, 1L);
+        existing.setId(5L);
+        when(networkStatusRepository.findById(5L)).thenReturn(Optional.of(existing));
+        when(networkStatusRepository.save(existing)).thenReturn(existing);
+
+        service.updateNetworkStatus(5L, networkStatus(IN_WINDOW, 2L));
+
+        verify(broadcaster).publish(new NetworkStatusDto(5L, "Active", IN_WINDOW, 2L), 1L);
+    }
+
+    @Test
+    void testSaveOverAnExistingStatusIsPublishedToItsPreviousRegion() {
+        NetworkStatusBroadcaster broadcaster = mock(NetworkStatusBroadcaster.class);
+        when(broadcaster.hasSubscribers()).thenReturn(true);
+        service = new NetworkStatusService(networkStatusRepository, mock(NdjsonWriter.class), batchInserter,
+                chunkedBulkExecutor, provider(null), provider(broadcaster), provider(partitionManager));
+        when(networkStatusRepository.findDtoById(5L))
+                .thenReturn(Optional.of(new NetworkStatusDto(5L, "Active", IN_WINDOW, 1L)));
+        NetworkStatus moved = networkStatus(IN_WINDOW, 2L);
+        moved.setId(5L);
+        when(networkStatusRepository.save(moved)).thenReturn(moved);
+
+        service.saveNetworkStatus(moved);
+
+        verify(broadcaster).publish(new NetworkStatusDto(5L, "Active", IN_WINDOW, 2L), 1L);
+    }
+
+    @Test
+    void testBulkUpdateWithMissingStatusIsRejectedBeforeAnyChunk() {
+        Map<Long, String> statusesById = new LinkedHashMap<>();
+        statusesById.put(1L, "Inactive");
+        statusesById.put(2L, null);
+
+        assertThrows(InvalidNetworkStatusException.class, () -> service.bulkUpdateNetworkStatuses(statusesById));
+        assertThrows(InvalidNetworkStatusException.class, () -> service.bulkUpdateNetworkStatuses(Map.of(1L, "x".repeat(101))));
+        assertThrows(InvalidNetworkStatusException.class, () -> service.bulkUpdateNetworkStatuses(List.of(1L, 2L), "no"));
+
+        verifyNoInteractions(chunkedBulkExecutor, networkStatusRepository);
+    }
+
+    private static NetworkStatus networkStatus(LocalDateTime updateDate, Long regionId) {
+        Region region = new Region();
+        region.setId(regionId);
+        NetworkStatus networkStatus = networkStatus(updateDate);
+        networkStatus.setRegion(region);
+        return networkStatus;
+    }
+
+    private static NetworkStatus networkStatus(LocalDateTime updateDate) {
+        NetworkStatus networkStatus = new NetworkStatus();
+        networkStatus.setStatus("Active");
+        networkStatus.setUpdateDate(updateDate);
+        return networkStatus;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ObjectProvider<T> provider(T bean) {
+        ObjectProvider<T> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(bean);
+        return provider;
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.demo.dto.SupportTicketBacklogDto;
+import com.example.demo.dto.SupportTicketHourlyCount;
+import com.example.demo.dto.SupportTicketStatusCount;
+import com.example.demo.repository.SupportTicketRepository;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.*;
+
+class SupportTicketBacklogTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 2, 10, 30);
+    private static final LocalDateTime THIS_HOUR = LocalDateTime.of(2024, 3, 2, 10, 0);
+    private static final LocalDateTime FIRST_HOUR = LocalDateTime.of(2024, 3, 1, 11, 0);
+    private static final LocalDateTime OLDEST_OPEN = LocalDateTime.of(2024, 2, 1, 8, 0);
+
+    private SupportTicketRepository supportTicketRepository;
+    private SupportTicketBacklog backlog;
+
+    @BeforeEach
+    void setUp() {
+        supportTicketRepository = mock(SupportTicketRepository.class);
+        when(supportTicketRepository.countGroupByStatus()).thenReturn(List.of(
+                new SupportTicketStatusCount("OPEN", 3L),
+                new SupportTicketStatusCount("CLOSED", 10L)));
+        when(supportTicketRepository.countCreatedPerHourSince(FIRST_HOUR)).thenReturn(List.of(
+                new SupportTicketHourlyCount(FIRST_HOUR, 2L),
+                new SupportTicketHourlyCount(THIS_HOUR, 1L)));
+        when(supportTicketRepository.findOldestCreatedDateByStatusIn(Set.of("OPEN", "IN_PROGRESS")))
+                .thenReturn(Optional.of(OLDEST_OPEN));
+        backlog = new SupportTicketBacklog(supportTicketRepository, Set.of("OPEN", "IN_PROGRESS"),
+                Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testCountsGoToRepositoryUntilReconciled() {
+        when(supportTicketRepository.countByStatus("OPEN")).thenReturn(7L);
+        assertEquals(7, backlog.countByStatus("OPEN"));
+
+        backlog.reconcile();
+        assertEquals(3, backlog.countByStatus("OPEN"));
+        assertEquals(0, backlog.countByStatus("IN_PROGRESS"));
+        verify(supportTicketRepository, times(1)).countByStatus("OPEN");
+    }
+
+    @Test
+    void testBacklogCoversTheLastDayHourByHour() {
+        backlog.reconcile();
+        SupportTicketBacklogDto dto = backlog.getBacklog();
+
+        assertEquals(Map.of("CLOSED", 10L, "OPEN", 3L), dto.statusCounts());
+        assertEquals(SupportTicketBacklog.HOURS, dto.createdPerHour().size());
+        assertEquals(new SupportTicketHourlyCount(FIRST_HOUR, 2L), dto.createdPerHour().get(0));
+        assertEquals(new SupportTicketHourlyCount(FIRST_HOUR.plusHours(1), 0L), dto.createdPerHour().get(1));
+        assertEquals(new SupportTicketHourlyCount(THIS_HOUR, 1L), dto.createdPerHour().get(SupportTicketBacklog.HOURS - 1));
+        assertEquals(OLDEST_OPEN, dto.oldestOpenCreatedDate());
+        assertEquals(30 * 24 * 3600 + 2 * 3600 + 30 * 60, dto.oldestOpenAgeSeconds());
+    }
+
+    @Test
+    void testWritesMoveCounters() {
+        backlog.reconcile();
+        backlog.created("OPEN", NOW);
+        backlog.created("OPEN", FIRST_HOUR.minusHours(1));
+        backlog.statusChanged("OPEN", "IN_PROGRESS", NOW);
+        backlog.deleted("CLOSED", FIRST_HOUR);
+
+        SupportTicketBacklogDto dto = backlog.getBacklog();
+        assertEquals(Map.of("CLOSED", 9L, "OPEN", 4L, "IN_PROGRESS", 1L), dto.statusCounts());
+        assertEquals(1, dto.createdPerHour().get(0).count());
+        assertEquals(2, dto.createdPerHour().get(SupportTicketBacklog.HOURS - 1).count());
+    }
+
+    @Test
+    void testOpeningAnOlderTicketMovesOldestOpenBack() {
+        backlog.reconcile();
+        LocalDateTime older = OLDEST_OPEN.minusDays(1);
+        backlog.statusChanged("CLOSED", "OPEN", older);
+
+        assertEquals(older, backlog.getBacklog().oldestOpenCreatedDate());
+        verify(supportTicketRepository, times(1)).findOldestCreatedDateByStatusIn(anySet());
+    }
+
+    @Test
+    void testClosingTheOldestOpenTicketLooksItUpAgain() {
+        backlog.reconcile();
+        backlog.statusChanged("OPEN", "IN_PROGRESS", OLDEST_OPEN.plusDays(1));
+        backlog.getBacklog();
+        verify(supportTicketRepository, times(1)).findOldestCreatedDateByStatusIn(anySet());
+
+        when(supportTicketRepository.findOldestCreatedDateByStatusIn(anySet())).thenReturn(Optional.empty());
+        backlog.statusChanged("IN_PROGRESS", "CLOSED", OLDEST_OPEN);
+        SupportTicketBacklogDto dto = backlog.getBacklog();
+
+        assertNull(dto.oldestOpenCreatedDate());
+        assertNull(dto.oldestOpenAgeSeconds());
+        verify(supportTicketRepository, times(2)).findOldestCreatedDateByStatusIn(anySet());
+    }
+
+    @Test
+    void testWritesApplyAfterCommit() {
+        backlog.reconcile();
+        TransactionSynchronizationManager.initSynchronization();
+        backlog.created("OPEN", NOW);
+        assertEquals(3, backlog.countByStatus("OPEN"));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(4, backlog.countByStatus("OPEN"));
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Limit;
+
+import com.example.demo.model.User;
+import com.example.demo.repository.ServicePlanRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.security.Role;
+import com.example.demo.security.TokenVersions;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class UserServiceTest {
+
+    private UserRepository userRepository;
+    private TokenVersions tokenVersions;
+    private UserService service;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        tokenVersions = mock(TokenVersions.class);
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        User existing = new User(7L, "jane", "jane@example.com", "hash", Role.USER);
+        existing.setTokenVersion(3);
+        when(userRepository.findById(7L)).thenReturn(Optional.of(existing));
+        service = new UserService(userRepository, mock(ServicePlanRepository.class), tokenVersions, 50);
+    }
+
+    @Test
+    void testSaveUserWithNewPasswordRevokesTokens() {
+        service.saveUser(new User(7L, "jane", "jane@example.com", "new-hash", Role.USER));
+
+        assertEquals(4, savedUser().getTokenVersion());
+        verify(tokenVersions).revoked(7L);
+    }
+
+    @Test
+    void testSaveUserWithNewRoleRevokesTokens() {
+        service.saveUser(new User(7L, "jane", "jane@example.com", "hash", Role.ADMIN));
+
+        assertEquals(4, savedUser().getTokenVersion());
+        verify(tokenVersions).revoked(7L);
+    }
+
+    @Test
+    void testSaveUserWithSameCredentialsKeepsTokenVersion() {
+        service.saveUser(new User(7L, "jane.doe", "jane@example.com", "hash", Role.USER));
+
+        assertEquals(3, savedUser().getTokenVersion());
+        verifyNoInteractions(tokenVersions);
+    }
+
+    @Test
+    void testSaveNewUserRevokesNothing() {
+        service.saveUser(new User(null, "john", "john@example.com", "hash", Role.USER));
+
+        assertEquals(0, savedUser().getTokenVersion());
+        verify(userRepository, never()).findById(any());
+        verifyNoInteractions(tokenVersions);
+    }
+
+    @Test
+    void testUpdateUserWithNewEmailRevokesTokens() {
+        service.updateUser(7L, new User(null, "jane", "jane@example.org", "hash", Role.USER));
+
+        assertEquals(4, savedUser().getTokenVersion());
+        verify(tokenVersions).revoked(7L);
+    }
+
+    @Test
+    void testSearchEscapesWildcardsInTheQuery() {
+        service.searchUsersByUsername("50%_off");
+
+        verify(userRepository).searchDtosByUsername("50%_off", "50\\%\\_off", Limit.of(50));
+    }
+
+    private User savedUser() {
+        ArgumentCaptor<User> saved = ArgumentCaptor.forClass(User.class);
+        verify(userRepository).save(saved.capture());
+        return saved.getValue();
+    }
+}